@@ -0,0 +1,68 @@
+package ru.maelnor.tasks.dto.kafka;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import ru.maelnor.tasks.service.kafka.TaskProducer;
+import ru.maelnor.tasks.service.kafka.codec.TaskMessageDeserializer;
+import ru.maelnor.tasks.service.kafka.codec.TaskMessageFormat;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет сериализацию и десериализацию {@link KafkaTaskMessage} в каждом формате {@link TaskMessageFormat}.
+ * Размер сообщения в байтах выводится дополнительным счетчиком {@code payloadBytes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KafkaTaskMessageBenchmark {
+
+    @Param({"JSON", "BINARY"})
+    public TaskMessageFormat format;
+
+    private Serializer<KafkaTaskMessage> serializer;
+    private Deserializer<KafkaTaskMessage> deserializer;
+    private KafkaTaskMessage message;
+    private byte[] payload;
+
+    /**
+     * Размер сообщения в выбранном формате. Поле перезаписывается, а не накапливается,
+     * поэтому значение счетчика равно размеру одного сообщения.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public int payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        serializer = format.serializer();
+        deserializer = new TaskMessageDeserializer();
+        message = new KafkaTaskMessage(UUID.randomUUID(), "Benchmark Task", "Benchmark Description",
+                false, TaskStatus.NEW, UUID.randomUUID());
+        payload = serializer.serialize(TaskProducer.TOPIC, message);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize(PayloadSize payloadSize) {
+        byte[] data = serializer.serialize(TaskProducer.TOPIC, message);
+        payloadSize.payloadBytes = data.length;
+        return data;
+    }
+
+    @Benchmark
+    public KafkaTaskMessage deserialize(PayloadSize payloadSize) {
+        payloadSize.payloadBytes = payload.length;
+        return deserializer.deserialize(TaskProducer.TOPIC, payload);
+    }
+}
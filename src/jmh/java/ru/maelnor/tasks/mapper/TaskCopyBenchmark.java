@@ -0,0 +1,65 @@
+package ru.maelnor.tasks.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+import ru.maelnor.tasks.dto.TaskDto;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.model.TaskModel;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет копирование данных задачи при обновлении: сгенерированные методы {@link TaskMapper}
+ * в сравнении с прежним копированием через {@link BeanUtils#copyProperties}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskCopyBenchmark {
+
+    private final TaskMapper mapper = TaskMapper.INSTANCE;
+
+    private TaskModel taskModel;
+    private TaskEntity taskEntity;
+    private TaskDto taskDto;
+
+    @Setup
+    public void setUp() {
+        taskModel = new TaskModel(UUID.randomUUID(), "Benchmark Task", "Benchmark Description", true);
+        taskEntity = new TaskEntity();
+        taskEntity.setId(taskModel.getId());
+        taskEntity.setCreatedAt(new Date());
+        taskEntity.setOwner(UserEntity.builder().id(UUID.randomUUID()).build());
+        taskDto = new TaskDto();
+        taskDto.setName("Benchmark Task");
+        taskDto.setDescription("Benchmark Description");
+        taskDto.setCompleted(true);
+    }
+
+    @Benchmark
+    public TaskEntity modelToEntity() {
+        mapper.updateEntity(taskModel, taskEntity);
+        return taskEntity;
+    }
+
+    @Benchmark
+    public TaskEntity modelToEntityBeanUtils() {
+        BeanUtils.copyProperties(taskModel, taskEntity);
+        return taskEntity;
+    }
+
+    @Benchmark
+    public TaskModel dtoToModel() {
+        mapper.updateModel(taskDto, taskModel);
+        return taskModel;
+    }
+
+    @Benchmark
+    public TaskModel dtoToModelBeanUtils() {
+        BeanUtils.copyProperties(taskDto, taskModel, "id");
+        return taskModel;
+    }
+}
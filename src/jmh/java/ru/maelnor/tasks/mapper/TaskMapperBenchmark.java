@@ -0,0 +1,56 @@
+package ru.maelnor.tasks.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import ru.maelnor.tasks.dto.TaskDto;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.projection.TaskSummary;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет цепочки преобразований {@link TaskMapper}, через которые проходит каждая задача ответа:
+ * сущность и проекция списка в модель и DTO, а также запись кэша задач.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskMapperBenchmark {
+
+    private final TaskMapper mapper = TaskMapper.INSTANCE;
+
+    private TaskEntity taskEntity;
+    private TaskSummary taskSummary;
+
+    @Setup
+    public void setUp() {
+        UUID ownerId = UUID.randomUUID();
+        taskEntity = new TaskEntity();
+        taskEntity.setId(UUID.randomUUID());
+        taskEntity.setName("Benchmark Task");
+        taskEntity.setDescription("Benchmark Description");
+        taskEntity.setCompleted(true);
+        taskEntity.setCreatedAt(new Date());
+        taskEntity.setUpdatedAt(new Date());
+        taskEntity.setOwner(UserEntity.builder().id(ownerId).username("owner").build());
+        taskSummary = new TaskSummary(UUID.randomUUID(), "Benchmark Task", "Benchmark Description",
+                false, new Date(), new Date(), ownerId, "owner");
+    }
+
+    @Benchmark
+    public TaskDto entityToModelToDto() {
+        return mapper.toDto(mapper.toModel(taskEntity));
+    }
+
+    @Benchmark
+    public TaskDto summaryToModelToDto() {
+        return mapper.toDto(mapper.toModel(taskSummary));
+    }
+
+    @Benchmark
+    public TaskDto summaryToCacheEntryToDto() {
+        return mapper.toDto(mapper.toModel(mapper.toCacheEntry(taskSummary)));
+    }
+}
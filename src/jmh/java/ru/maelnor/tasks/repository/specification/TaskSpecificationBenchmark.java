@@ -0,0 +1,41 @@
+package ru.maelnor.tasks.repository.specification;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.TaskFilterModel;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет построение спецификации фильтра {@link TaskSpecification#withFilter} для пустого
+ * и полностью заполненного фильтра.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskSpecificationBenchmark {
+
+    private TaskFilterModel emptyFilter;
+    private TaskFilterModel fullFilter;
+
+    @Setup
+    public void setUp() {
+        emptyFilter = new TaskFilterModel();
+        fullFilter = new TaskFilterModel();
+        fullFilter.setName("Task");
+        fullFilter.setCompleted(true);
+        fullFilter.setOwnerId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Specification<TaskEntity> emptyFilter() {
+        return TaskSpecification.withFilter(emptyFilter);
+    }
+
+    @Benchmark
+    public Specification<TaskEntity> fullFilter() {
+        return TaskSpecification.withFilter(fullFilter);
+    }
+}
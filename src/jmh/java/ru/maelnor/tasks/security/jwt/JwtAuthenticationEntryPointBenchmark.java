@@ -0,0 +1,37 @@
+package ru.maelnor.tasks.security.jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет формирование JSON-ответа 401 {@link JwtAuthenticationEntryPoint} для запроса к API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationEntryPointBenchmark {
+
+    private final JwtAuthenticationEntryPoint entryPoint = new JwtAuthenticationEntryPoint();
+    private final AuthenticationException authException =
+            new InsufficientAuthenticationException("Full authentication is required to access this resource");
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setServletPath("/api/tasks");
+    }
+
+    @Benchmark
+    public byte[] commence() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entryPoint.commence(request, response, authException);
+        return response.getContentAsByteArray();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.maelnor.tasks.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.ReflectionUtils;
+import ru.maelnor.tasks.entity.RoleType;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.security.AppUserDetails;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет проверку JWT токена и восстановление из него пользователя {@link JwtUtils},
+ * которые выполняются для каждого аутентифицированного запроса.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilsBenchmark {
+
+    private final JwtUtils jwtUtils = new JwtUtils();
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        setField("secret", "taskSecretKey");
+        setField("tokenExpiration", Duration.ofHours(1));
+        token = jwtUtils.generateToken(new AppUserDetails(UserEntity.builder()
+                .id(UUID.randomUUID())
+                .username("user")
+                .email("user@example.com")
+                .roles(Set.of(RoleType.ROLE_USER))
+                .tokenVersion(0)
+                .build()));
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtUtils.parse(token).orElseThrow();
+    }
+
+    @Benchmark
+    public String parseAndGetUsername() {
+        return jwtUtils.toUserDetails(jwtUtils.parse(token).orElseThrow()).getUsername();
+    }
+
+    private void setField(String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtUtils.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtUtils, value);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.maelnor.tasks.service;
+
+import org.openjdk.jmh.annotations.*;
+import ru.maelnor.tasks.model.TaskFilterModel;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеряет проверку {@link TaskFilterService#isFilterNotEmpty}, выполняемую для каждого запроса списка задач.
+ * Пустой фильтр проверяет все поля, фильтр с курсором — заполненное последнее поле.
+ * Для сравнения замеряется прежняя проверка через рефлексию по полям {@link TaskFilterModel}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskFilterServiceBenchmark {
+
+    // Текущий пользователь проверкой заполненности фильтра не используется
+    private final TaskFilterService taskFilterService = new TaskFilterService(null);
+
+    private TaskFilterModel emptyFilter;
+    private TaskFilterModel cursorFilter;
+
+    @Setup
+    public void setUp() {
+        emptyFilter = new TaskFilterModel();
+        cursorFilter = new TaskFilterModel();
+        cursorFilter.setCursor("cursor");
+    }
+
+    @Benchmark
+    public boolean emptyFilter() {
+        return taskFilterService.isFilterNotEmpty(emptyFilter);
+    }
+
+    @Benchmark
+    public boolean cursorFilter() {
+        return taskFilterService.isFilterNotEmpty(cursorFilter);
+    }
+
+    @Benchmark
+    public boolean emptyFilterReflective() {
+        return isFilterNotEmptyReflective(emptyFilter);
+    }
+
+    @Benchmark
+    public boolean cursorFilterReflective() {
+        return isFilterNotEmptyReflective(cursorFilter);
+    }
+
+    private static boolean isFilterNotEmptyReflective(TaskFilterModel taskFilterModel) {
+        return Arrays.stream(TaskFilterModel.class.getDeclaredFields())
+                .anyMatch(field -> {
+                    field.setAccessible(true);
+                    try {
+                        Object value = field.get(taskFilterModel);
+                        return value != null && (!(value instanceof String) || !((String) value).isEmpty());
+                    } catch (IllegalAccessException e) {
+                        throw new RuntimeException("Ошибка доступа к полю: " + field.getName(), e);
+                    }
+                });
+    }
+}
@@ -0,0 +1,21 @@
+package ru.maelnor.tasks.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Map;
+
+/**
+ * Компонент, владеющий локальными кэшами Caffeine вне {@link org.springframework.cache.CacheManager}.
+ * Такие кэши доступны для просмотра, изменения параметров и очистки через
+ * {@link ru.maelnor.tasks.service.CacheAdminService} наравне с кэшами менеджера.
+ */
+public interface AdministeredCaches {
+
+    /**
+     * Возвращает кэши компонента. Для изменения параметров через политику кэши должны создаваться
+     * с ограничением размера, временем жизни и записью статистики.
+     *
+     * @return кэши по именам, уникальным среди всех кэшей приложения
+     */
+    Map<String, Cache<?, ?>> caches();
+}
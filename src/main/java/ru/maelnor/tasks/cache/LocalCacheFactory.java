@@ -0,0 +1,114 @@
+package ru.maelnor.tasks.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import ru.maelnor.tasks.config.ThreadMode;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Фабрика локальных кэшей Caffeine для менеджеров кэша приложения.
+ * Все кэши создаются с одинаковыми начальными параметрами и записью статистики;
+ * размер и время жизни каждого кэша затем можно изменить во время работы через его политику.
+ * <p>
+ * Способ загрузки значения при промахе зависит от режима потоков {@link ThreadMode} (см. {@link #build(Caffeine, ThreadMode)}).
+ * <p>
+ * Помимо стандартных метрик Caffeine, которые публикует Spring Boot, каждый кэш публикует
+ * долю попаданий {@code cache.hit.ratio} и вытеснения по причинам {@code cache.evictions.cause}
+ * (по размеру, по истечении времени жизни, сборщиком мусора).
+ */
+public class LocalCacheFactory {
+
+    /**
+     * Исполнитель загрузок в режиме виртуальных потоков: каждая загрузка выполняется в новом виртуальном потоке.
+     */
+    private static final Executor VIRTUAL_LOADER_EXECUTOR = ThreadMode.virtualThreadExecutor("cache-loader-");
+
+    private final MeterRegistry meterRegistry;
+    private final int initialCapacity;
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+    private final ThreadMode threadMode;
+
+    /**
+     * @param meterRegistry    реестр метрик
+     * @param initialCapacity  начальная емкость кэша
+     * @param maximumSize      максимальное количество записей
+     * @param expireAfterWrite время жизни записи после записи
+     * @param threadMode       режим потоков приложения, определяющий способ загрузки значений
+     */
+    public LocalCacheFactory(MeterRegistry meterRegistry, int initialCapacity, long maximumSize, Duration expireAfterWrite,
+                             ThreadMode threadMode) {
+        this.meterRegistry = meterRegistry;
+        this.initialCapacity = initialCapacity;
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.threadMode = threadMode;
+    }
+
+    /**
+     * Завершает построение кэша Caffeine для режима потоков.
+     * <ul>
+     *     <li>{@link ThreadMode#PLATFORM} — обычный кэш: значение загружается в вызывающем потоке внутри блокировки
+     *     корзины хеш-таблицы, параллельные запросы того же ключа ждут эту загрузку.</li>
+     *     <li>{@link ThreadMode#VIRTUAL} — синхронное представление асинхронного кэша, загрузки которого выполняются
+     *     в отдельных виртуальных потоках. Блокировка корзины удерживается только на время вставки ожидаемого значения,
+     *     поэтому загрузка из базы данных или Redis не закрепляет вызывающий виртуальный поток за потоком-носителем,
+     *     а вызывающий поток ждет результат, не занимая поток-носитель. Общий {@code ForkJoinPool.commonPool()},
+     *     который Caffeine использует по умолчанию, для блокирующих загрузок не применяется.</li>
+     * </ul>
+     * Загрузка в виртуальном потоке не видит локальных переменных потока вызывающего кода
+     * (контекста безопасности, транзакции), поэтому загрузчики должны получать все нужное через замыкание.
+     *
+     * @param builder    настроенный построитель кэша
+     * @param threadMode режим потоков приложения
+     * @param <K>        тип ключей
+     * @param <V>        тип значений
+     * @return кэш Caffeine
+     */
+    public static <K, V> Cache<K, V> build(Caffeine<Object, Object> builder, ThreadMode threadMode) {
+        if (threadMode == ThreadMode.VIRTUAL) {
+            return builder.executor(VIRTUAL_LOADER_EXECUTOR).<K, V>buildAsync().synchronous();
+        }
+        return builder.build();
+    }
+
+    /**
+     * Создает кэш и регистрирует его метрики.
+     *
+     * @param name имя кэша, используемое в метках метрик
+     * @return новый кэш Caffeine
+     */
+    public Cache<Object, Object> build(String name) {
+        Map<RemovalCause, Counter> evictions = new EnumMap<>(RemovalCause.class);
+        for (RemovalCause cause : RemovalCause.values()) {
+            if (cause.wasEvicted()) {
+                evictions.put(cause, Counter.builder("cache.evictions.cause")
+                        .description("Вытеснения записей из локального кэша по причинам")
+                        .tag("cache", name)
+                        .tag("cause", cause.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+
+        Cache<Object, Object> cache = build(Caffeine.newBuilder()
+                .initialCapacity(initialCapacity)
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .evictionListener((key, value, cause) -> evictions.get(cause).increment())
+                .recordStats(), threadMode);
+
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Доля попаданий в локальный кэш")
+                .tag("cache", name)
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,53 @@
+package ru.maelnor.tasks.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import ru.maelnor.tasks.model.TaskFilterModel;
+
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Кэш точного количества задач, удовлетворяющих фильтру. В отличие от {@link TaskPageCache}
+ * ключ не включает номер страницы, поэтому все страницы одного списка используют один подсчет.
+ * Ключ включает версию области видимости из {@link TaskWriteVersions}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskCountCache {
+
+    /**
+     * Имя кэша количества задач.
+     */
+    public static final String CACHE_NAME = "taskCounts";
+
+    private final CacheManager cacheManager;
+    private final TaskWriteVersions taskWriteVersions;
+
+    /**
+     * Возвращает количество задач из кэша или подсчитывает его и сохраняет в кэш.
+     *
+     * @param filter       фильтр задач
+     * @param scopeOwnerId владелец, задачами которого ограничена выборка, или {@code null}, если выборка идет по всем задачам
+     * @param counter      подсчет количества в базе данных
+     * @return количество задач
+     */
+    public long get(TaskFilterModel filter, UUID scopeOwnerId, LongSupplier counter) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        String key = taskWriteVersions.key(filter, scopeOwnerId);
+        if (cache == null || key == null) {
+            return counter.getAsLong();
+        }
+
+        // Redis возвращает небольшие числа как Integer, поэтому значение читается как Number
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null && cached.get() instanceof Number total) {
+            return total.longValue();
+        }
+        long total = counter.getAsLong();
+        cache.put(key, total);
+        return total;
+    }
+}
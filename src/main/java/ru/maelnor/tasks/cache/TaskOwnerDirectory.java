@@ -0,0 +1,186 @@
+package ru.maelnor.tasks.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maelnor.tasks.repository.TaskCountRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Справочник владельцев задач для фильтра списка задач: пользователи, у которых есть хотя бы одна задача.
+ * <p>
+ * Справочник хранится в памяти узла и загружается при первом обращении по счетчикам владельцев
+ * {@link TaskCountRepository}, а не по таблице задач. Дальше он обновляется по одному владельцу после фиксации
+ * изменений: при добавлении первой задачи, удалении задач и изменении пользователя. Если состав справочника
+ * изменился, идентификатор владельца рассылается остальным узлам через канал Redis {@value #CHANNEL},
+ * и они перечитывают этого владельца.
+ * <p>
+ * Загрузка и обновление выполняются под {@link ReentrantLock}, а не {@code synchronized}: ожидание базы данных
+ * под монитором закрепляло бы виртуальный поток за потоком-носителем.
+ */
+@Slf4j
+@Component
+public class TaskOwnerDirectory implements MessageListener {
+
+    /**
+     * Канал Redis, через который узлы сообщают друг другу идентификаторы владельцев с измененным составом задач.
+     */
+    public static final String CHANNEL = "task-owner-directory";
+
+    private final TaskCountRepository taskCountRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Имена владельцев по идентификаторам или {@code null}, пока справочник не загружен.
+     */
+    private Map<UUID, String> owners;
+
+    /**
+     * @param taskCountRepository репозиторий счетчиков задач владельцев
+     * @param redisTemplate       шаблон для рассылки сообщений об изменении справочника
+     */
+    public TaskOwnerDirectory(TaskCountRepository taskCountRepository, StringRedisTemplate redisTemplate) {
+        this.taskCountRepository = taskCountRepository;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Возвращает владельцев задач, загружая справочник при первом обращении.
+     *
+     * @return идентификаторы владельцев по именам пользователей в порядке имен
+     */
+    public Map<String, String> getOwners() {
+        lock.lock();
+        try {
+            if (owners == null) {
+                owners = new HashMap<>(taskCountRepository.findOwners());
+            }
+            Map<String, String> result = new TreeMap<>();
+            owners.forEach((id, username) -> result.put(username, id.toString()));
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Учитывает добавление задач владельцу. Если владелец уже есть в справочнике, ничего не делает.
+     *
+     * @param ownerId владелец добавленных задач
+     */
+    public void taskAdded(UUID ownerId) {
+        if (!contains(ownerId)) {
+            refreshAfterCommit(List.of(ownerId));
+        }
+    }
+
+    /**
+     * Учитывает удаление задач владельцев: владельцы без оставшихся задач удаляются из справочника.
+     *
+     * @param ownerIds владельцы удаленных задач
+     */
+    public void tasksRemoved(Collection<UUID> ownerIds) {
+        if (!ownerIds.isEmpty()) {
+            refreshAfterCommit(ownerIds);
+        }
+    }
+
+    /**
+     * Учитывает изменение пользователя, например его имени.
+     *
+     * @param userId идентификатор измененного пользователя
+     */
+    public void userChanged(UUID userId) {
+        refreshAfterCommit(List.of(userId));
+    }
+
+    /**
+     * Сбрасывает справочник на этом узле; при следующем обращении он загружается заново.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            owners = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Обрабатывает сообщение об изменении владельца, полученное от другого узла.
+     *
+     * @param message сообщение с идентификатором владельца
+     * @param pattern канал, на который подписан слушатель
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            refresh(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Некорректное сообщение об изменении владельца задач: {}", e.getMessage());
+        }
+    }
+
+    private boolean contains(UUID ownerId) {
+        lock.lock();
+        try {
+            return owners != null && owners.containsKey(ownerId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refreshAfterCommit(Collection<UUID> ownerIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshEverywhere(ownerIds);
+                }
+            });
+        } else {
+            refreshEverywhere(ownerIds);
+        }
+    }
+
+    private void refreshEverywhere(Collection<UUID> ownerIds) {
+        ownerIds.stream().distinct().filter(this::refresh).forEach(ownerId -> {
+            try {
+                redisTemplate.convertAndSend(CHANNEL, ownerId.toString());
+            } catch (RuntimeException e) {
+                // Остальные узлы увидят изменение после перезапуска или следующего изменения владельца
+                log.warn("Не удалось разослать изменение владельца задач {}: {}", ownerId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Перечитывает владельца. Выполняется под блокировкой справочника, чтобы изменение,
+     * зафиксированное во время первой загрузки, не было потеряно.
+     *
+     * @return {@code true}, если справочник изменился или не загружен на этом узле
+     */
+    private boolean refresh(UUID ownerId) {
+        lock.lock();
+        try {
+            if (owners == null) {
+                // Справочники остальных узлов могли измениться, поэтому изменение рассылается
+                return true;
+            }
+            Optional<String> username = taskCountRepository.findOwnerName(ownerId);
+            String previous = username.isPresent() ? owners.put(ownerId, username.get()) : owners.remove(ownerId);
+            return !Objects.equals(previous, username.orElse(null));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.maelnor.tasks.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.maelnor.tasks.model.TaskCacheEntry;
+import ru.maelnor.tasks.model.TaskCountStrategy;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskPageCacheEntry;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Кэш страниц отфильтрованных задач.
+ * <p>
+ * Ключ страницы включает область видимости (все задачи или задачи одного владельца) и её версию
+ * из {@link TaskWriteVersions}, фильтр, номер, размер и порядок страницы, а также способ подсчета общего количества.
+ * Повторный просмотр списка не выполняет SQL-запросов, пока данные области не изменились.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskPageCache {
+
+    /**
+     * Имя кэша страниц задач.
+     */
+    public static final String CACHE_NAME = "taskPages";
+
+    private final CacheManager cacheManager;
+    private final TaskWriteVersions taskWriteVersions;
+
+    /**
+     * Возвращает страницу из кэша или загружает её и сохраняет в кэш.
+     *
+     * @param filter        фильтр задач
+     * @param scopeOwnerId  владелец, задачами которого ограничена выборка, или {@code null}, если выборка идет по всем задачам
+     * @param pageable      номер, размер и порядок страницы
+     * @param countStrategy способ подсчета общего количества задач
+     * @param loader        загрузка страницы из базы данных
+     * @return страница задач
+     */
+    public Page<TaskCacheEntry> get(TaskFilterModel filter, UUID scopeOwnerId, Pageable pageable,
+                                    TaskCountStrategy countStrategy, Supplier<Page<TaskCacheEntry>> loader) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        String filterKey = taskWriteVersions.key(filter, scopeOwnerId);
+        if (cache == null || filterKey == null) {
+            return loader.get();
+        }
+
+        String key = filterKey
+                + '|' + pageable.getPageNumber()
+                + '|' + pageable.getPageSize()
+                + '|' + pageable.getSort()
+                + '|' + countStrategy;
+        TaskPageCacheEntry cached = cache.get(key, TaskPageCacheEntry.class);
+        if (cached != null) {
+            return new PageImpl<>(cached.getContent(), pageable, cached.getTotal());
+        }
+        Page<TaskCacheEntry> page = loader.get();
+        cache.put(key, new TaskPageCacheEntry(new ArrayList<>(page.getContent()), page.getTotalElements()));
+        return page;
+    }
+}
@@ -0,0 +1,105 @@
+package ru.maelnor.tasks.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maelnor.tasks.model.TaskFilterModel;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Версии записей задач для кэшей результатов запросов ({@link TaskPageCache}, {@link TaskCountCache}).
+ * <p>
+ * Версии хранятся в Redis и увеличиваются после фиксации каждого изменения задач: общая версия — при любом
+ * изменении, версия владельца — при изменении его задач. Кэши включают версию области видимости в ключ,
+ * поэтому устаревшие результаты никогда не читаются, а вытесняются из кэша по размеру и времени жизни.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskWriteVersions {
+
+    private static final String GLOBAL_VERSION_KEY = "task-version:global";
+    private static final String OWNER_VERSION_KEY = "task-version:owner:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Строит ключ результата запроса из области видимости, её текущей версии и фильтра.
+     * Строковые значения фильтра записываются с длиной, чтобы разные фильтры не могли дать одинаковый ключ.
+     *
+     * @param filter       фильтр задач
+     * @param scopeOwnerId владелец, задачами которого ограничена выборка, или {@code null}, если выборка идет по всем задачам
+     * @return ключ или {@code null}, если версию получить не удалось и результат кэшировать нельзя
+     */
+    public String key(TaskFilterModel filter, UUID scopeOwnerId) {
+        String scope = scopeOwnerId != null ? OWNER_VERSION_KEY + scopeOwnerId : GLOBAL_VERSION_KEY;
+        Long version = version(scope);
+        if (version == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(scope).append('@').append(version);
+        appendString(key, filter.getName());
+        appendString(key, filter.getSearch());
+        key.append('|').append(filter.getCompleted());
+        key.append('|').append(filter.getOwnerId());
+        return key.toString();
+    }
+
+    /**
+     * Делает устаревшими результаты по всем задачам и по задачам перечисленных владельцев.
+     * Внутри транзакции версии увеличиваются после её фиксации: иначе параллельный запрос
+     * мог бы сохранить под новой версией результат, прочитанный до фиксации.
+     *
+     * @param ownerIds владельцы измененных задач
+     */
+    public void bump(Collection<UUID> ownerIds) {
+        if (ownerIds.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementVersions(ownerIds);
+                }
+            });
+        } else {
+            incrementVersions(ownerIds);
+        }
+    }
+
+    private Long version(String scope) {
+        try {
+            String value = redisTemplate.opsForValue().get(scope);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (RuntimeException e) {
+            // Без версии нельзя отличить актуальный результат от устаревшего, поэтому кэш не используется
+            log.warn("Не удалось получить версию задач {}: {}", scope, e.getMessage());
+            return null;
+        }
+    }
+
+    private void incrementVersions(Collection<UUID> ownerIds) {
+        try {
+            redisTemplate.opsForValue().increment(GLOBAL_VERSION_KEY);
+            ownerIds.stream().distinct().forEach(ownerId ->
+                    redisTemplate.opsForValue().increment(OWNER_VERSION_KEY + ownerId));
+        } catch (RuntimeException e) {
+            log.warn("Не удалось увеличить версию задач: {}", e.getMessage());
+        }
+    }
+
+    private static void appendString(StringBuilder key, String value) {
+        key.append('|');
+        if (value == null) {
+            key.append('-');
+        } else {
+            key.append(value.length()).append(':').append(value);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package ru.maelnor.tasks.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Двухуровневый кэш: локальный Caffeine (L1) на каждом узле и общий для всех узлов Redis (L2).
+ * Чтение идет сначала в L1, затем в L2 с заполнением L1. Запись и сброс выполняются в обоих уровнях;
+ * сброс дополнительно рассылается остальным узлам, чтобы они удалили запись из своего L1.
+ * Ошибки Redis не прерывают работу: L2 при этом считается промахом.
+ * <p>
+ * Ключи L1 приводятся к строке, так же как ключи Redis, чтобы сообщение о сбросе
+ * однозначно указывало на запись на любом узле.
+ * <p>
+ * Значение, загруженное при промахе, записывается в Redis, только если за время загрузки на узле не было сбросов:
+ * иначе загрузка, начатая до фиксации изменения, могла бы вернуть в Redis уже сброшенное значение.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    /**
+     * Количество сбросов на узле. Увеличивается под блокировкой записи, а загруженные значения записываются
+     * в Redis под блокировкой чтения, поэтому значение, прочитанное до сброса, либо попадает в Redis раньше
+     * и удаляется сбросом, либо не записывается вовсе.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+    private final ReadWriteLock evictionLock = new ReentrantReadWriteLock();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+
+    /**
+     * @param name                  имя кэша
+     * @param local                 локальный кэш Caffeine
+     * @param remote                кэш Redis
+     * @param invalidationPublisher рассылка сброса: имя кэша и ключ или {@code null} при полной очистке
+     */
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+                         Cache remote,
+                         BiConsumer<String, String> invalidationPublisher) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    /**
+     * Публикует количество попаданий и промахов каждого уровня и долю попаданий в нем.
+     *
+     * @param registry реестр метрик
+     */
+    public void bindTo(MeterRegistry registry) {
+        bindTier(registry, "l1", localHits, localMisses);
+        bindTier(registry, "l2", remoteHits, remoteMisses);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = key.toString();
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        localMisses.increment();
+
+        ValueWrapper remoteValue = getRemote(key);
+        if (remoteValue != null && remoteValue.get() != null) {
+            remoteHits.increment();
+            local.put(localKey, remoteValue.get());
+            return remoteValue;
+        }
+        remoteMisses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Значение в кэше " + name + " не является экземпляром " + type.getName());
+        }
+        return (T) value;
+    }
+
+    /**
+     * Возвращает значение, при промахе L1 загружая его из L2 или через {@code valueLoader}.
+     * Загрузка выполняется внутри Caffeine: параллельные запросы одного ключа на узле ждут одну загрузку,
+     * а её длительность попадает в статистику загрузок локального кэша.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        Object value = local.get(key.toString(), localKey -> {
+            loaded[0] = true;
+            localMisses.increment();
+            return load(key, valueLoader);
+        });
+        if (!loaded[0]) {
+            localHits.increment();
+        }
+        return (T) value;
+    }
+
+    /**
+     * Записывает значение в оба уровня. Остальным узлам запись не рассылается: устаревшие значения
+     * появляются в их L1 только после изменения данных, а изменения всегда сопровождаются сбросом.
+     * Пустые значения не кэшируются.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        putRemote(key, value);
+        local.put(key.toString(), value);
+    }
+
+    /**
+     * Записывает значение только в L1 этого узла, без обращения к Redis.
+     * Предназначен для массового прогрева данными, только что прочитанными из базы данных.
+     *
+     * @param key   ключ записи
+     * @param value значение
+     */
+    public void putLocal(Object key, Object value) {
+        if (value != null) {
+            local.put(key.toString(), value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = get(key);
+        if (existing == null) {
+            put(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        countEviction();
+        local.invalidate(key.toString());
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось удалить {} из кэша Redis {}: {}", key, name, e.getMessage());
+        }
+        invalidationPublisher.accept(name, key.toString());
+    }
+
+    @Override
+    public void clear() {
+        countEviction();
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("Не удалось очистить кэш Redis {}: {}", name, e.getMessage());
+        }
+        local.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * Удаляет запись только из L1 этого узла. Вызывается при получении сброса от другого узла.
+     *
+     * @param key ключ записи или {@code null} для очистки всего L1
+     */
+    void evictLocal(String key) {
+        countEviction();
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        ValueWrapper remoteValue = getRemote(key);
+        if (remoteValue != null && remoteValue.get() != null) {
+            remoteHits.increment();
+            return remoteValue.get();
+        }
+        remoteMisses.increment();
+
+        long evictionsBefore = evictions.get();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            putLoaded(key, value, evictionsBefore);
+        }
+        return value;
+    }
+
+    private void putLoaded(Object key, Object value, long evictionsBefore) {
+        Lock lock = evictionLock.readLock();
+        lock.lock();
+        try {
+            if (evictions.get() == evictionsBefore) {
+                putRemote(key, value);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void countEviction() {
+        Lock lock = evictionLock.writeLock();
+        lock.lock();
+        try {
+            evictions.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ValueWrapper getRemote(Object key) {
+        try {
+            return remote.get(key);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось прочитать {} из кэша Redis {}: {}", key, name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(Object key, Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось записать {} в кэш Redis {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    private void bindTier(MeterRegistry registry, String tier, LongAdder hits, LongAdder misses) {
+        FunctionCounter.builder("cache.tier.gets", hits, LongAdder::doubleValue)
+                .tags("cache", name, "tier", tier, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.tier.gets", misses, LongAdder::doubleValue)
+                .tags("cache", name, "tier", tier, "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.tier.hit.ratio", () -> {
+                    double total = hits.doubleValue() + misses.doubleValue();
+                    return total == 0 ? 0 : hits.doubleValue() / total;
+                })
+                .tags("cache", name, "tier", tier)
+                .register(registry);
+    }
+}
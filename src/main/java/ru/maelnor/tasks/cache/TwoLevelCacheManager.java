@@ -0,0 +1,99 @@
+package ru.maelnor.tasks.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Менеджер двухуровневых кэшей {@link TwoLevelCache} с фиксированным набором имен.
+ * Рассылает сбросы через канал Redis {@value #INVALIDATION_CHANNEL} и применяет сбросы,
+ * полученные от других узлов, к локальному уровню своих кэшей.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    /**
+     * Канал Redis для сообщений о сбросе записей L1.
+     */
+    public static final String INVALIDATION_CHANNEL = "cache-invalidation";
+
+    private static final String SEPARATOR = ":";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    private final Map<String, TwoLevelCache> caches = new LinkedHashMap<>();
+
+    /**
+     * @param localCacheFactory фабрика локальных кэшей
+     * @param redisCacheManager менеджер кэшей Redis
+     * @param redisTemplate     шаблон для рассылки сбросов
+     * @param meterRegistry     реестр метрик уровней кэша
+     * @param cacheNames        имена кэшей
+     */
+    public TwoLevelCacheManager(LocalCacheFactory localCacheFactory,
+                                RedisCacheManager redisCacheManager,
+                                StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry,
+                                String... cacheNames) {
+        this.redisTemplate = redisTemplate;
+        for (String cacheName : cacheNames) {
+            TwoLevelCache cache = new TwoLevelCache(cacheName, localCacheFactory.build(cacheName),
+                    redisCacheManager.getCache(cacheName), this::publish);
+            cache.bindTo(meterRegistry);
+            caches.put(cacheName, cache);
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    /**
+     * Применяет сброс, полученный от другого узла. Собственные сообщения узла пропускаются.
+     *
+     * @param message сообщение в формате {@code узел:кэш:ключ}; пустой ключ означает очистку кэша
+     * @param pattern канал, на который подписан слушатель
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length != 3) {
+            log.warn("Некорректное сообщение о сбросе кэша: {}", message);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+
+    private void publish(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    nodeId + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : ""));
+        } catch (RuntimeException e) {
+            // Остальные узлы сбросят запись по истечении её времени жизни в L1
+            log.warn("Не удалось разослать сброс кэша {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -1,50 +1,133 @@
 package ru.maelnor.tasks.config;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import ru.maelnor.tasks.cache.LocalCacheFactory;
+import ru.maelnor.tasks.cache.TaskCountCache;
+import ru.maelnor.tasks.cache.TaskPageCache;
+import ru.maelnor.tasks.cache.TwoLevelCache;
+import ru.maelnor.tasks.cache.TwoLevelCacheManager;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.Set;
 
 /**
  * Класс конфигурации для настройки кэширования с использованием Caffeine.
- * Этот класс определяет бины для менеджера кэша и построителя кэша.
+ * Этот класс определяет бины для менеджера кэша и фабрики локальных кэшей.
+ * В режиме {@code app.cache.mode=layered} локальный Caffeine дополняется общим для узлов кэшем Redis.
+ * Метрики кэшей публикует Spring Boot: для двухуровневых кэшей — по их локальному уровню.
  */
 @Configuration
 @EnableCaching
 public class CaffeineConfig {
+
+    private static final String[] CACHE_NAMES = {"tasks", TaskPageCache.CACHE_NAME, TaskCountCache.CACHE_NAME};
+
     /**
      * Создает и настраивает бин {@link CacheManager} с использованием Caffeine.
-     * Менеджер кэша управляет кэшем с именем "tasks" и настраивается с помощью
-     * параметров, заданных в методе {@link #caffeineCacheBuilder()}.
+     * Менеджер кэша управляет кэшами задач, страниц и количества задач, созданными {@link LocalCacheFactory}.
      *
+     * @param localCacheFactory фабрика локальных кэшей
      * @return настроенный {@link CacheManager}
      */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("tasks");
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+    @ConditionalOnProperty(name = "app.cache.mode", havingValue = "local")
+    public CacheManager cacheManager(LocalCacheFactory localCacheFactory) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        for (String cacheName : CACHE_NAMES) {
+            cacheManager.registerCustomCache(cacheName, localCacheFactory.build(cacheName));
+        }
+        // Кэши с другими именами не создаются, как и в двухуровневом режиме
+        cacheManager.setCacheNames(Set.of());
+        return cacheManager;
+    }
+
+    /**
+     * Создает двухуровневый {@link CacheManager}: Caffeine (L1), созданный {@link LocalCacheFactory},
+     * и Redis (L2). Менеджер подписывается на сбросы, рассылаемые другими узлами.
+     *
+     * @param localCacheFactory фабрика локальных кэшей
+     * @param connectionFactory фабрика соединений Redis
+     * @param redisTemplate     шаблон для рассылки сбросов
+     * @param listenerContainer контейнер слушателей Redis pub/sub
+     * @param meterRegistry     реестр метрик уровней кэша
+     * @param remoteTtl         время жизни записей в Redis
+     * @return настроенный {@link CacheManager}
+     */
+    @Bean(name = "cacheManager")
+    @ConditionalOnProperty(name = "app.cache.mode", havingValue = "layered", matchIfMissing = true)
+    public CacheManager layeredCacheManager(LocalCacheFactory localCacheFactory,
+                                            JedisConnectionFactory connectionFactory,
+                                            StringRedisTemplate redisTemplate,
+                                            RedisMessageListenerContainer listenerContainer,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${app.cache.remote-ttl:10m}") Duration remoteTtl) {
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(remoteTtl)
+                        .disableCachingNullValues()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new GenericJackson2JsonRedisSerializer())))
+                .initialCacheNames(Set.of(CACHE_NAMES))
+                .build();
+        redisCacheManager.initializeCaches();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                localCacheFactory, redisCacheManager, redisTemplate, meterRegistry, CACHE_NAMES);
+        listenerContainer.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
         return cacheManager;
     }
 
     /**
-     * Настраивает построитель кэша Caffeine с начальными параметрами:
+     * Создает фабрику локальных кэшей с начальными параметрами:
      * - начальная емкость
      * - максимальный размер
      * - политика истечения по времени
-     * - запись статистики
+     * Размер и время жизни можно изменить во время работы через {@link ru.maelnor.tasks.service.CacheAdminService}.
+     *
+     * @param meterRegistry    реестр метрик
+     * @param initialCapacity  начальная емкость кэша
+     * @param maximumSize      максимальное количество записей
+     * @param expireAfterWrite время жизни записи
+     * @param virtualThreads   включены ли виртуальные потоки
+     * @return фабрика локальных кэшей {@link LocalCacheFactory}
+     */
+    @Bean
+    public LocalCacheFactory localCacheFactory(MeterRegistry meterRegistry,
+                                               @Value("${app.cache.local.initial-capacity:100}") int initialCapacity,
+                                               @Value("${app.cache.local.maximum-size:500}") long maximumSize,
+                                               @Value("${app.cache.local.expire-after-write:10m}") Duration expireAfterWrite,
+                                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        return new LocalCacheFactory(meterRegistry, initialCapacity, maximumSize, expireAfterWrite,
+                ThreadMode.of(virtualThreads));
+    }
+
+    /**
+     * Подключает двухуровневые кэши к метрикам кэшей Spring Boot: размер, попадания, промахи,
+     * вытеснения и длительность загрузок публикуются по локальному уровню кэша.
      *
-     * @return построитель кэша {@link Caffeine}
+     * @return поставщик метрик для {@link TwoLevelCache}
      */
     @Bean
-    public Caffeine<Object, Object> caffeineCacheBuilder() {
-        return Caffeine.newBuilder()
-                .initialCapacity(100)
-                .maximumSize(500)
-                .expireAfterWrite(10, TimeUnit.MINUTES)
-                .recordStats();
+    @SuppressWarnings("unchecked")
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(), cache.getName(), tags);
     }
 }
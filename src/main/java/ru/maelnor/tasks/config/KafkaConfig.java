@@ -1,5 +1,6 @@
 package ru.maelnor.tasks.config;
 
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -9,10 +10,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.listener.ContainerProperties;
 import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.service.kafka.TaskProducer;
+import ru.maelnor.tasks.service.kafka.codec.TaskMessageDeserializer;
+import ru.maelnor.tasks.service.kafka.codec.TaskMessageFormat;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,9 +41,49 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    /**
+     * Формат записи сообщений о задачах, загружаемый из файла настроек приложения.
+     */
+    @Value("${app.kafka.format:json}")
+    private TaskMessageFormat messageFormat;
+
+    /**
+     * Количество партиций топика задач; столько же потоков читают его на каждом узле.
+     */
+    @Value("${app.kafka.task-topic.partitions:3}")
+    private int taskTopicPartitions;
+
+    /**
+     * Коэффициент репликации топика задач.
+     */
+    @Value("${app.kafka.task-topic.replicas:1}")
+    private int taskTopicReplicas;
+
+    /**
+     * Включены ли виртуальные потоки. Фабрики слушателей, объявленные приложением, Spring Boot на них не переводит.
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Создает топик задач, если он еще не существует. Топик уплотняется по ключу (идентификатору задачи):
+     * для каждой задачи хранится последнее событие, а удаленные задачи после tombstone исчезают из топика,
+     * поэтому перечитывание топика с начала восстанавливает модель чтения за время, не зависящее от истории изменений.
+     *
+     * @return описание топика задач
+     */
+    @Bean
+    public NewTopic taskTopic() {
+        return TopicBuilder.name(TaskProducer.TOPIC)
+                .partitions(taskTopicPartitions)
+                .replicas(taskTopicReplicas)
+                .compact()
+                .build();
+    }
+
     /**
      * Создает бин фабрики продюсеров Kafka для отправки сообщений с ключами типа {@link String}
-     * и значениями типа {@link KafkaTaskMessage}.
+     * и значениями типа {@link KafkaTaskMessage}. Сериализатор значений определяется свойством {@code app.kafka.format}.
      *
      * @return фабрика продюсеров Kafka
      */
@@ -47,9 +91,10 @@ public class KafkaConfig {
     public ProducerFactory<String, KafkaTaskMessage> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(configProps);
+        // Идемпотентный продюсер сохраняет порядок записей одного ключа при повторных отправках
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        return new DefaultKafkaProducerFactory<>(configProps, StringSerializer::new, messageFormat::serializer);
     }
 
     /**
@@ -64,7 +109,8 @@ public class KafkaConfig {
 
     /**
      * Создает бин фабрики консумеров Kafka для обработки входящих сообщений с ключами типа {@link String}
-     * и значениями типа {@link KafkaTaskMessage}.
+     * и значениями типа {@link KafkaTaskMessage}. Значения читаются {@link TaskMessageDeserializer}
+     * в любом поддерживаемом формате, без доверия к типам из заголовков записи.
      *
      * @return фабрика консумеров Kafka
      */
@@ -73,15 +119,51 @@ public class KafkaConfig {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*"); // Разрешаем все пакеты для десериализации
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configProps, StringDeserializer::new, TaskMessageDeserializer::new);
+    }
+
+    /**
+     * Создает фабрику консумеров модели чтения. Консумеры не входят в группу: партиции назначаются им напрямую,
+     * а смещения не фиксируются, так как модель чтения хранится в памяти и при запуске перечитывает топик с начала.
+     *
+     * @return фабрика консумеров модели чтения
+     */
+    @Bean
+    public ConsumerFactory<String, KafkaTaskMessage> readModelConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(configProps, StringDeserializer::new, TaskMessageDeserializer::new);
+    }
+
+    /**
+     * Создает фабрику слушателей модели чтения. Слушатели получают записи пакетами из назначенных им партиций,
+     * по одному потоку на партицию топика задач. Подтверждения ручные и не отправляются,
+     * поэтому фабрика никогда не фиксирует смещения.
+     * При {@code spring.threads.virtual.enabled=true} потоки слушателей виртуальные.
+     *
+     * @return фабрика слушателей модели чтения
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, KafkaTaskMessage> readModelListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, KafkaTaskMessage> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(readModelConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(taskTopicPartitions);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        if (virtualThreads) {
+            factory.getContainerProperties().setListenerTaskExecutor(ThreadMode.virtualThreadExecutor("kafka-listener-"));
+        }
+        return factory;
     }
 
     /**
      * Создает бин фабрики слушателей Kafka для обработки сообщений.
      * Фабрика использует созданный ранее бин {@link ConsumerFactory}.
+     * При {@code spring.threads.virtual.enabled=true} потоки слушателей виртуальные.
      *
      * @return фабрика слушателей Kafka
      */
@@ -90,6 +172,9 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, KafkaTaskMessage> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        if (virtualThreads) {
+            factory.getContainerProperties().setListenerTaskExecutor(ThreadMode.virtualThreadExecutor("kafka-listener-"));
+        }
         return factory;
     }
 }
@@ -8,8 +8,12 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisKeyValueAdapter;
 import org.springframework.data.redis.core.convert.KeyspaceConfiguration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
+import ru.maelnor.tasks.cache.TaskOwnerDirectory;
 import ru.maelnor.tasks.entity.RefreshTokenEntity;
+import ru.maelnor.tasks.security.UserDetailsCache;
 
 import java.time.Duration;
 import java.util.Collections;
@@ -32,6 +36,12 @@ public class RedisConfig {
     @Value("${app.jwt.refreshTokenExpiration}")
     private Duration refreshTokenExpiration;
 
+    /**
+     * Включены ли виртуальные потоки. Контейнер слушателей Redis pub/sub Spring Boot на них не переводит.
+     */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     /**
      * Создает бин {@link JedisConnectionFactory} для подключения к Redis с использованием
      * настроек, загруженных из {@link RedisProperties}.
@@ -47,6 +57,29 @@ public class RedisConfig {
         return new JedisConnectionFactory(configuration);
     }
 
+    /**
+     * Создает контейнер слушателей Redis pub/sub, через который узлы получают сообщения о сбросе локальных кэшей.
+     * При {@code spring.threads.virtual.enabled=true} слушатели вызываются на виртуальных потоках.
+     *
+     * @param connectionFactory фабрика соединений Redis
+     * @param userDetailsCache  кэш данных пользователей
+     * @param taskOwnerDirectory справочник владельцев задач
+     * @return контейнер слушателей
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(JedisConnectionFactory connectionFactory,
+                                                                       UserDetailsCache userDetailsCache,
+                                                                       TaskOwnerDirectory taskOwnerDirectory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (virtualThreads) {
+            container.setTaskExecutor(ThreadMode.virtualThreadExecutor("redis-listener-"));
+        }
+        container.addMessageListener(userDetailsCache, new ChannelTopic(UserDetailsCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(taskOwnerDirectory, new ChannelTopic(TaskOwnerDirectory.CHANNEL));
+        return container;
+    }
+
     /**
      * Класс для настройки keyspace (пространства ключей) для сущности {@link RefreshTokenEntity}.
      * Определяет keyspace для хранения refresh токенов в Redis и устанавливает срок действия ключей.
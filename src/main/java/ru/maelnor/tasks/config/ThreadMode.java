@@ -0,0 +1,45 @@
+package ru.maelnor.tasks.config;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Потоки, на которых выполняются HTTP-запросы, слушатели Kafka и Redis и задачи по расписанию.
+ * Выбирается свойством Spring Boot {@code spring.threads.virtual.enabled}: обработку запросов Tomcat,
+ * {@code applicationTaskExecutor} и планировщик Spring Boot переводит на виртуальные потоки сам, а приложение —
+ * слушатели Redis, собственные фабрики слушателей Kafka, завершение результатов отправки в Kafka
+ * и загрузки локальных кэшей.
+ */
+public enum ThreadMode {
+    /**
+     * Пулы платформенных потоков по умолчанию: количество одновременно ожидающих базу данных, Redis
+     * или Kafka запросов ограничено размером пула.
+     */
+    PLATFORM,
+    /**
+     * Новый виртуальный поток на каждую задачу: ожидание ввода-вывода не занимает поток операционной системы.
+     */
+    VIRTUAL;
+
+    /**
+     * Возвращает режим потоков по значению свойства {@code spring.threads.virtual.enabled}.
+     *
+     * @param virtualThreads включены ли виртуальные потоки
+     * @return режим потоков
+     */
+    public static ThreadMode of(boolean virtualThreads) {
+        return virtualThreads ? VIRTUAL : PLATFORM;
+    }
+
+    /**
+     * Создает исполнитель, запускающий каждую задачу в новом виртуальном потоке.
+     *
+     * @param threadNamePrefix префикс имен потоков
+     * @return исполнитель на виртуальных потоках
+     */
+    public static AsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.maelnor.tasks.controller.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import ru.maelnor.tasks.dto.ErrorResponse;
+import ru.maelnor.tasks.dto.cache.CacheResizeRequest;
+import ru.maelnor.tasks.model.CacheInfo;
+import ru.maelnor.tasks.service.CacheAdminService;
+
+import java.util.List;
+
+@RestController
+@PreAuthorize("hasRole('ROLE_ADMIN')")
+@RequestMapping("/api/admin/caches")
+@Tag(name = "Caches", description = "API для просмотра и настройки кэшей")
+public class CacheAdminRestController {
+
+    private final CacheAdminService cacheAdminService;
+
+    public CacheAdminRestController(CacheAdminService cacheAdminService) {
+        this.cacheAdminService = cacheAdminService;
+    }
+
+    @Operation(summary = "Получить состояние кэшей", description = "Возвращает параметры и статистику всех кэшей узла")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Состояние кэшей", useReturnTypeSchema = true)
+    })
+    @GetMapping
+    public List<CacheInfo> getCaches() {
+        return cacheAdminService.getCaches();
+    }
+
+    @Operation(summary = "Получить состояние кэша", description = "Возвращает параметры и статистику кэша узла")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Кэш найден", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "404", description = "Кэш не найден",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{name}")
+    public CacheInfo getCache(@Parameter(description = "Имя кэша", required = true) @PathVariable String name) {
+        return cacheAdminService.getCache(name);
+    }
+
+    @Operation(summary = "Изменить параметры кэша",
+            description = "Изменяет максимальный размер и время жизни записей локального кэша узла до его перезапуска. "
+                    + "Изменение не рассылается остальным узлам")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Параметры изменены", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Ошибка валидации",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Кэш не найден",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PatchMapping("/{name}")
+    public CacheInfo resizeCache(@Parameter(description = "Имя кэша", required = true) @PathVariable String name,
+                                 @Valid @RequestBody CacheResizeRequest request) {
+        return cacheAdminService.resize(name, request);
+    }
+
+    @Operation(summary = "Очистить кэш", description = "Удаляет все записи кэша, в том числе общие для узлов записи Redis")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Кэш очищен"),
+            @ApiResponse(responseCode = "404", description = "Кэш не найден",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/{name}/entries")
+    public ResponseEntity<Void> clearCache(@Parameter(description = "Имя кэша", required = true) @PathVariable String name) {
+        cacheAdminService.clear(name);
+        return ResponseEntity.noContent().build();
+    }
+}
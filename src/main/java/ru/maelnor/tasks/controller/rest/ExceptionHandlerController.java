@@ -13,6 +13,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.maelnor.tasks.dto.ErrorResponse;
 import ru.maelnor.tasks.exception.AlreadyExistsException;
+import ru.maelnor.tasks.exception.CacheNotFoundException;
+import ru.maelnor.tasks.exception.InvalidReportPeriodException;
 import ru.maelnor.tasks.exception.RefreshTokenException;
 import ru.maelnor.tasks.exception.TaskNotFoundException;
 
@@ -34,6 +36,26 @@ public class ExceptionHandlerController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getLocalizedMessage(), HttpStatus.NOT_FOUND.value(), uuid));
     }
 
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "404", description = "Кэш не найден", content = @io.swagger.v3.oas.annotations.media.Content(schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = ErrorResponse.class)))
+    })
+    @ExceptionHandler(CacheNotFoundException.class)
+    public ResponseEntity<ErrorResponse> cacheNotFoundException(CacheNotFoundException e) {
+        UUID uuid = UUID.randomUUID();
+        log.error("{} - Ошибка при попытке получить кэш.", uuid, e);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(e.getLocalizedMessage(), HttpStatus.NOT_FOUND.value(), uuid));
+    }
+
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "400", description = "Некорректный период отчета", content = @io.swagger.v3.oas.annotations.media.Content(schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = ErrorResponse.class)))
+    })
+    @ExceptionHandler(InvalidReportPeriodException.class)
+    public ResponseEntity<ErrorResponse> invalidReportPeriodException(InvalidReportPeriodException e) {
+        UUID uuid = UUID.randomUUID();
+        log.error("{} - Некорректный период отчета.", uuid, e);
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getLocalizedMessage(), HttpStatus.BAD_REQUEST.value(), uuid));
+    }
+
     @ApiResponses(value = {
             @ApiResponse(responseCode = "400", description = "Ошибка валидации полей задачи", content = @io.swagger.v3.oas.annotations.media.Content(schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = ErrorResponse.class)))
     })
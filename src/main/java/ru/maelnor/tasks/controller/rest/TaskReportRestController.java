@@ -0,0 +1,72 @@
+package ru.maelnor.tasks.controller.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import ru.maelnor.tasks.dto.ErrorResponse;
+import ru.maelnor.tasks.model.TaskDailyStats;
+import ru.maelnor.tasks.model.TaskOwnerStats;
+import ru.maelnor.tasks.service.TaskReportService;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_MANAGER')")
+@RequestMapping("/api/reports/tasks")
+@Tag(name = "Reports", description = "API для отчетов по задачам")
+public class TaskReportRestController {
+
+    private final TaskReportService taskReportService;
+
+    public TaskReportRestController(TaskReportService taskReportService) {
+        this.taskReportService = taskReportService;
+    }
+
+    @Operation(summary = "Получить отчет по дням",
+            description = "Возвращает количество созданных, завершенных и удаленных задач по дням периода")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отчет по дням", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Некорректный период",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/daily")
+    public List<TaskDailyStats> getDailyStats(
+            @Parameter(description = "Первый день периода", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Последний день периода", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Идентификатор владельца задач")
+            @RequestParam(required = false) UUID ownerId) {
+        return taskReportService.getDailyStats(from, to, ownerId);
+    }
+
+    @Operation(summary = "Получить отчет по владельцам",
+            description = "Возвращает количество созданных, завершенных и удаленных задач за период по владельцам")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Отчет по владельцам", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Некорректный период",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/owners")
+    public List<TaskOwnerStats> getOwnerStats(
+            @Parameter(description = "Первый день периода", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Последний день периода", required = true)
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return taskReportService.getOwnerStats(from, to);
+    }
+}
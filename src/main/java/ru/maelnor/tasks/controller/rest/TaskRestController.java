@@ -1,5 +1,6 @@
 package ru.maelnor.tasks.controller.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -8,21 +9,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.maelnor.tasks.dto.TaskDto;
 import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.exception.TaskNotFoundException;
 import ru.maelnor.tasks.dto.ErrorResponse;
+import ru.maelnor.tasks.dto.batch.TaskBatchDeleteRequest;
+import ru.maelnor.tasks.dto.batch.TaskBatchRequest;
+import ru.maelnor.tasks.dto.batch.TaskBatchResultDto;
+import ru.maelnor.tasks.dto.export.TaskExportFormat;
 import ru.maelnor.tasks.dto.filter.TaskFilterDto;
 import ru.maelnor.tasks.mapper.TaskFilterMapper;
 import ru.maelnor.tasks.mapper.TaskMapper;
+import ru.maelnor.tasks.model.TaskBatchResult;
+import ru.maelnor.tasks.model.TaskCountStrategy;
+import ru.maelnor.tasks.model.TaskFilterModel;
 import ru.maelnor.tasks.model.TaskModel;
 import ru.maelnor.tasks.service.TaskService;
+import ru.maelnor.tasks.utils.TaskExportWriter;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -33,10 +51,23 @@ import java.util.UUID;
 @Tag(name = "Tasks", description = "API для управления задачами")
 public class TaskRestController {
 
+    /**
+     * Ответы с ETag можно хранить только на клиенте и только с проверкой актуальности перед каждым использованием.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Способ подсчета общего количества задач для страниц {@code /filtered}.
+     */
+    @Value("${app.tasks.count-strategy.api:CACHED}")
+    private TaskCountStrategy countStrategy;
 
-    public TaskRestController(TaskService taskService) {
+    public TaskRestController(TaskService taskService, ObjectMapper objectMapper) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(summary = "Получить все задачи", description = "Возвращает список всех задач")
@@ -54,34 +85,84 @@ public class TaskRestController {
         return ResponseEntity.ok(tasks.stream().map(TaskMapper.INSTANCE::toDto).toList());
     }
 
-    @Operation(summary = "Получить задачи с фильтрацией и пагинацией", description = "Возвращает страницу задач с фильтрацией и пагинацией")
+    @Operation(summary = "Получить задачи с фильтрацией и пагинацией",
+            description = "Возвращает страницу задач с фильтрацией и пагинацией. "
+                    + "Если передан параметр cursor (в том числе пустой), возвращает срез без общего количества "
+                    + "и курсор следующего среза в поле nextCursor. "
+                    + "Ответ содержит ETag, который меняется при изменении задач, доступных пользователю")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Успешное получение страницы задач", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "304", description = "Задачи не изменились с запроса с указанным If-None-Match"),
             @ApiResponse(responseCode = "400", description = "Ошибка валидации",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/filtered")
-    public Page<TaskDto> getFilteredTasks(@Valid TaskFilterDto taskFilterDto) {
-        return taskService.filterBy(TaskFilterMapper.INSTANCE.toModel(taskFilterDto)).map(TaskMapper.INSTANCE::toDto);
+    public ResponseEntity<Slice<TaskDto>> getFilteredTasks(@Valid TaskFilterDto taskFilterDto, WebRequest request) {
+        TaskFilterModel filterModel = TaskFilterMapper.INSTANCE.toModel(taskFilterDto);
+        String eTag = pageETag(filterModel);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+
+        Slice<TaskDto> tasks = filterModel.getCursor() != null
+                ? taskService.filterByCursor(filterModel).map(TaskMapper.INSTANCE::toDto)
+                : taskService.filterBy(filterModel, countStrategy).map(TaskMapper.INSTANCE::toDto);
+        return eTag != null
+                ? ResponseEntity.ok().cacheControl(REVALIDATE).body(tasks)
+                : ResponseEntity.ok(tasks);
     }
 
 
-    @Operation(summary = "Получить задачу по ID", description = "Возвращает задачу по её идентификатору")
+    @Operation(summary = "Выгрузить задачи", description = "Потоково выгружает все доступные задачи в формате NDJSON или CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Выгрузка задач",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")})
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "Формат выгрузки") @RequestParam(defaultValue = "NDJSON") TaskExportFormat format) {
+        StreamingResponseBody body = outputStream -> {
+            TaskExportWriter writer = new TaskExportWriter(format, outputStream, objectMapper);
+            writer.writeHeader();
+            taskService.exportTasks(task -> writer.write(TaskMapper.INSTANCE.toDto(task)));
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("tasks." + format.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    @Operation(summary = "Получить задачу по ID",
+            description = "Возвращает задачу по её идентификатору с заголовком ETag по дате её изменения")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Задача найдена",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskDto.class))),
+            @ApiResponse(responseCode = "304", description = "Задача не изменилась с запроса с указанным If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Задача не найдена",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<TaskDto> getTaskById(@Parameter(description = "ID задачи", required = true) @PathVariable UUID id) {
-        return taskService.getTaskById(id)
-                .map(TaskMapper.INSTANCE::toDto)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<TaskDto> getTaskById(@Parameter(description = "ID задачи", required = true) @PathVariable UUID id,
+                                               WebRequest request) {
+        TaskModel task = taskService.getTaskById(id)
                 .orElseThrow(() -> new TaskNotFoundException(id));
+        if (task.getUpdatedAt() == null) {
+            return ResponseEntity.ok(TaskMapper.INSTANCE.toDto(task));
+        }
+        // Задача проверяется до преобразования в DTO, чтобы ответ 304 не требовал ни маппинга, ни сериализации.
+        // Last-Modified не выдается: он передается с точностью до секунды, и If-Modified-Since
+        // подтвердил бы устаревшую копию задачи, измененной в ту же секунду
+        if (request.checkNotModified(taskETag(task))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(TaskMapper.INSTANCE.toDto(task));
     }
 
     @Operation(summary = "Создать новую задачу", description = "Создает новую задачу и возвращает её данные")
@@ -138,4 +219,76 @@ public class TaskRestController {
         taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(summary = "Создать задачи пакетом",
+            description = "Создает задачи в одной транзакции и возвращает результат для каждого элемента в порядке запроса")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задачи созданы", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Ошибка валидации",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDto>> createTasks(@Valid @RequestBody TaskBatchRequest request) {
+        return ResponseEntity.ok(toDto(taskService.addTasks(toModels(request))));
+    }
+
+    @Operation(summary = "Обновить задачи пакетом",
+            description = "Обновляет задачи в одной транзакции. Отсутствующие и недоступные задачи не изменяются "
+                    + "и отмечаются статусами NOT_FOUND и FORBIDDEN, повторяющиеся в пакете — статусом DUPLICATE")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Пакет обработан", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Ошибка валидации",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDto>> updateTasks(@Valid @RequestBody TaskBatchRequest request) {
+        return ResponseEntity.ok(toDto(taskService.updateTasks(toModels(request))));
+    }
+
+    @Operation(summary = "Удалить задачи пакетом",
+            description = "Удаляет задачи в одной транзакции. Отсутствующие и недоступные задачи не удаляются "
+                    + "и отмечаются статусами NOT_FOUND и FORBIDDEN, повторяющиеся в пакете — статусом DUPLICATE")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Пакет обработан", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Ошибка валидации",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<TaskBatchResultDto>> deleteTasks(@Valid @RequestBody TaskBatchDeleteRequest request) {
+        return ResponseEntity.ok(toDto(taskService.deleteTasks(request.getIds())));
+    }
+
+    /**
+     * Строит ETag задачи из её идентификатора и даты последнего изменения.
+     */
+    private static String taskETag(TaskModel task) {
+        return "\"" + task.getId() + "-" + task.getUpdatedAt().getTime() + "\"";
+    }
+
+    /**
+     * Строит ETag списка задач из версии результатов фильтра в области видимости пользователя
+     * и параметров страницы, не выполняя фильтрацию.
+     *
+     * @return ETag или {@code null}, если версию получить не удалось
+     */
+    private String pageETag(TaskFilterModel filter) {
+        String version = taskService.filterVersion(filter);
+        if (version == null) {
+            return null;
+        }
+        String page = version + '|' + filter.getPageNumber() + '|' + filter.getPageSize() + '|' + countStrategy
+                + '|' + (filter.getCursor() != null ? filter.getCursor().length() + ":" + filter.getCursor() : "-");
+        return "\"" + DigestUtils.md5DigestAsHex(page.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static List<TaskModel> toModels(TaskBatchRequest request) {
+        return request.getTasks().stream().map(TaskMapper.INSTANCE::toModel).toList();
+    }
+
+    private static List<TaskBatchResultDto> toDto(List<TaskBatchResult> results) {
+        return results.stream().map(TaskMapper.INSTANCE::toDto).toList();
+    }
 }
@@ -0,0 +1,104 @@
+package ru.maelnor.tasks.controller.rest;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.maelnor.tasks.dto.ErrorResponse;
+import ru.maelnor.tasks.dto.TaskDto;
+import ru.maelnor.tasks.dto.filter.TaskFilterDto;
+import ru.maelnor.tasks.exception.TaskNotFoundException;
+import ru.maelnor.tasks.mapper.TaskFilterMapper;
+import ru.maelnor.tasks.mapper.TaskMapper;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.service.ReactiveTaskService;
+
+import java.util.UUID;
+
+/**
+ * Неблокирующий API чтения задач. Методы возвращают {@link Mono} и {@link Flux}: Spring MVC обрабатывает их
+ * асинхронно и освобождает поток запроса, пока выполняются запросы к базе данных через R2DBC.
+ * Контроллер активируется, если свойство {@code app.api.v2.enabled} установлено в {@code true}.
+ */
+@RestController
+@PreAuthorize("isAuthenticated()")
+@RequestMapping("/api/v2/tasks")
+@ConditionalOnProperty(name = "app.api.v2.enabled", havingValue = "true")
+@Tag(name = "Tasks v2", description = "Неблокирующий API чтения задач")
+public class TaskV2RestController {
+
+    private final ReactiveTaskService taskService;
+
+    public TaskV2RestController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    /**
+     * Передает задачи в формате NDJSON. Чтение из базы данных не блокирует потоки, но каждую строку Spring MVC
+     * пишет в ответ блокирующе в потоке {@code applicationTaskExecutor}; без блокировки потоков платформы передача
+     * выполняется только при {@code spring.threads.virtual.enabled=true}.
+     *
+     * @return поток задач
+     */
+    @Operation(summary = "Получить все задачи потоком",
+            description = "Передает все доступные задачи в формате NDJSON по мере чтения из базы данных")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Поток задач",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = TaskDto.class)))
+    })
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskDto> streamTasks() {
+        return taskService.streamTasks().map(TaskMapper.INSTANCE::toDto);
+    }
+
+    @Operation(summary = "Получить задачи с фильтрацией и пагинацией",
+            description = "Возвращает страницу задач с фильтрацией и пагинацией. "
+                    + "Если передан параметр cursor (в том числе пустой), возвращает срез без общего количества "
+                    + "и курсор следующего среза в поле nextCursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Успешное получение страницы задач", useReturnTypeSchema = true),
+            @ApiResponse(responseCode = "400", description = "Ошибка валидации",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/filtered")
+    public Mono<Slice<TaskDto>> getFilteredTasks(@Valid TaskFilterDto taskFilterDto) {
+        TaskFilterModel filterModel = TaskFilterMapper.INSTANCE.toModel(taskFilterDto);
+        if (filterModel.getCursor() != null) {
+            return taskService.filterByCursor(filterModel)
+                    .<Slice<TaskDto>>map(slice -> slice.map(TaskMapper.INSTANCE::toDto));
+        }
+        return taskService.filterBy(filterModel).<Slice<TaskDto>>map(page -> page.map(TaskMapper.INSTANCE::toDto));
+    }
+
+    @Operation(summary = "Получить задачу по ID", description = "Возвращает задачу по её идентификатору")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Задача найдена",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskDto.class))),
+            @ApiResponse(responseCode = "404", description = "Задача не найдена",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/{id}")
+    public Mono<TaskDto> getTaskById(@Parameter(description = "ID задачи", required = true) @PathVariable UUID id) {
+        return taskService.getTaskById(id)
+                .map(TaskMapper.INSTANCE::toDto)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)));
+    }
+}
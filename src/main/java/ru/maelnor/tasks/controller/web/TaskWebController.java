@@ -2,9 +2,9 @@ package ru.maelnor.tasks.controller.web;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -16,6 +16,7 @@ import ru.maelnor.tasks.dto.filter.TaskFilterDto;
 import ru.maelnor.tasks.exception.TaskNotFoundException;
 import ru.maelnor.tasks.mapper.TaskFilterMapper;
 import ru.maelnor.tasks.mapper.TaskMapper;
+import ru.maelnor.tasks.model.TaskCountStrategy;
 import ru.maelnor.tasks.model.TaskFilterModel;
 import ru.maelnor.tasks.model.TaskModel;
 import ru.maelnor.tasks.service.TaskFilterService;
@@ -38,6 +39,12 @@ public class TaskWebController {
     private final UserService userService;
     private final TaskFilterService taskFilterService;
 
+    /**
+     * Способ подсчета общего количества задач в списке.
+     */
+    @Value("${app.tasks.count-strategy.web:ESTIMATED}")
+    private TaskCountStrategy countStrategy;
+
     /**
      * Инициализирует разрешенные поля для привязки данных.
      *
@@ -45,7 +52,7 @@ public class TaskWebController {
      */
     @InitBinder
     protected void initBinder(WebDataBinder binder) {
-        binder.setAllowedFields("pageNumber", "pageSize", "completed", "name", "description", "ownerId");
+        binder.setAllowedFields("pageNumber", "pageSize", "completed", "name", "description", "ownerId", "cursor", "search");
     }
 
     /**
@@ -73,7 +80,13 @@ public class TaskWebController {
         }
 
         TaskFilterModel filterModel = TaskFilterMapper.INSTANCE.toModel(taskFilterDto);
-        Page<TaskDto> result = taskService.filterBy(filterModel).map(TaskMapper.INSTANCE::toDto);
+        Slice<TaskDto> result;
+        if (filterModel.getCursor() != null) {
+            result = taskService.filterByCursor(filterModel).map(TaskMapper.INSTANCE::toDto);
+            model.addAttribute("keyset", true);
+        } else {
+            result = taskService.filterBy(filterModel, countStrategy).map(TaskMapper.INSTANCE::toDto);
+        }
 
         model.addAttribute("page", result);
         return "tasks/list";
@@ -163,7 +176,7 @@ public class TaskWebController {
             return "tasks/edit";
         }
 
-        BeanUtils.copyProperties(dto, task, "id");
+        TaskMapper.INSTANCE.updateModel(dto, task);
 
         taskService.updateTask(task);
         return "redirect:/tasks";
@@ -0,0 +1,21 @@
+package ru.maelnor.tasks.dto.batch;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO запроса на пакетное удаление задач.
+ */
+@Data
+@NoArgsConstructor
+public class TaskBatchDeleteRequest {
+    @NotEmpty(message = "Список идентификаторов не должен быть пустым")
+    @Size(max = TaskBatchRequest.MAX_SIZE, message = "Список идентификаторов не должен превышать {max} элементов")
+    private List<@NotNull(message = "Идентификатор задачи не должен быть пустым") UUID> ids;
+}
@@ -0,0 +1,27 @@
+package ru.maelnor.tasks.dto.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.maelnor.tasks.dto.TaskDto;
+
+import java.util.List;
+
+/**
+ * DTO запроса на пакетное создание или обновление задач.
+ * Каждая задача проверяется по правилам {@link TaskDto}; ошибка в любом элементе отклоняет весь запрос.
+ */
+@Data
+@NoArgsConstructor
+public class TaskBatchRequest {
+    /**
+     * Максимальное количество элементов в одном пакетном запросе.
+     */
+    public static final int MAX_SIZE = 1000;
+
+    @NotEmpty(message = "Список задач не должен быть пустым")
+    @Size(max = MAX_SIZE, message = "Список задач не должен превышать {max} элементов")
+    private List<@Valid TaskDto> tasks;
+}
@@ -0,0 +1,20 @@
+package ru.maelnor.tasks.dto.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import ru.maelnor.tasks.dto.TaskDto;
+import ru.maelnor.tasks.model.TaskBatchStatus;
+
+import java.util.UUID;
+
+/**
+ * DTO результата обработки одного элемента пакетного запроса.
+ */
+@Getter
+@Setter
+public class TaskBatchResultDto {
+    private int index;
+    private UUID id;
+    private TaskBatchStatus status;
+    private TaskDto task;
+}
@@ -0,0 +1,17 @@
+package ru.maelnor.tasks.dto.cache;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO запроса на изменение параметров локального кэша. Незаполненные параметры не изменяются.
+ */
+@Data
+@NoArgsConstructor
+public class CacheResizeRequest {
+    @Positive(message = "Максимальный размер должен быть положительным")
+    private Long maximumSize;
+    @Positive(message = "Время жизни должно быть положительным")
+    private Long expireAfterWriteSeconds;
+}
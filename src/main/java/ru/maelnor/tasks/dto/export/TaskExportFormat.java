@@ -0,0 +1,26 @@
+package ru.maelnor.tasks.dto.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Форматы потоковой выгрузки задач.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TaskExportFormat {
+    /**
+     * JSON-объект задачи на каждой строке (newline-delimited JSON).
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    /**
+     * Таблица с разделителем-запятой и строкой заголовка.
+     */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String fileExtension;
+}
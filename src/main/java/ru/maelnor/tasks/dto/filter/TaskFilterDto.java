@@ -1,5 +1,6 @@
 package ru.maelnor.tasks.dto.filter;
 
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -19,6 +20,16 @@ public class TaskFilterDto {
     private Integer pageNumber;
     private Integer pageSize;
     private String name;
+    /**
+     * Строка полнотекстового поиска по имени и описанию задачи. Результаты упорядочиваются по релевантности.
+     */
+    @Size(max = 255, message = "Строка поиска не должна превышать {max} символов")
+    private String search;
     private Boolean completed;
     private String ownerId;
+    /**
+     * Курсор постраничной навигации без смещения. Если параметр передан (в том числе пустым),
+     * список строится по курсору, а {@code pageNumber} игнорируется.
+     */
+    private String cursor;
 }
@@ -22,18 +22,24 @@ public class KafkaTaskMessage {
     private String description;
     private boolean completed;
     private TaskStatus status;
+    /**
+     * Идентификатор владельца задачи; отсутствует в сообщениях, записанных до его появления в формате.
+     */
+    private UUID ownerId;
 
     /**
-     * Создает объект KafkaTaskMessage на основе {@link TaskDto} и статуса задачи.
+     * Создает объект KafkaTaskMessage на основе {@link TaskDto}, владельца и статуса задачи.
      *
      * @param taskDto объект задачи
+     * @param ownerId идентификатор владельца задачи
      * @param status статус задачи
      */
-    public KafkaTaskMessage(TaskDto taskDto, TaskStatus status) {
+    public KafkaTaskMessage(TaskDto taskDto, UUID ownerId, TaskStatus status) {
         this.id = taskDto.getId();
         this.name = taskDto.getName();
         this.completed = taskDto.isCompleted();
         this.description = taskDto.getDescription();
         this.status = status;
+        this.ownerId = ownerId;
     }
 }
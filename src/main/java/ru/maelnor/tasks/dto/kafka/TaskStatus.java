@@ -1,10 +1,34 @@
 package ru.maelnor.tasks.dto.kafka;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
 /**
  * Перечисление статусов задачи для передачи через Kafka.
+ * Код статуса используется в двоичном формате сообщений и не должен меняться.
  */
+@Getter
+@RequiredArgsConstructor
 public enum TaskStatus {
-    NEW,
-    UPDATED,
-    DELETED
+    NEW((byte) 1),
+    UPDATED((byte) 2),
+    DELETED((byte) 3);
+
+    private final byte code;
+
+    /**
+     * Возвращает статус по его коду в двоичном формате.
+     *
+     * @param code код статуса
+     * @return статус
+     * @throws IllegalArgumentException если код неизвестен
+     */
+    public static TaskStatus fromCode(byte code) {
+        for (TaskStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный код статуса задачи: " + code);
+    }
 }
@@ -24,6 +24,13 @@ public class UserEntity {
     private String password;
     private String email;
 
+    /**
+     * Версия выданных пользователю токенов доступа. Увеличивается при выходе и смене пароля,
+     * после чего токены с прежней версией перестают приниматься.
+     */
+    @Builder.Default
+    private int tokenVersion = 0;
+
     /**
      * Набор ролей пользователя. Роли хранятся в отдельной таблице "user_roles"
      * и связаны с пользователем через его идентификатор.
@@ -0,0 +1,21 @@
+package ru.maelnor.tasks.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Исключение, выбрасываемое, когда кэш с указанным именем не найден.
+ * Маркировано аннотацией {@link ResponseStatus} для возвращения HTTP статуса 404 (Not Found).
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class CacheNotFoundException extends RuntimeException {
+
+    /**
+     * Создает исключение с сообщением, указывающим, что кэш с данным именем не найден.
+     *
+     * @param name имя кэша, который не был найден
+     */
+    public CacheNotFoundException(String name) {
+        super("Кэш " + name + " не найден");
+    }
+}
@@ -0,0 +1,21 @@
+package ru.maelnor.tasks.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Исключение, выбрасываемое, когда период отчета задан некорректно.
+ * Маркировано аннотацией {@link ResponseStatus} для возвращения HTTP статуса 400 (Bad Request).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidReportPeriodException extends RuntimeException {
+
+    /**
+     * Создает исключение с описанием ошибки периода.
+     *
+     * @param message описание ошибки
+     */
+    public InvalidReportPeriodException(String message) {
+        super(message);
+    }
+}
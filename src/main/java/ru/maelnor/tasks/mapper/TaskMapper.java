@@ -2,9 +2,13 @@ package ru.maelnor.tasks.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.factory.Mappers;
 import ru.maelnor.tasks.dto.TaskDto;
+import ru.maelnor.tasks.dto.batch.TaskBatchResultDto;
 import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.TaskBatchResult;
+import ru.maelnor.tasks.model.TaskCacheEntry;
 import ru.maelnor.tasks.model.TaskModel;
 import ru.maelnor.tasks.projection.TaskSummary;
 
@@ -59,25 +63,48 @@ public interface TaskMapper {
     TaskEntity toEntity(TaskModel taskModel);
 
     /**
-     * Преобразует проекция задачи {@link TaskSummary} в сущность задачи {@link TaskEntity}.
-     * Игнорирует поля createdAt, updatedAt и owner, так как они не передаются в проекцию.
+     * Копирует данные модели задачи {@link TaskModel} в существующую сущность задачи {@link TaskEntity},
+     * включая пустые значения. Поля createdAt, updatedAt и owner не изменяются.
      *
-     * @param taskSummary проекция задачи
-     * @return сущность задачи
+     * @param taskModel  модель задачи
+     * @param taskEntity сущность задачи, которая обновляется
      */
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
-    @Mapping(target = "description", ignore = true)
+    @Mapping(target = "owner", ignore = true)
+    void updateEntity(TaskModel taskModel, @MappingTarget TaskEntity taskEntity);
+
+    /**
+     * Преобразует проекцию задачи {@link TaskSummary} в сущность задачи {@link TaskEntity}.
+     * Владелец заполняется только идентификатором.
+     *
+     * @param taskSummary проекция задачи
+     * @return сущность задачи
+     */
+    @Mapping(target = "owner.id", source = "ownerId")
     TaskEntity toEntity(TaskSummary taskSummary);
 
     /**
      * Преобразует DTO задачи {@link TaskDto} в модель задачи {@link TaskModel}.
+     * Игнорирует поле updatedAt, так как оно не передается в DTO.
      *
      * @param taskDto DTO задачи
      * @return модель задачи
      */
+    @Mapping(target = "updatedAt", ignore = true)
     TaskModel toModel(TaskDto taskDto);
 
+    /**
+     * Копирует данные DTO задачи {@link TaskDto} в существующую модель задачи {@link TaskModel},
+     * включая пустые значения. Идентификатор и дата изменения модели не изменяются.
+     *
+     * @param taskDto   DTO задачи
+     * @param taskModel модель задачи, которая обновляется
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateModel(TaskDto taskDto, @MappingTarget TaskModel taskModel);
+
     /**
      * Преобразует сущность задачи {@link TaskEntity} в модель задачи {@link TaskModel}.
      *
@@ -92,6 +119,38 @@ public interface TaskMapper {
      * @param taskSummary проекция задачи
      * @return модель задачи
      */
-    @Mapping(target = "description", ignore = true)
     TaskModel toModel(TaskSummary taskSummary);
+
+    /**
+     * Преобразует запись кэша задач {@link TaskCacheEntry} в модель задачи {@link TaskModel}.
+     *
+     * @param taskCacheEntry запись кэша задач
+     * @return модель задачи
+     */
+    TaskModel toModel(TaskCacheEntry taskCacheEntry);
+
+    /**
+     * Преобразует сущность задачи {@link TaskEntity} в запись кэша задач {@link TaskCacheEntry}.
+     *
+     * @param taskEntity сущность задачи
+     * @return запись кэша задач
+     */
+    @Mapping(target = "ownerId", source = "owner.id")
+    TaskCacheEntry toCacheEntry(TaskEntity taskEntity);
+
+    /**
+     * Преобразует проекцию задачи {@link TaskSummary} в запись кэша задач {@link TaskCacheEntry}.
+     *
+     * @param taskSummary проекция задачи
+     * @return запись кэша задач
+     */
+    TaskCacheEntry toCacheEntry(TaskSummary taskSummary);
+
+    /**
+     * Преобразует результат пакетной операции {@link TaskBatchResult} в DTO {@link TaskBatchResultDto}.
+     *
+     * @param taskBatchResult результат обработки элемента пакета
+     * @return DTO результата
+     */
+    TaskBatchResultDto toDto(TaskBatchResult taskBatchResult);
 }
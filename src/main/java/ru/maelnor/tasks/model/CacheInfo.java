@@ -0,0 +1,29 @@
+package ru.maelnor.tasks.model;
+
+import lombok.*;
+
+/**
+ * Состояние локального кэша узла: текущие настройки и накопленная статистика Caffeine.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheInfo {
+    private String name;
+    /**
+     * Тип кэша: {@code local} — только Caffeine, {@code layered} — Caffeine и Redis.
+     */
+    private String type;
+    private long estimatedSize;
+    private Long maximumSize;
+    private Long expireAfterWriteSeconds;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private double averageLoadPenaltyMillis;
+    private long evictionCount;
+}
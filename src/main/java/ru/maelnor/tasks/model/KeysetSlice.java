@@ -0,0 +1,41 @@
+package ru.maelnor.tasks.model;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Срез результатов, полученный постраничной навигацией по курсору.
+ * В отличие от {@link org.springframework.data.domain.Page} не содержит общего количества элементов,
+ * поэтому для его построения не требуется запрос {@code count}.
+ *
+ * @param <T> тип элементов среза
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    private final String nextCursor;
+
+    /**
+     * @param content    элементы текущего среза
+     * @param pageable   параметры запроса (размер и сортировка)
+     * @param nextCursor курсор следующего среза или {@code null}, если срез последний
+     */
+    public KeysetSlice(List<T> content, Pageable pageable, String nextCursor) {
+        super(content, pageable, nextCursor != null);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return курсор для получения следующего среза или {@code null}, если данных больше нет
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(getContent().stream().<U>map(converter).toList(), getPageable(), nextCursor);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.maelnor.tasks.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Результат обработки одного элемента пакетной операции над задачами.
+ * Элементы, не прошедшие проверку, не изменяют данные и не мешают обработке остальных.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaskBatchResult {
+    /**
+     * Позиция элемента в запросе.
+     */
+    private final int index;
+    private final UUID id;
+    private final TaskBatchStatus status;
+    /**
+     * Состояние задачи после операции; {@code null}, если задача не найдена или недоступна.
+     */
+    private final TaskModel task;
+
+    /**
+     * Создает результат для элемента, который не был применен.
+     *
+     * @param index  позиция элемента в запросе
+     * @param id     идентификатор задачи из запроса
+     * @param status причина отказа
+     * @return результат без данных задачи
+     */
+    public static TaskBatchResult rejected(int index, UUID id, TaskBatchStatus status) {
+        return new TaskBatchResult(index, id, status, null);
+    }
+
+    /**
+     * Создает результат для успешно примененного элемента.
+     *
+     * @param index  позиция элемента в запросе
+     * @param status выполненная операция
+     * @param task   состояние задачи после операции
+     * @return результат с данными задачи
+     */
+    public static TaskBatchResult applied(int index, TaskBatchStatus status, TaskModel task) {
+        return new TaskBatchResult(index, task.getId(), status, task);
+    }
+
+    /**
+     * Находит идентификаторы, которые встречаются в пакетном запросе несколько раз.
+     * Такие элементы отклоняются со статусом {@link TaskBatchStatus#DUPLICATE}: иначе все они применялись бы
+     * к одной задаче, а в результате и в событиях отражались бы изменения, из которых сохраняется только последнее.
+     *
+     * @param ids идентификаторы задач из запроса, в том числе {@code null}
+     * @return повторяющиеся идентификаторы
+     */
+    public static Set<UUID> duplicateIds(List<UUID> ids) {
+        Set<UUID> seen = new HashSet<>();
+        Set<UUID> duplicates = new HashSet<>();
+        for (UUID id : ids) {
+            if (id != null && !seen.add(id)) {
+                duplicates.add(id);
+            }
+        }
+        return duplicates;
+    }
+}
@@ -0,0 +1,16 @@
+package ru.maelnor.tasks.model;
+
+/**
+ * Результат обработки одного элемента пакетной операции над задачами.
+ */
+public enum TaskBatchStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,
+    FORBIDDEN,
+    /**
+     * Идентификатор задачи встречается в запросе несколько раз; ни один из таких элементов не применяется.
+     */
+    DUPLICATE
+}
@@ -0,0 +1,24 @@
+package ru.maelnor.tasks.model;
+
+import lombok.*;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Запись кэша задач. В отличие от {@link TaskModel} содержит идентификатор владельца,
+ * поэтому права доступа к задаче проверяются при каждом обращении, в том числе при попадании в кэш.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class TaskCacheEntry {
+    private UUID id;
+    private String name;
+    private String description;
+    private boolean completed;
+    private UUID ownerId;
+    private Date updatedAt;
+}
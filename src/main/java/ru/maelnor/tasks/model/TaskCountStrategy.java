@@ -0,0 +1,21 @@
+package ru.maelnor.tasks.model;
+
+/**
+ * Способ подсчета общего количества задач для постраничного списка.
+ * Количество задач одного владельца без текстовых условий во всех режимах берется из счетчиков
+ * владельцев, которые база данных поддерживает при каждом изменении задач.
+ */
+public enum TaskCountStrategy {
+    /**
+     * Точный подсчет запросом {@code count} при каждом запросе страницы.
+     */
+    EXACT,
+    /**
+     * Точный подсчет, сохраняемый в кэше до изменения задач в области видимости.
+     */
+    CACHED,
+    /**
+     * Оценка планировщика PostgreSQL для списка всех задач без фильтра; в остальных случаях как {@link #CACHED}.
+     */
+    ESTIMATED
+}
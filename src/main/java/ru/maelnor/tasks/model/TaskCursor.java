@@ -0,0 +1,80 @@
+package ru.maelnor.tasks.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.projection.TaskSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Курсор для постраничной навигации по задачам без смещения (keyset pagination).
+ * Хранит позицию последней выданной задачи в порядке сортировки {@code (created_at DESC, id DESC)}.
+ * Клиенту курсор передается в виде непрозрачной строки.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class TaskCursor {
+    private static final String SEPARATOR = ":";
+
+    private final Date createdAt;
+    private final UUID id;
+
+    /**
+     * Создает курсор, указывающий на переданную задачу.
+     *
+     * @param taskEntity последняя задача на текущей странице
+     * @return курсор для запроса следующей страницы
+     */
+    public static TaskCursor of(TaskEntity taskEntity) {
+        return new TaskCursor(taskEntity.getCreatedAt(), taskEntity.getId());
+    }
+
+    /**
+     * Создает курсор, указывающий на переданную задачу.
+     *
+     * @param taskSummary последняя задача на текущей странице
+     * @return курсор для запроса следующей страницы
+     */
+    public static TaskCursor of(TaskSummary taskSummary) {
+        return new TaskCursor(taskSummary.createdAt(), taskSummary.id());
+    }
+
+    /**
+     * Кодирует курсор в строку, безопасную для передачи в URL.
+     *
+     * @return непрозрачное строковое представление курсора
+     */
+    public String encode() {
+        String raw = createdAt.getTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Восстанавливает курсор из строкового представления.
+     *
+     * @param cursor строка, полученная из {@link #encode()}
+     * @return курсор
+     * @throws IllegalArgumentException если строка не является корректным курсором
+     */
+    public static TaskCursor decode(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+        }
+        try {
+            return new TaskCursor(
+                    new Date(Long.parseLong(raw.substring(0, separator))),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor, e);
+        }
+    }
+}
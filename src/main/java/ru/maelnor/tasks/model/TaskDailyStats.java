@@ -0,0 +1,20 @@
+package ru.maelnor.tasks.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Количество событий задач за день: созданные, завершенные и удаленные задачи.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class TaskDailyStats {
+    private LocalDate day;
+    private long created;
+    private long completed;
+    private long deleted;
+}
@@ -17,6 +17,8 @@ public class TaskFilterModel {
     private Integer pageNumber;
     private Integer pageSize;
     private String name;
+    private String search;
     private Boolean completed;
     private UUID ownerId;
+    private String cursor;
 }
@@ -2,11 +2,14 @@ package ru.maelnor.tasks.model;
 
 import lombok.*;
 
+import java.util.Date;
 import java.util.UUID;
 
 /**
  * Модель задачи, представляющая данные о задаче.
- * Содержит идентификатор задачи, её имя, описание и статус завершенности.
+ * Содержит идентификатор задачи, её имя, описание, статус завершенности
+ * и дату последнего изменения, если задача прочитана из хранилища.
+ * Дата изменения не участвует в сравнении моделей.
  */
 @Getter
 @Setter
@@ -18,4 +21,18 @@ public class TaskModel {
     private String name;
     private String description;
     private boolean completed;
+    @EqualsAndHashCode.Exclude
+    private Date updatedAt;
+
+    /**
+     * Создает модель задачи без даты изменения, например для новой задачи.
+     *
+     * @param id          идентификатор задачи
+     * @param name        название задачи
+     * @param description описание задачи
+     * @param completed   признак выполнения
+     */
+    public TaskModel(UUID id, String name, String description, boolean completed) {
+        this(id, name, description, completed, null);
+    }
 }
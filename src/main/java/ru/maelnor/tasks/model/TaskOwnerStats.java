@@ -0,0 +1,20 @@
+package ru.maelnor.tasks.model;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * Количество событий задач владельца за период: созданные, завершенные и удаленные задачи.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class TaskOwnerStats {
+    private UUID ownerId;
+    private long created;
+    private long completed;
+    private long deleted;
+}
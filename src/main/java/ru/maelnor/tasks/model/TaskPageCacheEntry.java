@@ -0,0 +1,18 @@
+package ru.maelnor.tasks.model;
+
+import lombok.*;
+
+import java.util.ArrayList;
+
+/**
+ * Запись кэша страниц задач: содержимое страницы и общее количество задач, удовлетворяющих фильтру.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode
+public class TaskPageCacheEntry {
+    private ArrayList<TaskCacheEntry> content;
+    private long total;
+}
@@ -1,15 +1,28 @@
 package ru.maelnor.tasks.projection;
 
-import ru.maelnor.tasks.entity.UserEntity;
-
+import java.util.Date;
 import java.util.UUID;
 
 /**
- * Projection for {@link ru.maelnor.tasks.entity.TaskEntity}
+ * Плоская проекция {@link ru.maelnor.tasks.entity.TaskEntity} для списков задач.
+ * Содержит только столбцы задачи и имя владельца и заполняется одним запросом с соединением по владельцу,
+ * поэтому владелец и его роли не загружаются как сущности.
+ *
+ * @param id            идентификатор задачи
+ * @param name          название задачи
+ * @param description   описание задачи
+ * @param completed     признак выполнения
+ * @param createdAt     дата создания, по которой строится курсор
+ * @param updatedAt     дата последнего изменения, по которой строятся заголовки условных запросов
+ * @param ownerId       идентификатор владельца
+ * @param ownerUsername имя владельца
  */
-public interface TaskSummary {
-    UUID getId();
-    String getName();
-    boolean isCompleted();
-    UserEntity getOwner();
-}
\ No newline at end of file
+public record TaskSummary(UUID id,
+                          String name,
+                          String description,
+                          boolean completed,
+                          Date createdAt,
+                          Date updatedAt,
+                          UUID ownerId,
+                          String ownerUsername) {
+}
@@ -1,35 +1,75 @@
 package ru.maelnor.tasks.repository;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import ru.maelnor.tasks.entity.TaskEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.model.TaskCursor;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.repository.search.TaskSearchEngine;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Реализация репозитория для работы с задачами с использованием JDBC.
  * Использует {@link JdbcTemplate} для выполнения операций с базой данных.
  * Репозиторий активируется, если свойство "repository.type" установлено в "jdbc".
+ * <p>
+ * Тексты запросов либо постоянны, либо собираются из фиксированного набора фрагментов,
+ * поэтому драйвер PostgreSQL повторно использует подготовленные на сервере операторы.
+ * Идентификаторы передаются и читаются как нативный тип {@code uuid}, без преобразования в строку.
  */
 @Repository
 @ConditionalOnProperty(name = "repository.type", havingValue = "jdbc")
-@Deprecated
 public class JdbcTaskRepository implements TaskRepository {
 
+    /**
+     * Количество строк, получаемых из базы за одно обращение к курсору при выгрузке.
+     */
+    public static final int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Количество операторов в одном пакете при пакетной записи.
+     */
+    public static final int BATCH_SIZE = 500;
+
+    static final String SELECT_TASKS = """
+            SELECT t.id, t.name, t.completed, t.description, t.created_at, t.updated_at, t.owner_id
+            FROM tasks t""";
+
+    static final String TASK_ORDER = " ORDER BY t.created_at DESC, t.id DESC";
+
+    private static final String INSERT_TASK = "INSERT INTO tasks (id, name, completed, description, created_at, updated_at, owner_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_TASK = "UPDATE tasks SET name = ?, completed = ?, description = ?, updated_at = ?, owner_id = ? WHERE id = ?";
+
     private final JdbcTemplate jdbcTemplate;
+    private final TaskSearchEngine searchEngine;
 
     /**
      * Конструктор, принимающий {@link JdbcTemplate} для работы с базой данных.
      *
      * @param jdbcTemplate объект для выполнения SQL-запросов
+     * @param searchEngine механизм поиска, задающий порядок результатов поиска
      */
-    public JdbcTaskRepository(JdbcTemplate jdbcTemplate) {
+    public JdbcTaskRepository(JdbcTemplate jdbcTemplate, TaskSearchEngine searchEngine) {
         this.jdbcTemplate = jdbcTemplate;
+        this.searchEngine = searchEngine;
     }
 
     /**
@@ -39,14 +79,18 @@ public class JdbcTaskRepository implements TaskRepository {
      */
     @Override
     public List<TaskEntity> findAll() {
-        String sql = """
-                SELECT\s
-                    t.id, t.name, t.completed, t.description, t.created_at, t.updated_at,
-                    u.id as owner_id, u.username as owner_username, u.email as owner_email
-                FROM tasks t
-                JOIN users u ON t.owner_id = u.id
-               \s""";
-        return jdbcTemplate.query(sql, taskRowMapper());
+        return jdbcTemplate.query(SELECT_TASKS + TASK_ORDER, taskRowMapper());
+    }
+
+    /**
+     * Возвращает список задач владельца.
+     *
+     * @param ownerId идентификатор владельца задач
+     * @return список сущностей {@link TaskEntity}
+     */
+    @Override
+    public List<TaskEntity> findByOwnerId(UUID ownerId) {
+        return jdbcTemplate.query(SELECT_TASKS + " WHERE t.owner_id = ?" + TASK_ORDER, taskRowMapper(), ownerId);
     }
 
     /**
@@ -56,20 +100,18 @@ public class JdbcTaskRepository implements TaskRepository {
      */
     @Override
     public void save(TaskEntity taskEntity) {
-        String sql = "INSERT INTO tasks (id, name, completed, description, created_at, updated_at, owner_id) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        jdbcTemplate.update(sql,
-                taskEntity.getId(), // UUID задачи
-                taskEntity.getName(), // Название задачи
-                taskEntity.isCompleted(), // Статус выполнения
-                taskEntity.getDescription(), // Описание задачи
-                taskEntity.getCreatedAt(), // Время создания
-                taskEntity.getUpdatedAt(), // Время обновления
-                taskEntity.getOwner().getId() // Владелец задачи (owner_id)
-        );
+        jdbcTemplate.update(INSERT_TASK, ps -> bindInsert(ps, taskEntity));
     }
 
+    /**
+     * Сохраняет новые задачи пакетами по {@value #BATCH_SIZE} операторов.
+     *
+     * @param taskEntities сущности задач для сохранения
+     */
+    @Override
+    public void saveAll(Collection<TaskEntity> taskEntities) {
+        jdbcTemplate.batchUpdate(INSERT_TASK, taskEntities, BATCH_SIZE, this::bindInsert);
+    }
 
     /**
      * Обновляет существующую задачу в базе данных.
@@ -78,18 +120,18 @@ public class JdbcTaskRepository implements TaskRepository {
      */
     @Override
     public void update(TaskEntity taskEntity) {
-        String sql = "UPDATE tasks SET name = ?, completed = ?, description = ?, updated_at = ?, owner_id = ? WHERE id = ?";
-
-        jdbcTemplate.update(sql,
-                taskEntity.getName(), // Название задачи
-                taskEntity.isCompleted(), // Статус выполнения
-                taskEntity.getDescription(), // Описание задачи
-                taskEntity.getUpdatedAt(), // Время обновления
-                taskEntity.getOwner().getId(), // Владелец задачи
-                taskEntity.getId() // UUID задачи
-        );
+        jdbcTemplate.update(UPDATE_TASK, ps -> bindUpdate(ps, taskEntity));
     }
 
+    /**
+     * Обновляет существующие задачи пакетами по {@value #BATCH_SIZE} операторов.
+     *
+     * @param taskEntities сущности задач для обновления
+     */
+    @Override
+    public void updateAll(Collection<TaskEntity> taskEntities) {
+        jdbcTemplate.batchUpdate(UPDATE_TASK, taskEntities, BATCH_SIZE, this::bindUpdate);
+    }
 
     /**
      * Удаляет задачу из базы данных по её идентификатору.
@@ -102,6 +144,20 @@ public class JdbcTaskRepository implements TaskRepository {
         jdbcTemplate.update(sql, id);
     }
 
+    /**
+     * Удаляет задачи одним оператором, передавая идентификаторы массивом {@code uuid[]}.
+     *
+     * @param ids идентификаторы задач
+     */
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String sql = "DELETE FROM tasks WHERE id = ANY (?)";
+        jdbcTemplate.update(sql, ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())));
+    }
+
     /**
      * Удаляет все задачи из базы данных.
      */
@@ -119,27 +175,154 @@ public class JdbcTaskRepository implements TaskRepository {
      */
     @Override
     public Optional<TaskEntity> findById(UUID id) {
-        String sql = """
-                SELECT\s
-                    t.id, t.name, t.completed, t.description, t.created_at, t.updated_at,
-                    u.id as owner_id, u.username as owner_username, u.email as owner_email
-                FROM tasks t
-                JOIN users u ON t.owner_id = u.id
-                WHERE t.id = ?
-               \s""";
-        List<TaskEntity> taskEntities = jdbcTemplate.query(sql, taskRowMapper(), id);
+        List<TaskEntity> taskEntities = jdbcTemplate.query(SELECT_TASKS + " WHERE t.id = ?", taskRowMapper(), id);
         return taskEntities.stream().findFirst();
     }
 
+    /**
+     * Находит задачи по их идентификаторам, передавая идентификаторы массивом {@code uuid[]}.
+     *
+     * @param ids идентификаторы задач
+     * @return список найденных задач в произвольном порядке
+     */
+    @Override
+    public List<TaskEntity> findAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_TASKS + " WHERE t.id = ANY (?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                taskRowMapper());
+    }
+
+    /**
+     * Возвращает идентификатор владельца задачи.
+     *
+     * @param id идентификатор задачи
+     * @return объект {@link Optional}, содержащий идентификатор владельца, если задача существует
+     */
+    @Override
+    public Optional<UUID> findOwnerIdById(UUID id) {
+        String sql = "SELECT owner_id FROM tasks WHERE id = ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> rs.getObject("owner_id", UUID.class), id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Возвращает задачи страницы, удовлетворяющие фильтру. При поиске задачи ранжируются
+     * механизмом поиска {@link TaskSearchEngine} в том же порядке, что и в JPA-хранилище.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @param pageable     номер и размер страницы
+     * @return список задач страницы
+     */
+    @Override
+    public List<TaskEntity> findPageContent(TaskFilterModel filter, UUID scopeOwnerId, Pageable pageable) {
+        TaskSqlFilter where = TaskSqlFilter.of(filter, scopeOwnerId);
+        String sql = SELECT_TASKS + where.clause() + where.pageOrder(filter, searchEngine) + " LIMIT ? OFFSET ?";
+        where.args.add(pageable.getPageSize());
+        where.args.add(pageable.getOffset());
+        return jdbcTemplate.query(sql, taskRowMapper(), where.args.toArray());
+    }
+
+    /**
+     * Подсчитывает задачи, удовлетворяющие фильтру.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @return количество задач
+     */
+    @Override
+    public long count(TaskFilterModel filter, UUID scopeOwnerId) {
+        TaskSqlFilter where = TaskSqlFilter.of(filter, scopeOwnerId);
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks t" + where.clause(), Long.class, where.args.toArray());
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Возвращает задачи, расположенные после курсора. Условие курсора записано сравнением строк
+     * {@code (created_at, id) < (?, ?)}, которое PostgreSQL выполняет одним диапазоном индекса.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @param after        курсор или {@code null} для первого среза
+     * @param limit        максимальное количество задач
+     * @return список задач
+     */
+    @Override
+    public List<TaskEntity> findSlice(TaskFilterModel filter, UUID scopeOwnerId, TaskCursor after, int limit) {
+        TaskSqlFilter where = TaskSqlFilter.of(filter, scopeOwnerId);
+        if (after != null) {
+            where.add("(t.created_at, t.id) < (?, ?)", new Timestamp(after.getCreatedAt().getTime()), after.getId());
+        }
+        where.args.add(limit);
+        return jdbcTemplate.query(SELECT_TASKS + where.clause() + TASK_ORDER + " LIMIT ?",
+                taskRowMapper(), where.args.toArray());
+    }
+
+    /**
+     * Передает задачи обработчику, читая их курсором сервера порциями по {@value #EXPORT_FETCH_SIZE} строк.
+     * Курсор сервера в PostgreSQL работает только при выключенном автокоммите,
+     * поэтому метод должен вызываться внутри транзакции.
+     *
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @param consumer     обработчик, вызываемый для каждой задачи
+     */
+    @Override
+    public void exportTo(UUID scopeOwnerId, Consumer<TaskModel> consumer) {
+        Object[] args = scopeOwnerId != null ? new Object[]{scopeOwnerId} : new Object[0];
+        String sql = "SELECT t.id, t.name, t.description, t.completed FROM tasks t"
+                + (scopeOwnerId != null ? " WHERE t.owner_id = ?" : "")
+                + TASK_ORDER;
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            new ArgumentPreparedStatementSetter(args).setValues(ps);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new TaskModel(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getBoolean("completed")
+        )));
+    }
+
+    private void bindInsert(PreparedStatement ps, TaskEntity taskEntity) throws SQLException {
+        ps.setObject(1, taskEntity.getId()); // UUID задачи
+        ps.setString(2, taskEntity.getName()); // Название задачи
+        ps.setBoolean(3, taskEntity.isCompleted()); // Статус выполнения
+        ps.setString(4, taskEntity.getDescription()); // Описание задачи
+        ps.setTimestamp(5, toTimestamp(taskEntity.getCreatedAt())); // Время создания
+        ps.setTimestamp(6, toTimestamp(taskEntity.getUpdatedAt())); // Время обновления
+        ps.setObject(7, taskEntity.getOwner().getId()); // Владелец задачи (owner_id)
+    }
+
+    private void bindUpdate(PreparedStatement ps, TaskEntity taskEntity) throws SQLException {
+        ps.setString(1, taskEntity.getName()); // Название задачи
+        ps.setBoolean(2, taskEntity.isCompleted()); // Статус выполнения
+        ps.setString(3, taskEntity.getDescription()); // Описание задачи
+        ps.setTimestamp(4, toTimestamp(taskEntity.getUpdatedAt())); // Время обновления
+        ps.setObject(5, taskEntity.getOwner().getId()); // Владелец задачи
+        ps.setObject(6, taskEntity.getId()); // UUID задачи
+    }
+
+    private static Timestamp toTimestamp(Date date) {
+        return date != null ? new Timestamp(date.getTime()) : null;
+    }
+
     /**
      * Маппер строк для преобразования данных из результата запроса в объект {@link TaskEntity}.
+     * Владелец задачи заполняется только идентификатором.
      *
      * @return {@link RowMapper} для преобразования строк запроса
      */
     private RowMapper<TaskEntity> taskRowMapper() {
         return (rs, rowNum) -> {
             TaskEntity taskEntity = new TaskEntity();
-            taskEntity.setId(UUID.fromString(rs.getString("id")));
+            taskEntity.setId(rs.getObject("id", UUID.class));
             taskEntity.setName(rs.getString("name"));
             taskEntity.setCompleted(rs.getBoolean("completed"));
             taskEntity.setDescription(rs.getString("description"));
@@ -148,15 +331,12 @@ public class JdbcTaskRepository implements TaskRepository {
             taskEntity.setCreatedAt(rs.getTimestamp("created_at"));
             taskEntity.setUpdatedAt(rs.getTimestamp("updated_at"));
 
-            // Извлечение владельца задачи (UserEntity)
+            // Владелец задачи (UserEntity) без загрузки данных пользователя
             UserEntity owner = new UserEntity();
-            owner.setId(UUID.fromString(rs.getString("owner_id")));
-            owner.setUsername(rs.getString("owner_username"));
-            owner.setEmail(rs.getString("owner_email"));
+            owner.setId(rs.getObject("owner_id", UUID.class));
             taskEntity.setOwner(owner);
 
             return taskEntity;
         };
     }
-
 }
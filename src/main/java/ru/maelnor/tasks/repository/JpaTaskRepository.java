@@ -1,25 +1,49 @@
 package ru.maelnor.tasks.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.TaskModel;
 import ru.maelnor.tasks.projection.TaskSummary;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Репозиторий для управления сущностями {@link TaskEntity} с использованием JPA.
  * Активируется, если свойство "repository.type" установлено в "jpa".
  * Позволяет выполнять CRUD-операции и строить запросы с помощью спецификаций.
- * todo: Найти как использовать проекции в запросах со спецификациями
+ * Списки задач, в том числе по спецификациям ({@link TaskSliceRepository}), читаются в плоскую проекцию
+ * {@link TaskSummary} одним запросом, без загрузки владельцев и их ролей.
  */
 @Repository
 @ConditionalOnProperty(name = "repository.type", havingValue = "jpa", matchIfMissing = true)
-public interface JpaTaskRepository extends JpaRepository<TaskEntity, UUID>, JpaSpecificationExecutor<TaskEntity> {
+public interface JpaTaskRepository extends JpaRepository<TaskEntity, UUID>, JpaSpecificationExecutor<TaskEntity>, TaskSliceRepository, TaskOwnershipRepository {
+
+    /**
+     * Количество строк, получаемых из базы за одно обращение к курсору при выгрузке.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Выражение выборки проекции {@link TaskSummary}, общее для запросов списков задач.
+     */
+    String SUMMARY_SELECT = """
+            SELECT new ru.maelnor.tasks.projection.TaskSummary(
+                t.id, t.name, t.description, t.completed, t.createdAt, t.updatedAt, o.id, o.username)
+            FROM tasks t JOIN t.owner o
+            """;
 
     /**
      * Находит список задач, принадлежащих конкретному пользователю по его идентификатору.
@@ -27,6 +51,7 @@ public interface JpaTaskRepository extends JpaRepository<TaskEntity, UUID>, JpaS
      * @param id идентификатор владельца задачи
      * @return список задач, связанных с данным пользователем
      */
+    @Query(SUMMARY_SELECT + "WHERE o.id = :id")
     List<TaskSummary> findByOwnerId(UUID id);
 
     /**
@@ -34,6 +59,7 @@ public interface JpaTaskRepository extends JpaRepository<TaskEntity, UUID>, JpaS
      *
      * @return список задач в виде проекции {@link TaskSummary}
      */
+    @Query(SUMMARY_SELECT)
     List<TaskSummary> findAllProjectedBy();
 
     /**
@@ -42,5 +68,71 @@ public interface JpaTaskRepository extends JpaRepository<TaskEntity, UUID>, JpaS
      * @param id идентификатор задачи
      * @return задача, завернутая в Optional, в виде проекции {@link TaskSummary}
      */
+    @Query(SUMMARY_SELECT + "WHERE t.id = :id")
     Optional<TaskSummary> findProjectedById(UUID id);
+
+    /**
+     * Находит задачу по идентификатору и блокирует её строку до конца транзакции ({@code SELECT ... FOR UPDATE}).
+     * Изменения одной задачи выполняются по очереди, поэтому события outbox получают идентификаторы
+     * в порядке фиксации транзакций.
+     *
+     * @param id идентификатор задачи
+     * @return задача, завернутая в Optional
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM tasks t WHERE t.id = :id")
+    Optional<TaskEntity> findForUpdateById(UUID id);
+
+    /**
+     * Находит задачи по идентификаторам и блокирует их строки до конца транзакции ({@code SELECT ... FOR UPDATE}).
+     * Строки блокируются в порядке идентификаторов, чтобы параллельные пакетные операции не приводили к взаимной блокировке.
+     *
+     * @param ids идентификаторы задач
+     * @return найденные задачи
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM tasks t WHERE t.id IN :ids ORDER BY t.id")
+    List<TaskEntity> findAllForUpdateById(Collection<UUID> ids);
+
+    /**
+     * Возвращает идентификатор владельца задачи без загрузки самой задачи.
+     *
+     * @param id идентификатор задачи
+     * @return объект {@link Optional}, содержащий идентификатор владельца, если задача существует
+     */
+    @Override
+    @Query("SELECT t.owner.id FROM tasks t WHERE t.id = :id")
+    Optional<UUID> findOwnerIdById(UUID id);
+
+    /**
+     * Возвращает поток всех задач для выгрузки. Строки читаются курсором сервера порциями
+     * по {@value #EXPORT_FETCH_SIZE} и не попадают в контекст персистентности.
+     * Должен вызываться внутри транзакции, поток необходимо закрыть после чтения.
+     *
+     * @return поток задач в виде моделей {@link TaskModel}
+     */
+    @Query("""
+            SELECT new ru.maelnor.tasks.model.TaskModel(t.id, t.name, t.description, t.completed)
+            FROM tasks t
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<TaskModel> streamAllForExport();
+
+    /**
+     * Возвращает поток задач владельца для выгрузки. Строки читаются курсором сервера порциями
+     * по {@value #EXPORT_FETCH_SIZE} и не попадают в контекст персистентности.
+     * Должен вызываться внутри транзакции, поток необходимо закрыть после чтения.
+     *
+     * @param ownerId идентификатор владельца задач
+     * @return поток задач в виде моделей {@link TaskModel}
+     */
+    @Query("""
+            SELECT new ru.maelnor.tasks.model.TaskModel(t.id, t.name, t.description, t.completed)
+            FROM tasks t
+            WHERE t.owner.id = :ownerId
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    Stream<TaskModel> streamByOwnerIdForExport(UUID ownerId);
 }
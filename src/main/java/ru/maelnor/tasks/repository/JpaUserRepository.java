@@ -1,11 +1,12 @@
 package ru.maelnor.tasks.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import ru.maelnor.tasks.entity.UserEntity;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -41,9 +42,33 @@ public interface JpaUserRepository extends JpaRepository<UserEntity, UUID> {
     Boolean existsByEmail(String email);
 
     /**
-     * Список пользователей у которых есть хотя бы одна задача
-     * @return Список пользователей
+     * Возвращает текущую версию токенов доступа пользователя, не загружая пользователя и его роли.
+     *
+     * @param id идентификатор пользователя
+     * @return {@link Optional}, содержащий версию токенов, если пользователь найден
+     */
+    @Query("SELECT u.tokenVersion FROM users u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(UUID id);
+
+    /**
+     * Увеличивает версию токенов доступа пользователя, отзывая все выданные ранее токены.
+     *
+     * @param id идентификатор пользователя
+     * @return количество измененных записей
+     */
+    @Modifying
+    @Query("UPDATE users u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(UUID id);
+
+    /**
+     * Изменяет пароль пользователя, не загружая пользователя и его роли.
+     *
+     * @param id       идентификатор пользователя
+     * @param password закодированный пароль
+     * @return количество измененных записей
      */
-    @Query("SELECT DISTINCT t.owner FROM tasks t WHERE t.owner IS NOT NULL")
-    List<UserEntity> findUsersWithTasks();
+    @Transactional
+    @Modifying
+    @Query("UPDATE users u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(UUID id, String password);
 }
@@ -0,0 +1,210 @@
+package ru.maelnor.tasks.repository;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.model.TaskCursor;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.repository.search.TaskSearchEngine;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Неблокирующий репозиторий чтения задач на R2DBC для API {@code /api/v2/tasks}.
+ * Репозиторий активируется, если свойство {@code app.api.v2.enabled} установлено в {@code true}.
+ * <p>
+ * Подключается к той же базе данных, что и {@code spring.datasource}, через собственный пул соединений R2DBC.
+ * Пул не регистрируется как бин {@link io.r2dbc.spi.ConnectionFactory}: при его наличии Spring Boot отключил бы
+ * автоконфигурацию JDBC-источника данных, на котором работают остальные компоненты приложения.
+ * Условия фильтра и порядок задач берутся из {@link TaskSqlFilter}, как в {@link JdbcTaskRepository};
+ * маркеры {@code ?} заменяются маркерами PostgreSQL {@code $n}.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.api.v2.enabled", havingValue = "true")
+public class ReactiveTaskRepository implements DisposableBean {
+
+    /**
+     * Количество строк, запрашиваемых у базы за одно обращение при потоковом чтении.
+     */
+    public static final int STREAM_FETCH_SIZE = 500;
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+    private final TaskSearchEngine searchEngine;
+
+    /**
+     * @param url          JDBC URL базы данных приложения
+     * @param username     имя пользователя базы данных
+     * @param password     пароль пользователя базы данных
+     * @param maxPoolSize  максимальное количество соединений R2DBC
+     * @param searchEngine механизм поиска, задающий порядок результатов поиска
+     */
+    public ReactiveTaskRepository(@Value("${spring.datasource.url}") String url,
+                                  @Value("${spring.datasource.username}") String username,
+                                  @Value("${spring.datasource.password}") String password,
+                                  @Value("${app.api.v2.pool.max-size:10}") int maxPoolSize,
+                                  TaskSearchEngine searchEngine) {
+        this.searchEngine = searchEngine;
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.replaceFirst("^jdbc:", "r2dbc:"))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxPoolSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * Находит задачу по идентификатору.
+     *
+     * @param id идентификатор задачи
+     * @return задача или пустой {@link Mono}, если задача не найдена
+     */
+    public Mono<TaskEntity> findById(UUID id) {
+        return databaseClient.sql(JdbcTaskRepository.SELECT_TASKS + " WHERE t.id = $1")
+                .bind(0, id)
+                .map(ReactiveTaskRepository::toEntity)
+                .one();
+    }
+
+    /**
+     * Возвращает задачи страницы, удовлетворяющие фильтру, в том же порядке, что и {@link JdbcTaskRepository}:
+     * при поиске задачи ранжируются механизмом поиска {@link TaskSearchEngine}, выбранным для API v1.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @param offset       номер первой задачи страницы
+     * @param limit        размер страницы
+     * @return задачи страницы
+     */
+    public Flux<TaskEntity> findPageContent(TaskFilterModel filter, UUID scopeOwnerId, long offset, int limit) {
+        TaskSqlFilter where = TaskSqlFilter.of(filter, scopeOwnerId);
+        String sql = JdbcTaskRepository.SELECT_TASKS + where.clause() + where.pageOrder(filter, searchEngine) + " LIMIT ? OFFSET ?";
+        where.args.add(limit);
+        where.args.add(offset);
+        return query(sql, where.args).map(ReactiveTaskRepository::toEntity).all();
+    }
+
+    /**
+     * Подсчитывает задачи, удовлетворяющие фильтру.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @return количество задач
+     */
+    public Mono<Long> count(TaskFilterModel filter, UUID scopeOwnerId) {
+        TaskSqlFilter where = TaskSqlFilter.of(filter, scopeOwnerId);
+        return query("SELECT count(*) AS total FROM tasks t" + where.clause(), where.args)
+                .map(row -> row.get("total", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Возвращает задачи, расположенные после курсора.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @param after        курсор или {@code null} для первого среза
+     * @param limit        максимальное количество задач
+     * @return задачи среза
+     */
+    public Flux<TaskEntity> findSlice(TaskFilterModel filter, UUID scopeOwnerId, TaskCursor after, int limit) {
+        TaskSqlFilter where = TaskSqlFilter.of(filter, scopeOwnerId);
+        if (after != null) {
+            where.add("(t.created_at, t.id) < (?, ?)", new Timestamp(after.getCreatedAt().getTime()), after.getId());
+        }
+        where.args.add(limit);
+        return query(JdbcTaskRepository.SELECT_TASKS + where.clause() + JdbcTaskRepository.TASK_ORDER + " LIMIT ?",
+                where.args)
+                .map(ReactiveTaskRepository::toEntity)
+                .all();
+    }
+
+    /**
+     * Читает все задачи, доступные пользователю, порциями по {@value #STREAM_FETCH_SIZE} строк.
+     * Следующая порция запрашивается у базы данных только по запросу подписчика.
+     *
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @return поток задач
+     */
+    public Flux<TaskModel> stream(UUID scopeOwnerId) {
+        String sql = "SELECT t.id, t.name, t.description, t.completed FROM tasks t"
+                + (scopeOwnerId != null ? " WHERE t.owner_id = ?" : "")
+                + JdbcTaskRepository.TASK_ORDER;
+        return query(sql, scopeOwnerId != null ? List.of(scopeOwnerId) : List.of())
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(row -> new TaskModel(
+                        row.get("id", UUID.class),
+                        row.get("name", String.class),
+                        row.get("description", String.class),
+                        Boolean.TRUE.equals(row.get("completed", Boolean.class))))
+                .all();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    /**
+     * Создает запрос, заменяя маркеры {@code ?} маркерами PostgreSQL {@code $n} и привязывая значения по порядку.
+     * Значения {@link Timestamp} привязываются как {@link LocalDateTime}, как их читает JDBC-драйвер.
+     */
+    private DatabaseClient.GenericExecuteSpec query(String sql, List<Object> args) {
+        StringBuilder indexed = new StringBuilder(sql.length() + args.size());
+        int marker = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                indexed.append('$').append(++marker);
+            } else {
+                indexed.append(c);
+            }
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(indexed.toString());
+        for (int i = 0; i < args.size(); i++) {
+            Object value = args.get(i);
+            spec = spec.bind(i, value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value);
+        }
+        return spec;
+    }
+
+    private static TaskEntity toEntity(Readable row) {
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(row.get("id", UUID.class));
+        taskEntity.setName(row.get("name", String.class));
+        taskEntity.setCompleted(Boolean.TRUE.equals(row.get("completed", Boolean.class)));
+        taskEntity.setDescription(row.get("description", String.class));
+        taskEntity.setCreatedAt(toDate(row.get("created_at", LocalDateTime.class)));
+        taskEntity.setUpdatedAt(toDate(row.get("updated_at", LocalDateTime.class)));
+
+        // Владелец задачи (UserEntity) без загрузки данных пользователя
+        UserEntity owner = new UserEntity();
+        owner.setId(row.get("owner_id", UUID.class));
+        taskEntity.setOwner(owner);
+        return taskEntity;
+    }
+
+    private static Date toDate(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
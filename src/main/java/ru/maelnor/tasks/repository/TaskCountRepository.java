@@ -0,0 +1,99 @@
+package ru.maelnor.tasks.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Репозиторий дешевых подсчетов задач: счетчиков владельцев из таблицы {@code task_counts},
+ * которую поддерживают триггеры таблицы {@code tasks}, и оценки планировщика.
+ * Использует {@link JdbcTemplate} и поэтому работает как с JPA-, так и с JDBC-хранилищем задач.
+ */
+@Repository
+public class TaskCountRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Конструктор, принимающий {@link JdbcTemplate} для работы с базой данных.
+     *
+     * @param jdbcTemplate объект для выполнения SQL-запросов
+     */
+    public TaskCountRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Возвращает количество задач владельца по счетчику.
+     *
+     * @param ownerId   идентификатор владельца
+     * @param completed состояние задач или {@code null} для всех задач
+     * @return количество задач
+     */
+    public long countByOwner(UUID ownerId, Boolean completed) {
+        List<long[]> counts = jdbcTemplate.query(
+                "SELECT total, completed FROM task_counts WHERE owner_id = ?",
+                (rs, rowNum) -> new long[]{rs.getLong("total"), rs.getLong("completed")},
+                ownerId);
+        if (counts.isEmpty()) {
+            return 0;
+        }
+        long total = counts.get(0)[0];
+        long done = counts.get(0)[1];
+        if (completed == null) {
+            return total;
+        }
+        return completed ? done : total - done;
+    }
+
+    /**
+     * Возвращает оценку количества строк таблицы задач по статистике планировщика.
+     * Оценка обновляется автоочисткой и {@code ANALYZE} и может отставать от фактического количества.
+     *
+     * @return оценка или {@code -1}, если статистика еще не собрана
+     */
+    public long estimateTasks() {
+        Long estimate = jdbcTemplate.queryForObject(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = 'tasks'::regclass", Long.class);
+        return estimate != null ? estimate : -1;
+    }
+
+    /**
+     * Возвращает имена всех владельцев, у которых есть хотя бы одна задача.
+     * Читает счетчики владельцев, а не таблицу задач, поэтому стоимость зависит только от количества владельцев.
+     *
+     * @return имена пользователей по их идентификаторам
+     */
+    public Map<UUID, String> findOwners() {
+        Map<UUID, String> owners = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT u.id, u.username
+                        FROM task_counts c
+                        JOIN users u ON u.id = c.owner_id
+                        WHERE c.total > 0""",
+                rs -> {
+                    owners.put(rs.getObject("id", UUID.class), rs.getString("username"));
+                });
+        return owners;
+    }
+
+    /**
+     * Возвращает имя пользователя, если у него есть хотя бы одна задача.
+     *
+     * @param ownerId идентификатор пользователя
+     * @return имя пользователя или пустой {@link Optional}, если задач у пользователя нет
+     */
+    public Optional<String> findOwnerName(UUID ownerId) {
+        return jdbcTemplate.queryForList("""
+                        SELECT u.username
+                        FROM task_counts c
+                        JOIN users u ON u.id = c.owner_id
+                        WHERE c.owner_id = ? AND c.total > 0""",
+                String.class, ownerId).stream().findFirst();
+    }
+}
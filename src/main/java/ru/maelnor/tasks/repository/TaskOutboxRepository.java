@@ -0,0 +1,132 @@
+package ru.maelnor.tasks.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.dto.kafka.TaskStatus;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Репозиторий таблицы {@code task_outbox}, в которой события задач ожидают отправки в Kafka.
+ * Использует {@link JdbcTemplate} и поэтому работает в одной транзакции как с JPA-, так и с JDBC-хранилищем задач.
+ */
+@Repository
+public class TaskOutboxRepository {
+
+    /**
+     * Ключ рекомендательной блокировки PostgreSQL, которую удерживает ретранслятор на время выгрузки пакета.
+     */
+    private static final long RELAY_LOCK_KEY = 0x7461736b5f6f7574L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Конструктор, принимающий {@link JdbcTemplate} для работы с базой данных.
+     *
+     * @param jdbcTemplate объект для выполнения SQL-запросов
+     */
+    public TaskOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Событие, ожидающее отправки.
+     *
+     * @param id      порядковый номер события
+     * @param message сообщение для Kafka
+     */
+    public record Entry(long id, KafkaTaskMessage message) {
+    }
+
+    /**
+     * Сводка по неотправленным событиям.
+     *
+     * @param pending количество событий
+     * @param lag     возраст самого старого события или {@link Duration#ZERO}, если очередь пуста
+     */
+    public record Backlog(long pending, Duration lag) {
+    }
+
+    /**
+     * Добавляет события пакетом.
+     *
+     * @param messages сообщения для отправки
+     */
+    public void append(Collection<KafkaTaskMessage> messages) {
+        String sql = "INSERT INTO task_outbox (task_id, owner_id, status, name, description, completed, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.batchUpdate(sql, messages, messages.size(), (ps, message) -> {
+            ps.setObject(1, message.getId());
+            ps.setObject(2, message.getOwnerId());
+            ps.setString(3, message.getStatus().name());
+            ps.setString(4, message.getName());
+            ps.setString(5, message.getDescription());
+            ps.setBoolean(6, message.isCompleted());
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    /**
+     * Пытается захватить блокировку ретранслятора до конца текущей транзакции.
+     * Гарантирует, что события выгружает только один экземпляр приложения, и их порядок сохраняется.
+     *
+     * @return {@code true}, если блокировка захвачена
+     */
+    public boolean tryLockRelay() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RELAY_LOCK_KEY));
+    }
+
+    /**
+     * Возвращает самые старые события в порядке их записи.
+     *
+     * @param limit максимальное количество событий
+     * @return список событий
+     */
+    public List<Entry> findBatch(int limit) {
+        String sql = "SELECT id, task_id, owner_id, status, name, description, completed FROM task_outbox ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new Entry(
+                rs.getLong("id"),
+                new KafkaTaskMessage(
+                        rs.getObject("task_id", UUID.class),
+                        rs.getString("name"),
+                        rs.getString("description"),
+                        rs.getBoolean("completed"),
+                        TaskStatus.valueOf(rs.getString("status")),
+                        rs.getObject("owner_id", UUID.class)
+                )
+        ), limit);
+    }
+
+    /**
+     * Удаляет отправленные события. Удаление идет по перечню идентификаторов, а не по диапазону:
+     * транзакция с меньшим номером события может зафиксироваться позже.
+     *
+     * @param ids идентификаторы отправленных событий
+     */
+    public void deleteAllById(Collection<Long> ids) {
+        jdbcTemplate.update("DELETE FROM task_outbox WHERE id = ANY (?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    /**
+     * Возвращает количество неотправленных событий и возраст самого старого из них.
+     *
+     * @return сводка по очереди
+     */
+    public Backlog backlog() {
+        return jdbcTemplate.queryForObject("SELECT count(*) AS pending, min(created_at) AS oldest FROM task_outbox",
+                (rs, rowNum) -> {
+                    Timestamp oldest = rs.getTimestamp("oldest");
+                    Duration lag = oldest != null ? Duration.between(oldest.toInstant(), Instant.now()) : Duration.ZERO;
+                    return new Backlog(rs.getLong("pending"), lag.isNegative() ? Duration.ZERO : lag);
+                });
+    }
+}
@@ -0,0 +1,19 @@
+package ru.maelnor.tasks.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Общий для JPA- и JDBC-хранилища интерфейс получения владельца задачи.
+ * Используется при проверке прав доступа, когда сама задача не нужна.
+ */
+public interface TaskOwnershipRepository {
+
+    /**
+     * Возвращает идентификатор владельца задачи.
+     *
+     * @param id идентификатор задачи
+     * @return объект {@link Optional}, содержащий идентификатор владельца, если задача существует
+     */
+    Optional<UUID> findOwnerIdById(UUID id);
+}
@@ -1,16 +1,24 @@
 package ru.maelnor.tasks.repository;
 
+import org.springframework.data.domain.Pageable;
 import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.TaskCursor;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Общий интерфейс для управления сущностями {@link TaskEntity}.
  * Определяет методы для выполнения CRUD-операций над задачами.
+ * Параметр {@code scopeOwnerId} в методах выборки ограничивает область видимости задачами одного владельца;
+ * значение {@code null} означает доступ ко всем задачам.
  */
-public interface TaskRepository {
+public interface TaskRepository extends TaskOwnershipRepository {
 
     /**
      * Возвращает список всех задач.
@@ -19,6 +27,14 @@ public interface TaskRepository {
      */
     List<TaskEntity> findAll();
 
+    /**
+     * Возвращает список задач владельца.
+     *
+     * @param ownerId идентификатор владельца задач
+     * @return список сущностей {@link TaskEntity}
+     */
+    List<TaskEntity> findByOwnerId(UUID ownerId);
+
     /**
      * Сохраняет новую задачу.
      *
@@ -26,6 +42,13 @@ public interface TaskRepository {
      */
     void save(TaskEntity taskEntity);
 
+    /**
+     * Сохраняет новые задачи пакетом.
+     *
+     * @param taskEntities сущности задач для сохранения
+     */
+    void saveAll(Collection<TaskEntity> taskEntities);
+
     /**
      * Обновляет существующую задачу.
      *
@@ -33,6 +56,13 @@ public interface TaskRepository {
      */
     void update(TaskEntity taskEntity);
 
+    /**
+     * Обновляет существующие задачи пакетом.
+     *
+     * @param taskEntities сущности задач для обновления
+     */
+    void updateAll(Collection<TaskEntity> taskEntities);
+
     /**
      * Удаляет задачу по её идентификатору.
      *
@@ -40,6 +70,13 @@ public interface TaskRepository {
      */
     void delete(UUID id);
 
+    /**
+     * Удаляет задачи по их идентификаторам.
+     *
+     * @param ids идентификаторы задач
+     */
+    void deleteAllById(Collection<UUID> ids);
+
     /**
      * Удаляет все задачи.
      */
@@ -52,4 +89,53 @@ public interface TaskRepository {
      * @return объект {@link Optional}, содержащий найденную задачу, если она существует
      */
     Optional<TaskEntity> findById(UUID id);
+
+    /**
+     * Находит задачи по их идентификаторам одним запросом.
+     *
+     * @param ids идентификаторы задач
+     * @return список найденных задач в произвольном порядке
+     */
+    List<TaskEntity> findAllById(Collection<UUID> ids);
+
+    /**
+     * Возвращает задачи страницы, удовлетворяющие фильтру, в порядке {@code (created_at DESC, id DESC)}
+     * или по релевантности, если задана строка поиска. Общее количество задач не подсчитывается.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @param pageable     номер и размер страницы
+     * @return список задач страницы
+     */
+    List<TaskEntity> findPageContent(TaskFilterModel filter, UUID scopeOwnerId, Pageable pageable);
+
+    /**
+     * Подсчитывает задачи, удовлетворяющие фильтру.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @return количество задач
+     */
+    long count(TaskFilterModel filter, UUID scopeOwnerId);
+
+    /**
+     * Возвращает задачи, удовлетворяющие фильтру и расположенные после курсора
+     * в порядке {@code (created_at DESC, id DESC)}.
+     *
+     * @param filter       параметры фильтрации
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @param after        курсор или {@code null} для первого среза
+     * @param limit        максимальное количество задач
+     * @return список задач
+     */
+    List<TaskEntity> findSlice(TaskFilterModel filter, UUID scopeOwnerId, TaskCursor after, int limit);
+
+    /**
+     * Последовательно передает задачи обработчику, читая их курсором сервера.
+     * Должен вызываться внутри транзакции.
+     *
+     * @param scopeOwnerId владелец, которым ограничена выборка, или {@code null}
+     * @param consumer     обработчик, вызываемый для каждой задачи
+     */
+    void exportTo(UUID scopeOwnerId, Consumer<TaskModel> consumer);
 }
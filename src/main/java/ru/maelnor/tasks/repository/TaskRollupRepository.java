@@ -0,0 +1,86 @@
+package ru.maelnor.tasks.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import ru.maelnor.tasks.model.TaskDailyStats;
+import ru.maelnor.tasks.model.TaskOwnerStats;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Репозиторий сводной таблицы {@code task_daily_stats}: количество созданных, завершенных и удаленных задач
+ * по владельцу и дню. Таблицу поддерживают триггеры таблицы {@code tasks} в транзакции изменения
+ * (отмена завершения вычитается из дня завершения, сохраненного в {@code tasks.completed_at}),
+ * поэтому отчеты читают только сводные строки и не зависят от размера таблицы задач.
+ * Задачи, созданные до установки триггеров, учтены миграцией, которая их устанавливает.
+ * Использует {@link JdbcTemplate} и поэтому работает как с JPA-, так и с JDBC-хранилищем задач.
+ */
+@Repository
+public class TaskRollupRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Конструктор, принимающий {@link JdbcTemplate} для работы с базой данных.
+     *
+     * @param jdbcTemplate объект для выполнения SQL-запросов
+     */
+    public TaskRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Возвращает количество событий по дням периода. Дни без событий не возвращаются.
+     *
+     * @param from    первый день периода
+     * @param to      последний день периода
+     * @param ownerId владелец задач или {@code null} для всех владельцев
+     * @return количество событий по дням в порядке возрастания дня
+     */
+    public List<TaskDailyStats> findDaily(LocalDate from, LocalDate to, UUID ownerId) {
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        StringBuilder sql = new StringBuilder("""
+                SELECT day, sum(created) AS created, sum(completed) AS completed, sum(deleted) AS deleted
+                FROM task_daily_stats
+                WHERE day BETWEEN ? AND ?
+                """);
+        if (ownerId != null) {
+            sql.append(" AND owner_id = ?");
+            args.add(ownerId);
+        }
+        sql.append(" GROUP BY day ORDER BY day");
+        return jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> new TaskDailyStats(
+                        rs.getDate("day").toLocalDate(),
+                        rs.getLong("created"),
+                        rs.getLong("completed"),
+                        rs.getLong("deleted")),
+                args.toArray());
+    }
+
+    /**
+     * Возвращает количество событий за период по владельцам. Владельцы без событий не возвращаются.
+     *
+     * @param from первый день периода
+     * @param to   последний день периода
+     * @return количество событий по владельцам в порядке убывания количества созданных задач
+     */
+    public List<TaskOwnerStats> findByOwner(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("""
+                        SELECT owner_id, sum(created) AS created, sum(completed) AS completed, sum(deleted) AS deleted
+                        FROM task_daily_stats
+                        WHERE day BETWEEN ? AND ?
+                        GROUP BY owner_id
+                        ORDER BY created DESC, owner_id""",
+                (rs, rowNum) -> new TaskOwnerStats(
+                        rs.getObject("owner_id", UUID.class),
+                        rs.getLong("created"),
+                        rs.getLong("completed"),
+                        rs.getLong("deleted")),
+                Date.valueOf(from), Date.valueOf(to));
+    }
+}
@@ -0,0 +1,38 @@
+package ru.maelnor.tasks.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.projection.TaskSummary;
+
+import java.util.List;
+
+/**
+ * Дополнение к {@link JpaTaskRepository} для выборки задач ограниченными срезами.
+ * В отличие от {@code findAll(Specification, Pageable)} не выполняет запрос {@code count};
+ * срезы без смещения позволяют строить навигацию по курсору.
+ * Задачи читаются в плоскую проекцию {@link TaskSummary} одним запросом с соединением по владельцу.
+ */
+public interface TaskSliceRepository {
+
+    /**
+     * Возвращает не более {@code limit} задач, удовлетворяющих спецификации, в заданном порядке.
+     *
+     * @param specification спецификация для фильтрации задач
+     * @param sort          порядок сортировки
+     * @param limit         максимальное количество задач в результате
+     * @return список задач в виде проекции {@link TaskSummary}
+     */
+    List<TaskSummary> findSlice(Specification<TaskEntity> specification, Sort sort, int limit);
+
+    /**
+     * Возвращает задачи страницы, удовлетворяющие спецификации, без подсчета общего количества.
+     * Если порядок страницы не задан, сохраняется порядок, заданный самой спецификацией.
+     *
+     * @param specification спецификация для фильтрации задач
+     * @param pageable      номер, размер и порядок страницы
+     * @return список задач страницы в виде проекции {@link TaskSummary}
+     */
+    List<TaskSummary> findContent(Specification<TaskEntity> specification, Pageable pageable);
+}
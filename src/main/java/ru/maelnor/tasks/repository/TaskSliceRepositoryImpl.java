@@ -0,0 +1,68 @@
+package ru.maelnor.tasks.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.projection.TaskSummary;
+
+import java.util.List;
+
+/**
+ * Реализация {@link TaskSliceRepository} на основе Criteria API.
+ * Подключается Spring Data к {@link JpaTaskRepository} как фрагмент репозитория.
+ */
+public class TaskSliceRepositoryImpl implements TaskSliceRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSummary> findSlice(Specification<TaskEntity> specification, Sort sort, int limit) {
+        return entityManager.createQuery(createQuery(specification, sort))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<TaskSummary> findContent(Specification<TaskEntity> specification, Pageable pageable) {
+        return entityManager.createQuery(createQuery(specification, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private CriteriaQuery<TaskSummary> createQuery(Specification<TaskEntity> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = criteriaBuilder.createQuery(TaskSummary.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        Join<TaskEntity, UserEntity> owner = root.join("owner");
+        query.select(criteriaBuilder.construct(TaskSummary.class,
+                root.get("id"),
+                root.get("name"),
+                root.get("description"),
+                root.get("completed"),
+                root.get("createdAt"),
+                root.get("updatedAt"),
+                owner.get("id"),
+                owner.get("username")));
+
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+        return query;
+    }
+}
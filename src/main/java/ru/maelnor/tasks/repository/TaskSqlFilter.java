@@ -0,0 +1,69 @@
+package ru.maelnor.tasks.repository;
+
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.repository.search.TaskSearchEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Условие {@code WHERE}, собранное из параметров фильтра, и значения его параметров в порядке маркеров {@code ?}.
+ * Условия совпадают со спецификацией {@link ru.maelnor.tasks.repository.specification.TaskSpecification#withFilter}.
+ * Используется JDBC- и R2DBC-репозиториями задач, чтобы фильтр имел в них одинаковый смысл.
+ */
+final class TaskSqlFilter {
+    private final StringJoiner conditions = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+    final List<Object> args = new ArrayList<>();
+
+    static TaskSqlFilter of(TaskFilterModel filter, UUID scopeOwnerId) {
+        TaskSqlFilter sqlFilter = new TaskSqlFilter();
+        if (scopeOwnerId != null) {
+            sqlFilter.add("t.owner_id = ?", scopeOwnerId);
+        }
+        if (filter.getName() != null && !filter.getName().isEmpty()) {
+            sqlFilter.add("t.name LIKE ?", "%" + filter.getName() + "%");
+        }
+        if (filter.getCompleted() != null) {
+            sqlFilter.add("t.completed = ?", filter.getCompleted());
+        }
+        if (filter.getOwnerId() != null) {
+            sqlFilter.add("t.owner_id = ?", filter.getOwnerId());
+        }
+        if (hasSearch(filter)) {
+            String pattern = TaskSearchEngine.containsPattern(filter.getSearch());
+            sqlFilter.add("(t.name ILIKE ? OR t.description ILIKE ?)", pattern, pattern);
+        }
+        return sqlFilter;
+    }
+
+    void add(String condition, Object... values) {
+        conditions.add(condition);
+        args.addAll(List.of(values));
+    }
+
+    String clause() {
+        return conditions.toString();
+    }
+
+    /**
+     * Возвращает порядок задач страницы и добавляет его параметры. При поиске задачи ранжируются
+     * механизмом поиска, выбранным свойством {@code app.search.engine}, так же, как в JPA-хранилище.
+     * Вызывается после {@link #clause()}, чтобы параметры шли в порядке маркеров.
+     *
+     * @param filter       параметры фильтрации
+     * @param searchEngine механизм поиска приложения
+     * @return фрагмент {@code ORDER BY}
+     */
+    String pageOrder(TaskFilterModel filter, TaskSearchEngine searchEngine) {
+        if (!hasSearch(filter)) {
+            return JdbcTaskRepository.TASK_ORDER;
+        }
+        return searchEngine.sqlOrder(filter.getSearch(), args);
+    }
+
+    private static boolean hasSearch(TaskFilterModel filter) {
+        return filter.getSearch() != null && !filter.getSearch().isBlank();
+    }
+}
@@ -0,0 +1,61 @@
+package ru.maelnor.tasks.repository.search;
+
+import jakarta.persistence.criteria.Expression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import ru.maelnor.tasks.entity.TaskEntity;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Переносимая реализация поиска задач без расширений СУБД.
+ * Используется для баз данных без {@code pg_trgm}, например встроенных in-memory баз в тестах.
+ * Выполняет регистронезависимый поиск через {@code lower(...) LIKE} и ранжирует результаты:
+ * точное совпадение имени, совпадение начала имени, вхождение в имя, вхождение только в описание.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "simple")
+public class SimpleTaskSearchEngine implements TaskSearchEngine {
+
+    @Override
+    public Specification<TaskEntity> search(String search) {
+        return (root, query, criteriaBuilder) -> {
+            String term = search.toLowerCase(Locale.ROOT);
+            String pattern = TaskSearchEngine.containsPattern(term);
+            // Тот же шаблон без ведущего '%' — совпадение с началом строки
+            String prefixPattern = pattern.substring(1);
+            Expression<String> name = criteriaBuilder.lower(root.get("name"));
+            Expression<String> description = criteriaBuilder.lower(root.get("description"));
+
+            Expression<Integer> rank = criteriaBuilder.<Integer>selectCase()
+                    .when(criteriaBuilder.equal(name, term), 0)
+                    .when(criteriaBuilder.like(name, prefixPattern, '\\'), 1)
+                    .when(criteriaBuilder.like(name, pattern, '\\'), 2)
+                    .otherwise(3);
+
+            query.orderBy(
+                    criteriaBuilder.asc(rank),
+                    criteriaBuilder.desc(root.get("createdAt")),
+                    criteriaBuilder.desc(root.get("id"))
+            );
+
+            return criteriaBuilder.or(
+                    criteriaBuilder.like(name, pattern, '\\'),
+                    criteriaBuilder.like(description, pattern, '\\')
+            );
+        };
+    }
+
+    @Override
+    public String sqlOrder(String search, List<Object> args) {
+        String term = search.toLowerCase(Locale.ROOT);
+        String pattern = TaskSearchEngine.containsPattern(term);
+        args.add(term);
+        args.add(pattern.substring(1));
+        args.add(pattern);
+        return " ORDER BY CASE WHEN lower(t.name) = ? THEN 0 WHEN lower(t.name) LIKE ? THEN 1"
+                + " WHEN lower(t.name) LIKE ? THEN 2 ELSE 3 END, t.created_at DESC, t.id DESC";
+    }
+}
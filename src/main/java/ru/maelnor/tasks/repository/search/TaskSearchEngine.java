@@ -0,0 +1,47 @@
+package ru.maelnor.tasks.repository.search;
+
+import org.springframework.data.jpa.domain.Specification;
+import ru.maelnor.tasks.entity.TaskEntity;
+
+import java.util.List;
+
+/**
+ * Механизм поиска задач по подстроке в имени и описании.
+ * Реализация выбирается свойством {@code app.search.engine}.
+ */
+public interface TaskSearchEngine {
+
+    /**
+     * Создает спецификацию, отбирающую задачи, имя или описание которых содержит строку поиска.
+     * Спецификация также задает порядок выдачи по релевантности; он применяется,
+     * если запрос не содержит собственной сортировки.
+     *
+     * @param search строка поиска
+     * @return спецификация поиска с ранжированием
+     */
+    Specification<TaskEntity> search(String search);
+
+    /**
+     * Возвращает фрагмент {@code ORDER BY} SQL-запроса к задачам с псевдонимом {@code t}, ранжирующий результаты
+     * поиска так же, как {@link #search(String)}, и добавляет значения его маркеров {@code ?} к параметрам запроса.
+     * Используется JDBC- и R2DBC-репозиториями задач, чтобы порядок поиска не зависел от хранилища.
+     *
+     * @param search строка поиска
+     * @param args   параметры запроса, к которым добавляются параметры порядка
+     * @return фрагмент {@code ORDER BY}
+     */
+    String sqlOrder(String search, List<Object> args);
+
+    /**
+     * Экранирует служебные символы шаблона LIKE и оборачивает строку для поиска по подстроке.
+     *
+     * @param search строка поиска
+     * @return шаблон вида {@code %search%}
+     */
+    static String containsPattern(String search) {
+        return "%" + search
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
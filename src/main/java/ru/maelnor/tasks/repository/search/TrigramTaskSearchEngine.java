@@ -0,0 +1,54 @@
+package ru.maelnor.tasks.repository.search;
+
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import ru.maelnor.tasks.entity.TaskEntity;
+
+import java.util.List;
+
+/**
+ * Поиск задач средствами PostgreSQL и расширения {@code pg_trgm}.
+ * Условие {@code ILIKE '%строка%'} обслуживается GIN-индексами по триграммам на колонках
+ * {@code name} и {@code description}, результаты ранжируются функцией {@code similarity}:
+ * сначала по совпадению с именем, затем с описанием.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "trigram", matchIfMissing = true)
+public class TrigramTaskSearchEngine implements TaskSearchEngine {
+
+    @Override
+    public Specification<TaskEntity> search(String search) {
+        return (root, query, criteriaBuilder) -> {
+            HibernateCriteriaBuilder builder = (HibernateCriteriaBuilder) criteriaBuilder;
+            Expression<String> name = root.get("name");
+            Expression<String> description = root.get("description");
+            String pattern = TaskSearchEngine.containsPattern(search);
+
+            // similarity(NULL, ...) возвращает NULL, а NULL при DESC в PostgreSQL идет первым
+            query.orderBy(
+                    builder.desc(builder.function("similarity", Float.class,
+                            builder.coalesce(name, ""), builder.literal(search))),
+                    builder.desc(builder.function("similarity", Float.class,
+                            builder.coalesce(description, ""), builder.literal(search))),
+                    builder.desc(root.get("createdAt")),
+                    builder.desc(root.get("id"))
+            );
+
+            return builder.or(
+                    builder.ilike(name, pattern, '\\'),
+                    builder.ilike(description, pattern, '\\')
+            );
+        };
+    }
+
+    @Override
+    public String sqlOrder(String search, List<Object> args) {
+        args.add(search);
+        args.add(search);
+        return " ORDER BY similarity(coalesce(t.name, ''), ?) DESC, similarity(coalesce(t.description, ''), ?) DESC,"
+                + " t.created_at DESC, t.id DESC";
+    }
+}
@@ -3,8 +3,10 @@ package ru.maelnor.tasks.repository.specification;
 import org.springframework.data.jpa.domain.Specification;
 import ru.maelnor.tasks.dto.filter.TaskFilterDto;
 import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.TaskCursor;
 import ru.maelnor.tasks.model.TaskFilterModel;
 
+import java.util.Date;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -69,4 +71,21 @@ public interface TaskSpecification {
     static Specification<TaskEntity> ownedBy(UUID ownerId) {
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("owner").get("id"), ownerId);
     }
+
+    /**
+     * Создает спецификацию для выборки задач, расположенных после курсора
+     * в порядке сортировки {@code (created_at DESC, id DESC)}.
+     *
+     * @param cursor позиция последней задачи предыдущей страницы
+     * @return спецификация, отбирающая задачи строго после курсора
+     */
+    static Specification<TaskEntity> after(TaskCursor cursor) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.<Date>get("createdAt"), cursor.getCreatedAt()),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                        criteriaBuilder.lessThan(root.<UUID>get("id"), cursor.getId())
+                )
+        );
+    }
 }
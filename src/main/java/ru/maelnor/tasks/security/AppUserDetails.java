@@ -30,6 +30,15 @@ public class AppUserDetails implements UserDetails, CustomUserDetails {
         return user.getId();
     }
 
+    /**
+     * Возвращает версию токенов доступа пользователя.
+     *
+     * @return версия токенов
+     */
+    public int getTokenVersion() {
+        return user.getTokenVersion();
+    }
+
     /**
      * Возвращает email пользователя.
      *
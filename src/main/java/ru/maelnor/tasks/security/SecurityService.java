@@ -35,6 +35,7 @@ public class SecurityService {
     private final RefreshTokenService refreshTokenService;
     private final JpaUserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
 
     /**
      * Аутентифицирует пользователя на основе данных из запроса на вход и возвращает JWT токен и refresh токен.
@@ -100,19 +101,20 @@ public class SecurityService {
                 .map(userId -> {
                     UserEntity tokenOwner = userRepository.findById(userId).orElseThrow(()
                             -> new RefreshTokenException(MessageFormat.format("Ошибка получения токена для userId: {0}", userId)));
-                    String token = jwtUtils.generateTokenFromUserName(tokenOwner.getUsername());
+                    String token = jwtUtils.generateToken(new AppUserDetails(tokenOwner));
                     return new RefreshTokenResponse(token, refreshTokenService.createRefreshToken(userId).getRefreshToken());
                 }).orElseThrow(() -> new RefreshTokenException(refreshToken, "Refresh token не найден"));
     }
 
     /**
-     * Выполняет выход пользователя, удаляя его refresh токены.
+     * Выполняет выход пользователя, удаляя его refresh токены и отзывая выданные access токены.
      */
     public void logout() {
         var currentPrincipal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
         if (currentPrincipal instanceof AppUserDetails userDetails) {
             UUID userId = userDetails.getId();
             refreshTokenService.deleteByUserId(userId);
+            tokenVersionService.revoke(userId);
         }
     }
 }
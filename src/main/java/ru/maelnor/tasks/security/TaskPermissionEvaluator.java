@@ -2,10 +2,8 @@ package ru.maelnor.tasks.security;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import ru.maelnor.tasks.entity.TaskEntity;
 import ru.maelnor.tasks.exception.TaskNotFoundException;
-import ru.maelnor.tasks.repository.JpaTaskRepository;
-import ru.maelnor.tasks.repository.TaskRepository;
+import ru.maelnor.tasks.repository.TaskOwnershipRepository;
 import ru.maelnor.tasks.service.CurrentUserService;
 
 import java.util.UUID;
@@ -13,7 +11,7 @@ import java.util.UUID;
 /**
  * Компонент для проверки прав доступа к задачам.
  *
- * @see TaskRepository
+ * @see TaskOwnershipRepository
  * @see CurrentUserService
  * @see ru.maelnor.tasks.entity.TaskEntity
  * @see ru.maelnor.tasks.exception.TaskNotFoundException
@@ -22,7 +20,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TaskPermissionEvaluator {
 
-    private final JpaTaskRepository taskRepository;
+    private final TaskOwnershipRepository taskRepository;
     private final CurrentUserService currentUserService;
 
     /**
@@ -34,8 +32,8 @@ public class TaskPermissionEvaluator {
      * @throws TaskNotFoundException если задача с заданным идентификатором не найдена
      */
     public boolean isTaskOwner(UUID taskId) {
-        TaskEntity taskEntity = taskRepository.findById(taskId)
+        UUID ownerId = taskRepository.findOwnerIdById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException(taskId));
-        return taskEntity.getOwner().getId().equals(currentUserService.getCurrentUser().getId());
+        return ownerId.equals(currentUserService.getCurrentUser().getId());
     }
 }
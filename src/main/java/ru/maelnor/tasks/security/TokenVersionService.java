@@ -0,0 +1,87 @@
+package ru.maelnor.tasks.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maelnor.tasks.cache.AdministeredCaches;
+import ru.maelnor.tasks.cache.LocalCacheFactory;
+import ru.maelnor.tasks.config.ThreadMode;
+import ru.maelnor.tasks.repository.JpaUserRepository;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Сервис проверки и отзыва версий токенов доступа.
+ * Версия токенов пользователя хранится в таблице {@code users} и кэшируется локально на короткое время,
+ * поэтому проверка токена обычно не обращается к базе данных, а отзыв на другом узле
+ * вступает в силу не позже, чем через время жизни записи кэша.
+ */
+@Service
+public class TokenVersionService implements AdministeredCaches {
+
+    private final JpaUserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final Cache<UUID, Integer> versions;
+
+    /**
+     * @param userRepository   репозиторий пользователей
+     * @param userDetailsCache кэш данных пользователей, содержащих версию токенов
+     * @param cacheTtl         время жизни версии токенов в локальном кэше
+     * @param virtualThreads   включены ли виртуальные потоки; определяет способ загрузки версии
+     */
+    public TokenVersionService(JpaUserRepository userRepository,
+                               UserDetailsCache userDetailsCache,
+                               @Value("${app.jwt.versionCacheTtl:10s}") Duration cacheTtl,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.versions = LocalCacheFactory.build(Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(cacheTtl)
+                .recordStats(), ThreadMode.of(virtualThreads));
+    }
+
+    /**
+     * Проверяет, что токен с указанной версией не отозван.
+     *
+     * @param userId  идентификатор пользователя
+     * @param version версия из токена
+     * @return {@code true}, если пользователь существует и версия совпадает с текущей
+     */
+    public boolean isCurrent(UUID userId, int version) {
+        Integer current = versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(null));
+        return current != null && current == version;
+    }
+
+    @Override
+    public Map<String, Cache<?, ?>> caches() {
+        return Map.of("tokenVersions", versions);
+    }
+
+    /**
+     * Отзывает все выданные пользователю токены доступа.
+     * Данные пользователя сбрасываются из {@link UserDetailsCache}, чтобы новые токены получили новую версию.
+     * Оба кэша сбрасываются после фиксации транзакции: иначе параллельная проверка токена
+     * успела бы снова закэшировать прежнюю версию, прочитанную до фиксации.
+     *
+     * @param userId идентификатор пользователя
+     */
+    @Transactional
+    public void revoke(UUID userId) {
+        userRepository.incrementTokenVersion(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.invalidate(userId);
+            }
+        });
+        // Сам регистрирует сброс после фиксации текущей транзакции
+        userDetailsCache.invalidate(userId);
+    }
+}
@@ -0,0 +1,162 @@
+package ru.maelnor.tasks.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maelnor.tasks.cache.AdministeredCaches;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Локальный кэш данных пользователей для аутентификации по имени пользователя.
+ * Данные хранятся по идентификатору, а индекс имен ссылается на идентификатор, поэтому сброс по идентификатору
+ * не просматривает весь кэш и действует и после смены имени пользователя.
+ * Записи сбрасываются при изменении пользователя; сообщение о сбросе рассылается остальным узлам
+ * через канал Redis {@value #INVALIDATION_CHANNEL}.
+ */
+@Slf4j
+@Component
+public class UserDetailsCache implements MessageListener, AdministeredCaches {
+
+    /**
+     * Канал Redis, через который узлы сообщают друг другу идентификаторы измененных пользователей.
+     */
+    public static final String INVALIDATION_CHANNEL = "user-details-invalidation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, UUID> byUsername;
+    private final Cache<UUID, AppUserDetails> byId;
+    /**
+     * Счетчик сбросов. Загрузка, во время которой произошел сброс, не оставляет свой результат в кэше:
+     * данные могли быть прочитаны до фиксации изменения пользователя.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param redisTemplate шаблон для рассылки сообщений о сбросе
+     * @param meterRegistry реестр метрик, в котором публикуется статистика попаданий и промахов
+     * @param maximumSize   максимальное количество пользователей в каждом из индексов кэша
+     * @param ttl           время жизни записи, ограничивающее устаревание при потере сообщения о сбросе
+     */
+    public UserDetailsCache(StringRedisTemplate redisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.security.user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.byUsername = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        this.byId = Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "userDetails", "index", "username");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "userDetails", "index", "id");
+    }
+
+    /**
+     * Возвращает данные пользователя по имени, загружая их при промахе.
+     * Если во время загрузки данные пользователей были сброшены, результат возвращается, но не кэшируется.
+     *
+     * @param username имя пользователя
+     * @param loader   загрузка пользователя из базы данных
+     * @return данные пользователя, если он найден
+     */
+    public Optional<AppUserDetails> getByUsername(String username, Function<String, Optional<AppUserDetails>> loader) {
+        UUID id = byUsername.getIfPresent(username);
+        if (id != null) {
+            AppUserDetails cached = byId.getIfPresent(id);
+            // Имя могло перейти к другому пользователю, тогда индекс устарел
+            if (cached != null && cached.getUsername().equals(username)) {
+                return Optional.of(cached);
+            }
+        }
+        long loadGeneration = generation.get();
+        Optional<AppUserDetails> loaded = loader.apply(username);
+        loaded.ifPresent(userDetails -> {
+            byId.put(userDetails.getId(), userDetails);
+            byUsername.put(username, userDetails.getId());
+            // Сброс увеличивает счетчик до удаления записей, поэтому сброс, совпавший с загрузкой,
+            // либо удалит записи сам, либо будет замечен здесь
+            if (generation.get() != loadGeneration) {
+                byId.asMap().remove(userDetails.getId(), userDetails);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Сбрасывает данные пользователя на этом и остальных узлах.
+     * Внутри транзакции сброс выполняется после её фиксации, чтобы параллельный запрос
+     * не успел снова закэшировать прежние данные.
+     *
+     * @param id идентификатор измененного пользователя
+     */
+    public void invalidate(UUID id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateEverywhere(id);
+                }
+            });
+        } else {
+            invalidateEverywhere(id);
+        }
+    }
+
+    /**
+     * Сбрасывает все записи на этом узле.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        byUsername.invalidateAll();
+        byId.invalidateAll();
+    }
+
+    @Override
+    public Map<String, Cache<?, ?>> caches() {
+        return Map.of("userDetails.username", byUsername, "userDetails.id", byId);
+    }
+
+    /**
+     * Обрабатывает сообщение о сбросе, полученное от другого узла.
+     *
+     * @param message сообщение с идентификатором пользователя
+     * @param pattern канал, на который подписан слушатель
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            evictLocal(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Некорректное сообщение о сбросе кэша пользователей: {}", e.getMessage());
+        }
+    }
+
+    private void invalidateEverywhere(UUID id) {
+        evictLocal(id);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, id.toString());
+        } catch (RuntimeException e) {
+            // Остальные узлы сбросят запись по истечении её времени жизни
+            log.warn("Не удалось разослать сброс кэша пользователя {}: {}", id, e.getMessage());
+        }
+    }
+
+    private void evictLocal(UUID id) {
+        generation.incrementAndGet();
+        // Запись индекса имен без данных пользователя считается промахом, поэтому её можно не удалять
+        byId.invalidate(id);
+    }
+}
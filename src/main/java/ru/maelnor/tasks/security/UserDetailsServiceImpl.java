@@ -5,13 +5,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.repository.JpaUserRepository;
 
 import java.text.MessageFormat;
 
 /**
  * Реализация {@link UserDetailsService}, которая загружает данные пользователя из базы данных.
+ * Загруженные данные хранятся в {@link UserDetailsCache} до изменения пользователя.
  * Используется для аутентификации пользователей в Spring Security.
  */
 @Service
@@ -19,6 +19,7 @@ import java.text.MessageFormat;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final JpaUserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Загружает данные пользователя по имени пользователя (username).
@@ -29,9 +30,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        UserEntity user = userRepository
-                .findByUsername(username)
+        return userDetailsCache
+                .getByUsername(username, key -> userRepository.findByUsername(key).map(AppUserDetails::new))
                 .orElseThrow(() -> new UsernameNotFoundException(MessageFormat.format("Пользователь {0} не найден", username)));
-        return new AppUserDetails(user);
     }
 }
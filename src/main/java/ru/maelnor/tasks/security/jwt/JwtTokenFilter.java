@@ -1,5 +1,6 @@
 package ru.maelnor.tasks.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,19 +10,29 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
-import ru.maelnor.tasks.security.UserDetailsServiceImpl;
+import ru.maelnor.tasks.security.AppUserDetails;
+import ru.maelnor.tasks.security.TokenVersionService;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Фильтр для проверки JWT токенов при каждом запросе.
  * Реализует логику аутентификации пользователей на основе токена, если он валидный.
+ * Данные пользователя берутся из утверждений токена; база данных не используется,
+ * кроме проверки версии токенов, результат которой кэшируется {@link TokenVersionService}.
  * Работает как фильтр, который выполняется один раз на каждый запрос {@link OncePerRequestFilter}.
+ * <p>
+ * Фильтр не выполняется при асинхронной диспетчеризации, которой завершаются запросы, возвращающие
+ * {@code Mono}, {@code Flux} или {@code DeferredResult}. Поэтому установленный контекст безопасности сохраняется
+ * в атрибуте запроса: при асинхронной диспетчеризации его загружает {@code SecurityContextHolderFilter},
+ * и проверка доступа не отклоняет запрос, аутентифицированный по токену.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -29,7 +40,8 @@ import java.io.IOException;
 public class JwtTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
     /**
      * Основной метод фильтрации запросов, который извлекает JWT токен, проверяет его валидность и аутентифицирует пользователя.
@@ -44,16 +56,20 @@ public class JwtTokenFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwtToken = getToken(request);
-            if (jwtToken != null && jwtUtils.validate(jwtToken)) {
-                String username = jwtUtils.getUsername(jwtToken);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Optional<Claims> claims = jwtToken != null ? jwtUtils.parse(jwtToken) : Optional.empty();
+            if (claims.isPresent()) {
+                AppUserDetails userDetails = jwtUtils.toUserDetails(claims.get());
+                if (tokenVersionService.isCurrent(userDetails.getId(), userDetails.getTokenVersion())) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // Устанавливает аутентификацию в SecurityContext
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    // Устанавливает аутентификацию в SecurityContext
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    securityContextRepository.saveContext(SecurityContextHolder.getContext(), request, response);
+                } else {
+                    log.debug("Токен пользователя {} отозван", userDetails.getUsername());
+                }
             }
         } catch (Exception e) {
             log.error("Невозможно выполнить аутентификацию пользователя: {}", e.getMessage());
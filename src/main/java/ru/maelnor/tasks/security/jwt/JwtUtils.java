@@ -3,20 +3,34 @@ package ru.maelnor.tasks.security.jwt;
 import io.jsonwebtoken.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import ru.maelnor.tasks.entity.RoleType;
+import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.security.AppUserDetails;
 
 import java.time.Duration;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Утилитный класс для работы с JWT токенами.
- * Позволяет генерировать, извлекать информацию и валидировать JWT токены.
+ * Позволяет генерировать токены, содержащие идентификатор, роли и версию токенов пользователя,
+ * проверять их и восстанавливать из них данные пользователя без обращения к базе данных.
  */
 @Component
 @Slf4j
 public class JwtUtils {
 
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${app.jwt.secret}")
     private String secret;
 
@@ -30,44 +44,29 @@ public class JwtUtils {
      * @return сгенерированный JWT токен
      */
     public String generateToken(AppUserDetails userDetails) {
-        return generateTokenFromUserName(userDetails.getUsername());
-    }
-
-    /**
-     * Генерирует JWT токен на основе имени пользователя.
-     *
-     * @param username имя пользователя
-     * @return сгенерированный JWT токен
-     */
-    public String generateTokenFromUserName(String username) {
+        Date now = new Date();
         return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(new Date().getTime() + tokenExpiration.toMillis()))
+                .setSubject(userDetails.getUsername())
+                .claim(CLAIM_USER_ID, userDetails.getId().toString())
+                .claim(CLAIM_EMAIL, userDetails.getEmail())
+                .claim(CLAIM_ROLES, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(CLAIM_TOKEN_VERSION, userDetails.getTokenVersion())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + tokenExpiration.toMillis()))
                 .signWith(SignatureAlgorithm.HS512, secret)
                 .compact();
     }
 
     /**
-     * Извлекает имя пользователя из JWT токена.
-     *
-     * @param token JWT токен
-     * @return имя пользователя, извлеченное из токена
-     */
-    public String getUsername(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody().getSubject();
-    }
-
-    /**
-     * Валидирует JWT токен. Проверяет его подпись, формат и срок действия.
+     * Разбирает JWT токен, проверяя его подпись, формат и срок действия.
+     * Токен разбирается один раз, и все данные берутся из полученных утверждений.
      *
      * @param token JWT токен
-     * @return {@code true}, если токен валидный, иначе {@code false}
+     * @return утверждения токена или пустой {@link Optional}, если токен невалидный
      */
-    public boolean validate(String token) {
+    public Optional<Claims> parse(String token) {
         try {
-            Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
-            return true;
+            return Optional.of(Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody());
         } catch (SignatureException e) {
             log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -79,6 +78,34 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Восстанавливает данные пользователя из утверждений токена.
+     * Пароль в токене не хранится, поэтому у полученного объекта он отсутствует.
+     *
+     * @param claims утверждения проверенного токена
+     * @return данные пользователя {@link AppUserDetails}
+     * @throws IllegalArgumentException если в токене нет идентификатора пользователя или версии токенов
+     */
+    public AppUserDetails toUserDetails(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        if (userId == null || tokenVersion == null) {
+            throw new IllegalArgumentException("Токен не содержит данных пользователя");
+        }
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        Set<RoleType> roleTypes = roles == null ? Set.of() : roles.stream()
+                .map(role -> RoleType.valueOf(role.toString()))
+                .collect(Collectors.toSet());
+
+        return new AppUserDetails(UserEntity.builder()
+                .id(UUID.fromString(userId))
+                .username(claims.getSubject())
+                .email(claims.get(CLAIM_EMAIL, String.class))
+                .roles(roleTypes)
+                .tokenVersion(tokenVersion)
+                .build());
     }
 }
@@ -0,0 +1,145 @@
+package ru.maelnor.tasks.service;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import ru.maelnor.tasks.cache.AdministeredCaches;
+import ru.maelnor.tasks.cache.TwoLevelCache;
+import ru.maelnor.tasks.dto.cache.CacheResizeRequest;
+import ru.maelnor.tasks.exception.CacheNotFoundException;
+import ru.maelnor.tasks.model.CacheInfo;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Сервис администрирования кэшей приложения: просмотр статистики, изменение размера
+ * и времени жизни локальных кэшей во время работы и очистка кэшей.
+ * Помимо кэшей менеджера доступны локальные кэши компонентов {@link AdministeredCaches}
+ * (данные пользователей, версии токенов).
+ * Размер и время жизни меняются только на узле, обработавшем запрос, и действуют до его перезапуска:
+ * изменения не рассылаются остальным узлам, поэтому запрос нужно повторить на каждом узле.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheAdminService {
+
+    private final CacheManager cacheManager;
+    private final List<AdministeredCaches> administeredCaches;
+
+    /**
+     * Возвращает состояние всех кэшей менеджера и кэшей компонентов.
+     *
+     * @return список состояний кэшей
+     */
+    public List<CacheInfo> getCaches() {
+        return Stream.concat(cacheManager.getCacheNames().stream(), componentCaches().keySet().stream())
+                .map(this::getCache)
+                .toList();
+    }
+
+    /**
+     * Возвращает состояние кэша.
+     *
+     * @param name имя кэша
+     * @return состояние кэша
+     * @throws CacheNotFoundException если кэш не найден
+     */
+    public CacheInfo getCache(String name) {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> local = findLocalCache(name);
+        CacheStats stats = local.stats();
+        Policy<?, ?> policy = local.policy();
+        return CacheInfo.builder()
+                .name(name)
+                .type(managedCache(name) instanceof TwoLevelCache ? "layered" : "local")
+                .estimatedSize(local.estimatedSize())
+                .maximumSize(policy.eviction().map(Policy.Eviction::getMaximum).orElse(null))
+                .expireAfterWriteSeconds(policy.expireAfterWrite()
+                        .map(expiration -> expiration.getExpiresAfter(TimeUnit.SECONDS))
+                        .orElse(null))
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadSuccessCount(stats.loadSuccessCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+
+    /**
+     * Изменяет максимальный размер и время жизни записей локального кэша.
+     * При уменьшении размера лишние записи вытесняются сразу.
+     *
+     * @param name    имя кэша
+     * @param request новые параметры кэша
+     * @return состояние кэша после изменения
+     * @throws CacheNotFoundException если кэш не найден
+     */
+    public CacheInfo resize(String name, CacheResizeRequest request) {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> local = findLocalCache(name);
+        Policy<?, ?> policy = local.policy();
+        if (request.getMaximumSize() != null) {
+            policy.eviction().ifPresent(eviction -> eviction.setMaximum(request.getMaximumSize()));
+        }
+        if (request.getExpireAfterWriteSeconds() != null) {
+            policy.expireAfterWrite().ifPresent(expiration ->
+                    expiration.setExpiresAfter(Duration.ofSeconds(request.getExpireAfterWriteSeconds())));
+        }
+        local.cleanUp();
+        log.info("Параметры кэша {} изменены: максимальный размер {}, время жизни {} с",
+                name, request.getMaximumSize(), request.getExpireAfterWriteSeconds());
+        return getCache(name);
+    }
+
+    /**
+     * Очищает кэш. Двухуровневый кэш очищается также в Redis и в локальном уровне остальных узлов,
+     * кэши компонентов — только на этом узле.
+     *
+     * @param name имя кэша
+     * @throws CacheNotFoundException если кэш не найден
+     */
+    public void clear(String name) {
+        Cache cache = managedCache(name);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            findLocalCache(name).invalidateAll();
+        }
+        log.info("Кэш {} очищен", name);
+    }
+
+    private Cache managedCache(String name) {
+        return cacheManager.getCacheNames().contains(name) ? cacheManager.getCache(name) : null;
+    }
+
+    /**
+     * И {@link org.springframework.cache.caffeine.CaffeineCache}, и {@link TwoLevelCache}
+     * возвращают в качестве внутреннего кэша локальный кэш Caffeine.
+     */
+    private com.github.benmanes.caffeine.cache.Cache<?, ?> findLocalCache(String name) {
+        Cache cache = managedCache(name);
+        com.github.benmanes.caffeine.cache.Cache<?, ?> local = cache != null
+                ? (com.github.benmanes.caffeine.cache.Cache<?, ?>) cache.getNativeCache()
+                : componentCaches().get(name);
+        if (local == null) {
+            throw new CacheNotFoundException(name);
+        }
+        return local;
+    }
+
+    private Map<String, com.github.benmanes.caffeine.cache.Cache<?, ?>> componentCaches() {
+        Map<String, com.github.benmanes.caffeine.cache.Cache<?, ?>> caches = new LinkedHashMap<>();
+        administeredCaches.forEach(component -> caches.putAll(component.caches()));
+        return caches;
+    }
+}
@@ -3,54 +3,81 @@ package ru.maelnor.tasks.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.maelnor.tasks.dto.TaskDto;
-import ru.maelnor.tasks.dto.filter.TaskFilterDto;
+import ru.maelnor.tasks.cache.TaskOwnerDirectory;
+import ru.maelnor.tasks.cache.TaskWriteVersions;
 import ru.maelnor.tasks.dto.kafka.TaskStatus;
 import ru.maelnor.tasks.entity.TaskEntity;
 import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.exception.TaskNotFoundException;
+import ru.maelnor.tasks.model.KeysetSlice;
+import ru.maelnor.tasks.model.TaskBatchResult;
+import ru.maelnor.tasks.model.TaskBatchStatus;
+import ru.maelnor.tasks.model.TaskCountStrategy;
+import ru.maelnor.tasks.model.TaskCursor;
 import ru.maelnor.tasks.model.TaskFilterModel;
 import ru.maelnor.tasks.model.TaskModel;
 import ru.maelnor.tasks.repository.JpaUserRepository;
 import ru.maelnor.tasks.repository.TaskRepository;
 import ru.maelnor.tasks.security.CustomUserDetails;
-import ru.maelnor.tasks.service.kafka.TaskProducer;
+import ru.maelnor.tasks.service.kafka.TaskOutboxService;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Реализация интерфейса {@link TaskService}, использующая JDBC для работы с задачами.
- * Этот класс помечен как устаревший, так как использует JDBC, и рекомендуется переходить на JPA.
- * @todo: добавить реализацию
+ * Все операции выполняются написанными вручную SQL-запросами через {@link TaskRepository}
+ * без контекста персистентности и кэширования задач; сервис активируется, если свойство
+ * "repository.type" установлено в "jdbc". Изменения задач увеличивают версии {@link TaskWriteVersions},
+ * поэтому общее количество задач может браться из общего для узлов кэша.
  */
 @Service
 @ConditionalOnProperty(name = "repository.type", havingValue = "jdbc")
-@Deprecated
 @RequiredArgsConstructor
 public class JdbcTaskService implements TaskService {
 
     private final TaskRepository taskRepository;
-    private final TaskProducer taskProducer;
+    private final TaskOutboxService taskOutbox;
     private final CurrentUserService currentUserService;
     private final JpaUserRepository userRepository;
+    private final TaskWriteVersions taskWriteVersions;
+    private final TaskOwnerDirectory taskOwnerDirectory;
+    private final TaskCountService taskCountService;
 
     /**
-     * Возвращает список всех задач.
+     * Возвращает список всех задач в зависимости от ролей пользователя (администратор, менеджер или владелец).
      *
      * @return список задач в виде моделей {@link TaskModel}
      */
     @Override
     public List<TaskModel> getAllTasks() {
-        return null;
+        UUID scopeOwnerId = scopeOf(currentUserService.getCurrentUser());
+        List<TaskEntity> tasks = scopeOwnerId == null
+                ? taskRepository.findAll()
+                : taskRepository.findByOwnerId(scopeOwnerId);
+        return tasks.stream()
+                .map(taskMapper::toModel)
+                .toList();
     }
 
     /**
-     * Добавляет новую задачу и отправляет сообщение в Kafka о её создании.
+     * Добавляет новую задачу и записывает событие о её создании в outbox.
      *
      * @param taskModel данные задачи для создания
      * @return созданная задача в виде модели {@link TaskModel}
@@ -58,49 +85,305 @@ public class JdbcTaskService implements TaskService {
     @Override
     @Transactional
     public TaskModel addTask(TaskModel taskModel) {
-        return null;
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        if (!userRepository.existsById(user.getId())) {
+            throw new AccessDeniedException("Недостаточно прав для добавления задачи");
+        }
+        UserEntity owner = new UserEntity();
+        owner.setId(user.getId());
+
+        Date now = new Date();
+        TaskEntity taskEntity = taskMapper.toEntity(taskModel);
+        taskEntity.setId(UUID.randomUUID());
+        taskEntity.setCreatedAt(now);
+        taskEntity.setUpdatedAt(now);
+        taskEntity.setOwner(owner);
+        taskRepository.save(taskEntity);
+        taskWriteVersions.bump(List.of(owner.getId()));
+        taskOwnerDirectory.taskAdded(owner.getId());
+
+        taskOutbox.enqueue(taskEntity, TaskStatus.NEW);
+        return taskMapper.toModel(taskEntity);
     }
 
     /**
-     * Обновляет существующую задачу и отправляет сообщение в Kafka о её обновлении.
+     * Обновляет существующую задачу и записывает событие о её обновлении в outbox.
+     * Владелец задачи не меняется.
      *
      * @param taskModel данные задачи для обновления
      */
     @Override
     @Transactional
     public TaskModel updateTask(TaskModel taskModel) {
-        return null;
+        TaskEntity taskEntity = taskRepository.findById(taskModel.getId())
+                .orElseThrow(() -> new TaskNotFoundException(taskModel.getId()));
+        CustomUserDetails user = currentUserService.getCurrentUser();
+
+        if (user.isAdmin() || taskEntity.getOwner().getId().equals(user.getId())) {
+            taskEntity.setName(taskModel.getName());
+            taskEntity.setDescription(taskModel.getDescription());
+            taskEntity.setCompleted(taskModel.isCompleted());
+            taskEntity.setUpdatedAt(new Date());
+            taskRepository.update(taskEntity);
+            taskWriteVersions.bump(List.of(taskEntity.getOwner().getId()));
+
+            taskOutbox.enqueue(taskEntity, TaskStatus.UPDATED);
+            return taskMapper.toModel(taskEntity);
+        } else {
+            throw new AccessDeniedException("Недостаточно прав для обновления задачи");
+        }
     }
 
     /**
-     * Удаляет задачу по её идентификатору и отправляет сообщение в Kafka о её удалении.
+     * Удаляет задачу по её идентификатору и записывает событие о её удалении в outbox.
      *
      * @param id идентификатор задачи
      */
     @Override
     @Transactional
     public void deleteTask(UUID id) {
+        TaskEntity taskEntity = taskRepository.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        if (user.isAdmin() || taskEntity.getOwner().getId().equals(user.getId())) {
+            taskRepository.delete(id);
+            taskWriteVersions.bump(List.of(taskEntity.getOwner().getId()));
+            taskOwnerDirectory.tasksRemoved(List.of(taskEntity.getOwner().getId()));
+            taskOutbox.enqueue(taskEntity, TaskStatus.DELETED);
+        } else {
+            throw new AccessDeniedException("Недостаточно прав для удаления задачи");
+        }
     }
 
     /**
-     * Возвращает задачу по её идентификатору, если она существует.
+     * Возвращает задачу по её идентификатору, если у пользователя есть доступ.
      *
      * @param id идентификатор задачи
      * @return объект {@link Optional}, содержащий задачу в виде модели {@link TaskModel}
      */
     @Override
     public Optional<TaskModel> getTaskById(UUID id) {
-        return Optional.empty();
+        Optional<TaskEntity> taskEntityOptional = taskRepository.findById(id);
+        if (taskEntityOptional.isEmpty()) {
+            return Optional.empty();
+        }
+
+        TaskEntity taskEntity = taskEntityOptional.get();
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        if (user.isAdmin() || user.isManager() || taskEntity.getOwner().getId().equals(user.getId())) {
+            return Optional.of(taskMapper.toModel(taskEntity));
+        } else {
+            throw new AccessDeniedException("Недостаточно прав для просмотра задачи");
+        }
+    }
+
+    /**
+     * Фильтрует задачи на основе параметров фильтрации с постраничной навигацией по номеру страницы.
+     * Общее количество задач подсчитывает {@link TaskCountService}, и только если оно не следует из размера страницы.
+     *
+     * @param filter        объект фильтрации {@link TaskFilterModel}
+     * @param countStrategy способ подсчета общего количества задач
+     * @return страница задач {@link Page}, удовлетворяющих критериям фильтрации
+     */
+    @Override
+    public Page<TaskModel> filterBy(TaskFilterModel filter, TaskCountStrategy countStrategy) {
+        UUID scopeOwnerId = scopeOf(currentUserService.getCurrentUser());
+        Pageable pageable = PageRequest.of(
+                filter.getPageNumber() != null ? filter.getPageNumber() : 0,
+                pageSizeOf(filter)
+        );
+        List<TaskEntity> content = taskRepository.findPageContent(filter, scopeOwnerId, pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> taskCountService.count(
+                        filter, scopeOwnerId, countStrategy, () -> taskRepository.count(filter, scopeOwnerId)))
+                .map(taskMapper::toModel);
     }
 
     /**
-     * Фильтрация задач (заглушка).
+     * Возвращает версию результатов фильтра из {@link TaskWriteVersions} для области видимости пользователя.
      *
      * @param filter объект фильтрации {@link TaskFilterModel}
-     * @return null (метод еще не реализован)
+     * @return версия или {@code null}, если получить её не удалось
+     */
+    @Override
+    public String filterVersion(TaskFilterModel filter) {
+        return taskWriteVersions.key(filter, scopeOf(currentUserService.getCurrentUser()));
+    }
+
+    /**
+     * Фильтрует задачи с навигацией по курсору. Запрашивает на одну задачу больше размера страницы,
+     * чтобы определить наличие следующего среза без запроса {@code count}.
+     *
+     * @param filter объект фильтрации {@link TaskFilterModel}, содержащий курсор
+     * @return срез задач {@link KeysetSlice}, удовлетворяющих критериям фильтрации
+     */
+    @Override
+    public KeysetSlice<TaskModel> filterByCursor(TaskFilterModel filter) {
+        UUID scopeOwnerId = scopeOf(currentUserService.getCurrentUser());
+        int pageSize = pageSizeOf(filter);
+        TaskCursor after = filter.getCursor() != null && !filter.getCursor().isEmpty()
+                ? TaskCursor.decode(filter.getCursor())
+                : null;
+
+        List<TaskEntity> entities = taskRepository.findSlice(filter, scopeOwnerId, after, pageSize + 1);
+        String nextCursor = null;
+        if (entities.size() > pageSize) {
+            entities = entities.subList(0, pageSize);
+            nextCursor = TaskCursor.of(entities.get(pageSize - 1)).encode();
+        }
+
+        List<TaskModel> tasks = entities.stream()
+                .map(taskMapper::toModel)
+                .toList();
+        return new KeysetSlice<>(tasks, PageRequest.of(0, pageSize, TASK_ORDER), nextCursor);
+    }
+
+    /**
+     * Передает обработчику все задачи, доступные пользователю, читая их курсором сервера.
+     *
+     * @param consumer обработчик, вызываемый для каждой задачи
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<TaskModel> consumer) {
+        taskRepository.exportTo(scopeOf(currentUserService.getCurrentUser()), consumer);
+    }
+
+    /**
+     * Создает задачи одним пакетом JDBC; существование владельца проверяется один раз,
+     * события записываются в outbox одним пакетом.
+     *
+     * @param taskModels данные создаваемых задач
+     * @return результаты в порядке элементов запроса
      */
     @Override
-    public Page<TaskModel> filterBy(TaskFilterModel filter) {
-        return null;
+    @Transactional
+    public List<TaskBatchResult> addTasks(List<TaskModel> taskModels) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        if (!userRepository.existsById(user.getId())) {
+            throw new AccessDeniedException("Недостаточно прав для добавления задачи");
+        }
+        UserEntity owner = new UserEntity();
+        owner.setId(user.getId());
+
+        Date now = new Date();
+        List<TaskEntity> entities = taskModels.stream()
+                .map(taskModel -> {
+                    TaskEntity taskEntity = taskMapper.toEntity(taskModel);
+                    taskEntity.setId(UUID.randomUUID());
+                    taskEntity.setCreatedAt(now);
+                    taskEntity.setUpdatedAt(now);
+                    taskEntity.setOwner(owner);
+                    return taskEntity;
+                })
+                .toList();
+        taskRepository.saveAll(entities);
+        taskWriteVersions.bump(List.of(owner.getId()));
+        taskOwnerDirectory.taskAdded(owner.getId());
+
+        taskOutbox.enqueueAll(entities, TaskStatus.NEW);
+        List<TaskModel> created = entities.stream().map(taskMapper::toModel).toList();
+        return IntStream.range(0, created.size())
+                .mapToObj(index -> TaskBatchResult.applied(index, TaskBatchStatus.CREATED, created.get(index)))
+                .toList();
+    }
+
+    /**
+     * Обновляет задачи одним пакетом JDBC; все задачи загружаются одним запросом.
+     *
+     * @param taskModels обновленные данные задач
+     * @return результаты в порядке элементов запроса
+     */
+    @Override
+    @Transactional
+    public List<TaskBatchResult> updateTasks(List<TaskModel> taskModels) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        List<UUID> ids = taskModels.stream().map(TaskModel::getId).toList();
+        Set<UUID> duplicateIds = TaskBatchResult.duplicateIds(ids);
+        Map<UUID, TaskEntity> found = findAllById(ids);
+
+        Date now = new Date();
+        List<TaskBatchResult> results = new ArrayList<>(taskModels.size());
+        List<TaskEntity> updated = new ArrayList<>();
+        for (int index = 0; index < taskModels.size(); index++) {
+            TaskModel taskModel = taskModels.get(index);
+            TaskEntity taskEntity = taskModel.getId() != null ? found.get(taskModel.getId()) : null;
+            if (duplicateIds.contains(taskModel.getId())) {
+                results.add(TaskBatchResult.rejected(index, taskModel.getId(), TaskBatchStatus.DUPLICATE));
+            } else if (taskEntity == null) {
+                results.add(TaskBatchResult.rejected(index, taskModel.getId(), TaskBatchStatus.NOT_FOUND));
+            } else if (!user.isAdmin() && !taskEntity.getOwner().getId().equals(user.getId())) {
+                results.add(TaskBatchResult.rejected(index, taskModel.getId(), TaskBatchStatus.FORBIDDEN));
+            } else {
+                taskEntity.setName(taskModel.getName());
+                taskEntity.setDescription(taskModel.getDescription());
+                taskEntity.setCompleted(taskModel.isCompleted());
+                taskEntity.setUpdatedAt(now);
+                results.add(TaskBatchResult.applied(index, TaskBatchStatus.UPDATED, taskMapper.toModel(taskEntity)));
+                updated.add(taskEntity);
+            }
+        }
+        taskRepository.updateAll(updated);
+        taskWriteVersions.bump(updated.stream().map(taskEntity -> taskEntity.getOwner().getId()).toList());
+
+        taskOutbox.enqueueAll(updated, TaskStatus.UPDATED);
+        return results;
+    }
+
+    /**
+     * Удаляет задачи одним оператором {@code DELETE}; все задачи загружаются одним запросом.
+     *
+     * @param ids идентификаторы задач
+     * @return результаты в порядке элементов запроса
+     */
+    @Override
+    @Transactional
+    public List<TaskBatchResult> deleteTasks(List<UUID> ids) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        Set<UUID> duplicateIds = TaskBatchResult.duplicateIds(ids);
+        Map<UUID, TaskEntity> found = findAllById(ids);
+
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        List<TaskEntity> deleted = new ArrayList<>();
+        for (int index = 0; index < ids.size(); index++) {
+            UUID id = ids.get(index);
+            TaskEntity taskEntity = found.get(id);
+            if (duplicateIds.contains(id)) {
+                results.add(TaskBatchResult.rejected(index, id, TaskBatchStatus.DUPLICATE));
+            } else if (taskEntity == null) {
+                results.add(TaskBatchResult.rejected(index, id, TaskBatchStatus.NOT_FOUND));
+            } else if (!user.isAdmin() && !taskEntity.getOwner().getId().equals(user.getId())) {
+                results.add(TaskBatchResult.rejected(index, id, TaskBatchStatus.FORBIDDEN));
+            } else {
+                results.add(TaskBatchResult.applied(index, TaskBatchStatus.DELETED, taskMapper.toModel(taskEntity)));
+                deleted.add(taskEntity);
+            }
+        }
+        taskRepository.deleteAllById(deleted.stream().map(TaskEntity::getId).toList());
+        taskWriteVersions.bump(deleted.stream().map(taskEntity -> taskEntity.getOwner().getId()).toList());
+        taskOwnerDirectory.tasksRemoved(deleted.stream().map(taskEntity -> taskEntity.getOwner().getId()).toList());
+
+        taskOutbox.enqueueAll(deleted, TaskStatus.DELETED);
+        return results;
+    }
+
+    private Map<UUID, TaskEntity> findAllById(List<UUID> ids) {
+        List<UUID> existingIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return taskRepository.findAllById(existingIds).stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+    }
+
+    /**
+     * Определяет область видимости пользователя: администраторы и менеджеры видят все задачи,
+     * остальные пользователи — только свои.
+     *
+     * @param user текущий пользователь
+     * @return идентификатор владельца, которым ограничена выборка, или {@code null}
+     */
+    private static UUID scopeOf(CustomUserDetails user) {
+        return user.isAdmin() || user.isManager() ? null : user.getId();
+    }
+
+    private static int pageSizeOf(TaskFilterModel filter) {
+        return filter.getPageSize() != null ? filter.getPageSize() : 10;
     }
 }
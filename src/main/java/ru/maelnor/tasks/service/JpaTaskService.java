@@ -2,41 +2,62 @@ package ru.maelnor.tasks.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.BeanUtils;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.maelnor.tasks.dto.TaskDto;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.maelnor.tasks.cache.TaskOwnerDirectory;
+import ru.maelnor.tasks.cache.TaskPageCache;
+import ru.maelnor.tasks.cache.TaskWriteVersions;
+import ru.maelnor.tasks.cache.TwoLevelCache;
 import ru.maelnor.tasks.dto.kafka.TaskStatus;
 import ru.maelnor.tasks.entity.TaskEntity;
 import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.exception.TaskNotFoundException;
+import ru.maelnor.tasks.model.KeysetSlice;
+import ru.maelnor.tasks.model.TaskBatchResult;
+import ru.maelnor.tasks.model.TaskBatchStatus;
+import ru.maelnor.tasks.model.TaskCacheEntry;
+import ru.maelnor.tasks.model.TaskCountStrategy;
+import ru.maelnor.tasks.model.TaskCursor;
 import ru.maelnor.tasks.model.TaskFilterModel;
 import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.projection.TaskSummary;
 import ru.maelnor.tasks.repository.JpaTaskRepository;
 import ru.maelnor.tasks.repository.JpaUserRepository;
+import ru.maelnor.tasks.repository.search.TaskSearchEngine;
 import ru.maelnor.tasks.repository.specification.TaskSpecification;
 import ru.maelnor.tasks.security.CustomUserDetails;
-import ru.maelnor.tasks.service.kafka.TaskProducer;
+import ru.maelnor.tasks.service.kafka.TaskOutboxService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Сервис для работы с задачами, использующий базу данных для хранения и управления задачами.
- * Поддерживает операции с кэшированием и отправкой сообщений в Kafka.
+ * Поддерживает операции с кэшированием; события задач записываются в outbox в той же транзакции.
+ * Кэш задач изменяется только после фиксации транзакции: двухуровневый кэш не участвует в транзакциях,
+ * а запись в Redis сразу видна всем узлам.
  */
 @Service
 @ConditionalOnProperty(name = "repository.type", havingValue = "jpa", matchIfMissing = true )
@@ -47,9 +68,14 @@ public class JpaTaskService implements TaskService {
 
     private final JpaTaskRepository taskRepository;
     private final CacheManager cacheManager;
-    private final TaskProducer taskProducer;
+    private final TaskPageCache taskPageCache;
+    private final TaskWriteVersions taskWriteVersions;
+    private final TaskOwnerDirectory taskOwnerDirectory;
+    private final TaskCountService taskCountService;
+    private final TaskOutboxService taskOutbox;
     private final CurrentUserService currentUserService;
     private final JpaUserRepository userRepository;
+    private final TaskSearchEngine taskSearchEngine;
 
     /**
      * Возвращает список всех задач в зависимости от ролей пользователя (администратор, менеджер или владелец).
@@ -59,91 +85,101 @@ public class JpaTaskService implements TaskService {
      */
     @Override
     public List<TaskModel> getAllTasks() {
-        List<TaskModel> tasks;
+        List<TaskCacheEntry> entries;
         CustomUserDetails user = currentUserService.getCurrentUser();
         if (user.isAdmin() || user.isManager()) {
-            tasks = taskRepository.findAllProjectedBy().stream()
-                    .map(taskMapper::toModel)
+            entries = taskRepository.findAllProjectedBy().stream()
+                    .map(taskMapper::toCacheEntry)
                     .toList();
         } else {
-            tasks = taskRepository.findByOwnerId(user.getId()).stream()
-                    .map(taskMapper::toModel)
+            entries = taskRepository.findByOwnerId(user.getId()).stream()
+                    .map(taskMapper::toCacheEntry)
                     .toList();
         }
 
-        var cache = cacheManager.getCache("tasks");
-        if (cache != null) {
-            tasks.forEach(task -> cache.put(task.getId(), task));
-        } else {
-            log.warn("Кеширование недоступно");
-        }
+        warmCache(entries);
 
-        return tasks;
+        return entries.stream()
+                .map(taskMapper::toModel)
+                .toList();
     }
 
     /**
-     * Добавляет новую задачу и отправляет сообщение в Kafka.
-     * Кэширует добавленную задачу.
+     * Добавляет новую задачу и записывает событие в outbox.
+     * Кэширует добавленную задачу после фиксации транзакции.
      *
      * @param taskModel данные задачи для создания
      * @return созданная задача в виде модели {@link TaskModel}
      */
     @Override
     @Transactional
-    @CachePut(value = "tasks", key = "#result.id")
     public TaskModel addTask(TaskModel taskModel) {
         TaskEntity taskEntity = taskMapper.toEntity(taskModel);
         CustomUserDetails user = currentUserService.getCurrentUser();
         UserEntity userEntity = userRepository.findById(user.getId())
                 .orElseThrow(() -> new AccessDeniedException("Недостаточно прав для добавления задачи"));
         taskEntity.setOwner(userEntity);
-        TaskModel result = taskMapper.toModel(taskRepository.save(taskEntity));
-        taskProducer.sendMessage(taskMapper.toDto(result), TaskStatus.NEW);
-        return result;
+        TaskEntity saved = taskRepository.save(taskEntity);
+        taskOutbox.enqueue(saved, TaskStatus.NEW);
+        taskWriteVersions.bump(List.of(userEntity.getId()));
+        taskOwnerDirectory.taskAdded(userEntity.getId());
+        TaskCacheEntry entry = taskMapper.toCacheEntry(saved);
+        afterCommit(() -> {
+            var cache = cacheManager.getCache("tasks");
+            if (cache != null) {
+                cache.put(entry.getId(), entry);
+            }
+        });
+        return taskMapper.toModel(saved);
     }
 
     /**
-     * Обновляет существующую задачу и отправляет сообщение в Kafka.
-     * Удаляет задачу из кэша.
+     * Обновляет существующую задачу и записывает событие в outbox.
+     * Строка задачи блокируется при чтении, поэтому события об изменениях одной задачи
+     * попадают в outbox в порядке фиксации транзакций.
+     * Удаляет задачу из кэша после фиксации транзакции.
      *
      * @param taskModel данные задачи для обновления
      *                  todo: Не перезаписывать пользователя на текущего, добавить проверку на этот момент в тесты
      */
     @Override
     @Transactional
-    @CacheEvict(value = "tasks", key = "#taskModel.id")
     public TaskModel updateTask(TaskModel taskModel) {
-        TaskEntity taskEntity = taskRepository.findById(taskModel.getId())
+        TaskEntity taskEntity = taskRepository.findForUpdateById(taskModel.getId())
                 .orElseThrow(() -> new TaskNotFoundException(taskModel.getId()));
         CustomUserDetails user = currentUserService.getCurrentUser();
 
         if (user.isAdmin() || taskEntity.getOwner().getId().equals(user.getId())) {
-            BeanUtils.copyProperties(taskModel, taskEntity);
-            TaskModel result = taskMapper.toModel(taskRepository.save(taskEntity));
-            taskProducer.sendMessage(taskMapper.toDto(result), TaskStatus.UPDATED);
-            return result;
+            taskMapper.updateEntity(taskModel, taskEntity);
+            TaskEntity saved = taskRepository.save(taskEntity);
+            taskOutbox.enqueue(saved, TaskStatus.UPDATED);
+            taskWriteVersions.bump(List.of(saved.getOwner().getId()));
+            evictFromCache(List.of(saved.getId()));
+            return taskMapper.toModel(saved);
         } else {
             throw new AccessDeniedException("Недостаточно прав для обновления задачи");
         }
     }
 
     /**
-     * Удаляет задачу и отправляет сообщение в Kafka.
-     * Удаляет задачу из кэша.
+     * Удаляет задачу и записывает событие в outbox.
+     * Задача читается проекцией и удаляется одним оператором {@code DELETE} без повторной загрузки.
+     * Удаляет задачу из кэша после фиксации транзакции.
      *
      * @param id идентификатор задачи
      */
     @Override
     @Transactional
-    @CacheEvict(value = "tasks", key = "#id")
     public void deleteTask(UUID id) {
         TaskEntity taskEntity = taskRepository.findProjectedById(id).map(taskMapper::toEntity)
                 .orElseThrow(() -> new TaskNotFoundException(id));
         CustomUserDetails user = currentUserService.getCurrentUser();
-        TaskDto taskDto = taskMapper.toDto(taskEntity);
         if (user.isAdmin() || taskEntity.getOwner().getId().equals(user.getId())) {
-            taskRepository.deleteById(id);
-            taskProducer.sendMessage(taskDto, TaskStatus.DELETED);
+            taskRepository.deleteAllByIdInBatch(List.of(id));
+            taskOutbox.enqueue(taskEntity, TaskStatus.DELETED);
+            taskWriteVersions.bump(List.of(taskEntity.getOwner().getId()));
+            taskOwnerDirectory.tasksRemoved(List.of(taskEntity.getOwner().getId()));
+            evictFromCache(List.of(id));
         } else {
             throw new AccessDeniedException("Недостаточно прав для удаления задачи");
         }
@@ -151,64 +187,354 @@ public class JpaTaskService implements TaskService {
 
     /**
      * Возвращает задачу по идентификатору, если у пользователя есть доступ.
-     * Кэширует результат запроса.
+     * В кэше хранятся данные задачи вместе с идентификатором владельца, не зависящие от пользователя,
+     * поэтому права проверяются при каждом вызове, в том числе при попадании в кэш.
      *
      * @param id идентификатор задачи
      * @return объект {@link Optional}, содержащий задачу, если она найдена
      */
     @Override
-    @Cacheable(value = "tasks", key = "#id")
     public Optional<TaskModel> getTaskById(UUID id) {
-        Optional<TaskEntity> taskEntityOptional = taskRepository.findProjectedById(id).map(taskMapper::toEntity);
+        var cache = cacheManager.getCache("tasks");
+        TaskCacheEntry entry = cache != null
+                ? cache.get(id, () -> loadCacheEntry(id))
+                : loadCacheEntry(id);
 
-        if (taskEntityOptional.isEmpty()) {
+        if (entry == null) {
             return Optional.empty();
         }
 
-        TaskEntity taskEntity = taskEntityOptional.get();
         CustomUserDetails user = currentUserService.getCurrentUser();
-
-        if (user.isAdmin() || user.isManager() || taskEntity.getOwner().getId().equals(user.getId())) {
-            return Optional.of(taskMapper.toModel(taskEntity));
+        if (user.isAdmin() || user.isManager() || entry.getOwnerId().equals(user.getId())) {
+            return Optional.of(taskMapper.toModel(entry));
         } else {
             throw new AccessDeniedException("Недостаточно прав для просмотра задачи");
         }
     }
 
+    private TaskCacheEntry loadCacheEntry(UUID id) {
+        return taskRepository.findProjectedById(id).map(taskMapper::toCacheEntry).orElse(null);
+    }
+
     /**
      * Фильтрует задачи на основе параметров фильтрации.
-     * Поддерживает пагинацию и сортировку, кэширует результаты.
+     * Поддерживает пагинацию и сортировку. Страницы кэшируются в {@link TaskPageCache} до изменения задач в области видимости пользователя.
+     * Общее количество задач подсчитывает {@link TaskCountService}, и только если оно не следует из размера страницы.
      *
      * @param taskFilterModel объект фильтрации {@link TaskFilterModel}
+     * @param countStrategy   способ подсчета общего количества задач
      * @return страница задач {@link Page}, удовлетворяющих критериям фильтрации
      */
     @Override
-    public Page<TaskModel> filterBy(TaskFilterModel taskFilterModel) {
-        Page<TaskModel> tasks;
+    public Page<TaskModel> filterBy(TaskFilterModel taskFilterModel, TaskCountStrategy countStrategy) {
         CustomUserDetails user = currentUserService.getCurrentUser();
+        // При поиске порядок по релевантности задает спецификация поиска
         Pageable pageable = PageRequest.of(
                 taskFilterModel.getPageNumber() != null ? taskFilterModel.getPageNumber() : 0,
-                taskFilterModel.getPageSize() != null ? taskFilterModel.getPageSize() : 10,
-                Sort.Direction.DESC,
-                "id"
+                pageSizeOf(taskFilterModel),
+                hasSearch(taskFilterModel) ? Sort.unsorted() : TASK_ORDER
         );
-        if (user.isAdmin() || user.isManager()) {
-            tasks = taskRepository.findAll(TaskSpecification.withFilter(taskFilterModel), pageable)
-                    .map(taskMapper::toModel);
-        } else {
-            tasks = taskRepository.findAll(
-                            Specification.where(TaskSpecification.ownedBy(user.getId()))
-                                    .and(TaskSpecification.withFilter(taskFilterModel)), pageable)
-                    .map(taskMapper::toModel);
+        UUID scopeOwnerId = versionScopeOf(taskFilterModel, user);
+        Page<TaskCacheEntry> entries = taskPageCache.get(taskFilterModel, scopeOwnerId, pageable, countStrategy, () -> {
+            Specification<TaskEntity> specification = scopedSpecification(taskFilterModel, user);
+            List<TaskCacheEntry> content = taskRepository.findContent(specification, pageable).stream()
+                    .map(taskMapper::toCacheEntry)
+                    .toList();
+            warmCache(content);
+            return PageableExecutionUtils.getPage(content, pageable, () -> taskCountService.count(
+                    taskFilterModel, scopeOwnerId, countStrategy, () -> taskRepository.count(specification)));
+        });
+
+        return entries.map(taskMapper::toModel);
+    }
+
+    /**
+     * Возвращает версию результатов фильтра из {@link TaskWriteVersions} для той же области видимости,
+     * под которой {@link #filterBy} кэширует страницы.
+     *
+     * @param taskFilterModel объект фильтрации {@link TaskFilterModel}
+     * @return версия или {@code null}, если получить её не удалось
+     */
+    @Override
+    public String filterVersion(TaskFilterModel taskFilterModel) {
+        return taskWriteVersions.key(taskFilterModel, versionScopeOf(taskFilterModel, currentUserService.getCurrentUser()));
+    }
+
+    /**
+     * Фильтрует задачи с навигацией по курсору. Запрашивает на одну задачу больше размера страницы,
+     * чтобы определить наличие следующего среза без запроса {@code count}.
+     * Строка поиска сужает выборку, но порядок остается порядком курсора, а не релевантностью.
+     *
+     * @param taskFilterModel объект фильтрации {@link TaskFilterModel}, содержащий курсор
+     * @return срез задач {@link KeysetSlice}, удовлетворяющих критериям фильтрации
+     */
+    @Override
+    public KeysetSlice<TaskModel> filterByCursor(TaskFilterModel taskFilterModel) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        int pageSize = pageSizeOf(taskFilterModel);
+
+        Specification<TaskEntity> specification = scopedSpecification(taskFilterModel, user);
+        if (taskFilterModel.getCursor() != null && !taskFilterModel.getCursor().isEmpty()) {
+            specification = specification.and(TaskSpecification.after(TaskCursor.decode(taskFilterModel.getCursor())));
+        }
+
+        List<TaskSummary> summaries = taskRepository.findSlice(specification, TASK_ORDER, pageSize + 1);
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            nextCursor = TaskCursor.of(summaries.get(pageSize - 1)).encode();
+        }
+
+        List<TaskModel> tasks = summaries.stream()
+                .map(taskMapper::toModel)
+                .toList();
+        return new KeysetSlice<>(tasks, PageRequest.of(0, pageSize, TASK_ORDER), nextCursor);
+    }
+
+    /**
+     * Передает обработчику все задачи, доступные пользователю (администратору и менеджеру — все,
+     * остальным — только свои). Задачи читаются курсором сервера и не кэшируются,
+     * поэтому потребление памяти не зависит от размера таблицы.
+     *
+     * @param consumer обработчик, вызываемый для каждой задачи
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasks(Consumer<TaskModel> consumer) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        try (Stream<TaskModel> tasks = user.isAdmin() || user.isManager()
+                ? taskRepository.streamAllForExport()
+                : taskRepository.streamByOwnerIdForExport(user.getId())) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    /**
+     * Создает задачи одним пакетом: владелец загружается один раз, вставки отправляются
+     * пакетами JDBC ({@code hibernate.jdbc.batch_size}), а события записываются в outbox одним пакетом.
+     * Идентификаторы из запроса игнорируются, новые задачи всегда получают собственные.
+     *
+     * @param taskModels данные создаваемых задач
+     * @return результаты в порядке элементов запроса
+     */
+    @Override
+    @Transactional
+    public List<TaskBatchResult> addTasks(List<TaskModel> taskModels) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        UserEntity owner = userRepository.findById(user.getId())
+                .orElseThrow(() -> new AccessDeniedException("Недостаточно прав для добавления задачи"));
+
+        List<TaskEntity> entities = taskModels.stream()
+                .map(taskModel -> {
+                    TaskEntity taskEntity = taskMapper.toEntity(taskModel);
+                    taskEntity.setId(null);
+                    taskEntity.setOwner(owner);
+                    return taskEntity;
+                })
+                .toList();
+        List<TaskEntity> saved = taskRepository.saveAll(entities);
+        List<TaskModel> created = saved.stream()
+                .map(taskMapper::toModel)
+                .toList();
+
+        List<TaskCacheEntry> entries = saved.stream().map(taskMapper::toCacheEntry).toList();
+        afterCommit(() -> warmCache(entries));
+        taskWriteVersions.bump(List.of(owner.getId()));
+        taskOwnerDirectory.taskAdded(owner.getId());
+        taskOutbox.enqueueAll(saved, TaskStatus.NEW);
+
+        return IntStream.range(0, created.size())
+                .mapToObj(index -> TaskBatchResult.applied(index, TaskBatchStatus.CREATED, created.get(index)))
+                .toList();
+    }
+
+    /**
+     * Обновляет задачи одним пакетом: все задачи загружаются и блокируются одним запросом,
+     * изменения сбрасываются пакетами JDBC при фиксации транзакции.
+     *
+     * @param taskModels обновленные данные задач
+     * @return результаты в порядке элементов запроса
+     */
+    @Override
+    @Transactional
+    public List<TaskBatchResult> updateTasks(List<TaskModel> taskModels) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        List<UUID> ids = taskModels.stream().map(TaskModel::getId).toList();
+        Set<UUID> duplicateIds = TaskBatchResult.duplicateIds(ids);
+        Map<UUID, TaskEntity> found = findAllForUpdateById(ids);
+
+        List<TaskBatchResult> results = new ArrayList<>(taskModels.size());
+        List<TaskEntity> updated = new ArrayList<>();
+        for (int index = 0; index < taskModels.size(); index++) {
+            TaskModel taskModel = taskModels.get(index);
+            TaskEntity taskEntity = taskModel.getId() != null ? found.get(taskModel.getId()) : null;
+            if (duplicateIds.contains(taskModel.getId())) {
+                results.add(TaskBatchResult.rejected(index, taskModel.getId(), TaskBatchStatus.DUPLICATE));
+            } else if (taskEntity == null) {
+                results.add(TaskBatchResult.rejected(index, taskModel.getId(), TaskBatchStatus.NOT_FOUND));
+            } else if (!user.isAdmin() && !taskEntity.getOwner().getId().equals(user.getId())) {
+                results.add(TaskBatchResult.rejected(index, taskModel.getId(), TaskBatchStatus.FORBIDDEN));
+            } else {
+                taskEntity.setName(taskModel.getName());
+                taskEntity.setDescription(taskModel.getDescription());
+                taskEntity.setCompleted(taskModel.isCompleted());
+                results.add(TaskBatchResult.applied(index, TaskBatchStatus.UPDATED, taskMapper.toModel(taskEntity)));
+                updated.add(taskEntity);
+            }
+        }
+        taskRepository.flush();
+
+        evictFromCache(updated.stream().map(TaskEntity::getId).toList());
+        taskWriteVersions.bump(updated.stream().map(taskEntity -> taskEntity.getOwner().getId()).toList());
+        taskOutbox.enqueueAll(updated, TaskStatus.UPDATED);
+        return results;
+    }
+
+    /**
+     * Удаляет задачи одним пакетом: задачи загружаются одним запросом
+     * и удаляются одним оператором {@code DELETE}.
+     *
+     * @param ids идентификаторы задач
+     * @return результаты в порядке элементов запроса
+     */
+    @Override
+    @Transactional
+    public List<TaskBatchResult> deleteTasks(List<UUID> ids) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        Set<UUID> duplicateIds = TaskBatchResult.duplicateIds(ids);
+        Map<UUID, TaskEntity> found = findAllById(ids);
+
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        List<TaskEntity> deleted = new ArrayList<>();
+        for (int index = 0; index < ids.size(); index++) {
+            UUID id = ids.get(index);
+            TaskEntity taskEntity = found.get(id);
+            if (duplicateIds.contains(id)) {
+                results.add(TaskBatchResult.rejected(index, id, TaskBatchStatus.DUPLICATE));
+            } else if (taskEntity == null) {
+                results.add(TaskBatchResult.rejected(index, id, TaskBatchStatus.NOT_FOUND));
+            } else if (!user.isAdmin() && !taskEntity.getOwner().getId().equals(user.getId())) {
+                results.add(TaskBatchResult.rejected(index, id, TaskBatchStatus.FORBIDDEN));
+            } else {
+                results.add(TaskBatchResult.applied(index, TaskBatchStatus.DELETED, taskMapper.toModel(taskEntity)));
+                deleted.add(taskEntity);
+            }
         }
+        List<UUID> deletedIds = deleted.stream().map(TaskEntity::getId).toList();
+        if (!deletedIds.isEmpty()) {
+            taskRepository.deleteAllByIdInBatch(deletedIds);
+        }
+
+        evictFromCache(deletedIds);
+        taskWriteVersions.bump(deleted.stream().map(taskEntity -> taskEntity.getOwner().getId()).toList());
+        taskOwnerDirectory.tasksRemoved(deleted.stream().map(taskEntity -> taskEntity.getOwner().getId()).toList());
+        taskOutbox.enqueueAll(deleted, TaskStatus.DELETED);
+        return results;
+    }
+
+    private Map<UUID, TaskEntity> findAllById(List<UUID> ids) {
+        List<UUID> existingIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return taskRepository.findAllById(existingIds).stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+    }
 
+    private Map<UUID, TaskEntity> findAllForUpdateById(List<UUID> ids) {
+        List<UUID> existingIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return taskRepository.findAllForUpdateById(existingIds).stream()
+                .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+    }
+
+    /**
+     * Кэширует задачи, только что прочитанные из базы данных. Двухуровневый кэш заполняется
+     * только на локальном уровне, чтобы не обращаться к Redis отдельно для каждой задачи списка.
+     *
+     * @param tasks записи кэша задач
+     */
+    private void warmCache(Iterable<TaskCacheEntry> tasks) {
         var cache = cacheManager.getCache("tasks");
-        if (cache != null) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            tasks.forEach(task -> twoLevelCache.putLocal(task.getId(), task));
+        } else if (cache != null) {
             tasks.forEach(task -> cache.put(task.getId(), task));
         } else {
             log.warn("Кеширование недоступно");
         }
+    }
+
+    /**
+     * Удаляет задачи из кэша после фиксации транзакции. Сброс до фиксации позволил бы параллельному
+     * запросу снова загрузить в кэш, в том числе в общий Redis, ещё не измененную строку.
+     *
+     * @param ids идентификаторы задач
+     */
+    private void evictFromCache(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            var cache = cacheManager.getCache("tasks");
+            if (cache != null) {
+                ids.forEach(cache::evict);
+            }
+        });
+    }
+
+    /**
+     * Выполняет действие после фиксации текущей транзакции или сразу, если транзакции нет.
+     * При откате действие не выполняется.
+     *
+     * @param action действие с кэшем
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Строит спецификацию фильтра с учетом области видимости пользователя:
+     * администраторы и менеджеры видят все задачи, остальные пользователи — только свои.
+     * Если задана строка поиска, добавляет условие поиска {@link TaskSearchEngine}.
+     *
+     * @param taskFilterModel объект фильтрации {@link TaskFilterModel}
+     * @param user            текущий пользователь
+     * @return спецификация для выборки задач
+     */
+    private Specification<TaskEntity> scopedSpecification(TaskFilterModel taskFilterModel, CustomUserDetails user) {
+        Specification<TaskEntity> specification = TaskSpecification.withFilter(taskFilterModel);
+        if (!user.isAdmin() && !user.isManager()) {
+            specification = Specification.where(TaskSpecification.ownedBy(user.getId())).and(specification);
+        }
+        if (hasSearch(taskFilterModel)) {
+            specification = specification.and(taskSearchEngine.search(taskFilterModel.getSearch()));
+        }
+        return specification;
+    }
+
+    /**
+     * Определяет область видимости, версия которой отражает изменения результатов фильтра.
+     * Администраторы и менеджеры видят все задачи; фильтр по владельцу сужает область до его задач.
+     *
+     * @param taskFilterModel объект фильтрации {@link TaskFilterModel}
+     * @param user            текущий пользователь
+     * @return идентификатор владельца или {@code null} для области всех задач
+     */
+    private static UUID versionScopeOf(TaskFilterModel taskFilterModel, CustomUserDetails user) {
+        return user.isAdmin() || user.isManager() ? taskFilterModel.getOwnerId() : user.getId();
+    }
+
+    private static boolean hasSearch(TaskFilterModel taskFilterModel) {
+        return taskFilterModel.getSearch() != null && !taskFilterModel.getSearch().isBlank();
+    }
 
-        return tasks;
+    private static int pageSizeOf(TaskFilterModel taskFilterModel) {
+        return taskFilterModel.getPageSize() != null ? taskFilterModel.getPageSize() : 10;
     }
 }
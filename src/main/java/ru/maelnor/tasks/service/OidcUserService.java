@@ -3,10 +3,12 @@ package ru.maelnor.tasks.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
+import ru.maelnor.tasks.cache.TaskOwnerDirectory;
 import ru.maelnor.tasks.entity.RoleType;
 import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.repository.JpaUserRepository;
 import ru.maelnor.tasks.security.OidcAppUserDetails;
+import ru.maelnor.tasks.security.UserDetailsCache;
 
 import java.util.*;
 
@@ -18,9 +20,12 @@ import java.util.*;
 @RequiredArgsConstructor
 public class OidcUserService {
     private final JpaUserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final TaskOwnerDirectory taskOwnerDirectory;
 
     /**
-     * Добавляет или обновляет данные пользователя в базе данных.
+     * Добавляет или обновляет данные пользователя в базе данных, сбрасывает его данные из {@link UserDetailsCache}
+     * и обновляет его имя в справочнике владельцев задач {@link TaskOwnerDirectory}.
      *
      * @param userEntity сущность пользователя {@link UserEntity}, которая будет добавлена или обновлена
      */
@@ -36,6 +41,8 @@ public class OidcUserService {
         } else {
             userRepository.save(userEntity);
         }
+        userDetailsCache.invalidate(userEntity.getId());
+        taskOwnerDirectory.userChanged(userEntity.getId());
     }
 
     /**
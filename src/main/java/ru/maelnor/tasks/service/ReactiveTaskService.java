@@ -0,0 +1,130 @@
+package ru.maelnor.tasks.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.maelnor.tasks.mapper.TaskMapper;
+import ru.maelnor.tasks.model.KeysetSlice;
+import ru.maelnor.tasks.model.TaskCursor;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.repository.ReactiveTaskRepository;
+import ru.maelnor.tasks.security.CustomUserDetails;
+
+import java.util.UUID;
+
+/**
+ * Неблокирующее чтение задач для API {@code /api/v2/tasks} через {@link ReactiveTaskRepository}.
+ * Права доступа и смысл фильтра совпадают с {@link TaskService}: администраторы и менеджеры видят все задачи,
+ * остальные пользователи — только свои.
+ * <p>
+ * Текущий пользователь определяется при вызове метода, в потоке запроса, где доступен контекст безопасности;
+ * запросы к базе данных выполняются позже, при подписке. Сервис активируется, если свойство
+ * {@code app.api.v2.enabled} установлено в {@code true}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.api.v2.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final CurrentUserService currentUserService;
+    private final TaskMapper taskMapper = TaskMapper.INSTANCE;
+
+    /**
+     * Получает задачу по идентификатору.
+     *
+     * @param id идентификатор задачи
+     * @return задача или пустой {@link Mono}, если задача не найдена
+     * @throws AccessDeniedException в {@link Mono}, если задача чужая, а пользователь не администратор и не менеджер
+     */
+    public Mono<TaskModel> getTaskById(UUID id) {
+        CustomUserDetails user = currentUserService.getCurrentUser();
+        return taskRepository.findById(id)
+                .handle((taskEntity, sink) -> {
+                    if (user.isAdmin() || user.isManager() || taskEntity.getOwner().getId().equals(user.getId())) {
+                        sink.next(taskMapper.toModel(taskEntity));
+                    } else {
+                        sink.error(new AccessDeniedException("Недостаточно прав для просмотра задачи"));
+                    }
+                });
+    }
+
+    /**
+     * Фильтрует задачи с постраничной навигацией по номеру страницы. Общее количество задач
+     * подсчитывается запросом {@code count}, только если оно не следует из размера страницы.
+     *
+     * @param filter объект фильтрации {@link TaskFilterModel}
+     * @return страница задач
+     */
+    public Mono<Page<TaskModel>> filterBy(TaskFilterModel filter) {
+        UUID scopeOwnerId = scopeOf(currentUserService.getCurrentUser());
+        Pageable pageable = PageRequest.of(
+                filter.getPageNumber() != null ? filter.getPageNumber() : 0,
+                pageSizeOf(filter)
+        );
+        return taskRepository.findPageContent(filter, scopeOwnerId, pageable.getOffset(), pageable.getPageSize())
+                .map(taskMapper::toModel)
+                .collectList()
+                .flatMap(content -> {
+                    // Как PageableExecutionUtils: неполная страница определяет общее количество сама
+                    if (!content.isEmpty() && content.size() < pageable.getPageSize()
+                            || pageable.getOffset() == 0 && content.isEmpty()) {
+                        return Mono.just(new PageImpl<>(content, pageable, pageable.getOffset() + content.size()));
+                    }
+                    return taskRepository.count(filter, scopeOwnerId)
+                            .map(total -> new PageImpl<>(content, pageable, total));
+                });
+    }
+
+    /**
+     * Фильтрует задачи с навигацией по курсору. Запрашивает на одну задачу больше размера страницы,
+     * чтобы определить наличие следующего среза без запроса {@code count}.
+     *
+     * @param filter объект фильтрации {@link TaskFilterModel}, содержащий курсор
+     * @return срез задач
+     */
+    public Mono<KeysetSlice<TaskModel>> filterByCursor(TaskFilterModel filter) {
+        UUID scopeOwnerId = scopeOf(currentUserService.getCurrentUser());
+        int pageSize = pageSizeOf(filter);
+        TaskCursor after = filter.getCursor() != null && !filter.getCursor().isEmpty()
+                ? TaskCursor.decode(filter.getCursor())
+                : null;
+
+        return taskRepository.findSlice(filter, scopeOwnerId, after, pageSize + 1)
+                .collectList()
+                .map(entities -> {
+                    String nextCursor = null;
+                    if (entities.size() > pageSize) {
+                        entities = entities.subList(0, pageSize);
+                        nextCursor = TaskCursor.of(entities.get(pageSize - 1)).encode();
+                    }
+                    return new KeysetSlice<>(entities.stream().map(taskMapper::toModel).toList(),
+                            PageRequest.of(0, pageSize, TaskService.TASK_ORDER), nextCursor);
+                });
+    }
+
+    /**
+     * Передает все задачи, доступные пользователю, по мере запроса подписчика.
+     *
+     * @return поток задач в порядке убывания даты создания
+     */
+    public Flux<TaskModel> streamTasks() {
+        return taskRepository.stream(scopeOf(currentUserService.getCurrentUser()));
+    }
+
+    private static UUID scopeOf(CustomUserDetails user) {
+        return user.isAdmin() || user.isManager() ? null : user.getId();
+    }
+
+    private static int pageSizeOf(TaskFilterModel filter) {
+        return filter.getPageSize() != null ? filter.getPageSize() : 10;
+    }
+}
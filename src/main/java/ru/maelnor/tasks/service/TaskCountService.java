@@ -0,0 +1,64 @@
+package ru.maelnor.tasks.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.maelnor.tasks.cache.TaskCountCache;
+import ru.maelnor.tasks.model.TaskCountStrategy;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.repository.TaskCountRepository;
+
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Сервис подсчета общего количества задач для постраничных списков.
+ * Выбирает самый дешевый источник, допустимый для фильтра и способа подсчета {@link TaskCountStrategy}:
+ * <ul>
+ *     <li>задачи одного владельца без текстовых условий — счетчик владельца;</li>
+ *     <li>все задачи без фильтра в режиме {@link TaskCountStrategy#ESTIMATED} — оценка планировщика;</li>
+ *     <li>в режимах {@link TaskCountStrategy#CACHED} и {@link TaskCountStrategy#ESTIMATED} — точный подсчет из кэша;</li>
+ *     <li>иначе — точный подсчет запросом {@code count}.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskCountService {
+
+    private final TaskCountRepository taskCountRepository;
+    private final TaskCountCache taskCountCache;
+
+    /**
+     * Возвращает количество задач, удовлетворяющих фильтру.
+     *
+     * @param filter        фильтр задач
+     * @param scopeOwnerId  владелец, задачами которого ограничена выборка, или {@code null}, если выборка идет по всем задачам
+     * @param countStrategy способ подсчета
+     * @param exactCounter  точный подсчет запросом {@code count}
+     * @return количество задач
+     */
+    public long count(TaskFilterModel filter, UUID scopeOwnerId, TaskCountStrategy countStrategy, LongSupplier exactCounter) {
+        if (!hasTextConditions(filter)) {
+            UUID ownerId = scopeOwnerId != null ? scopeOwnerId : filter.getOwnerId();
+            if (ownerId != null) {
+                // Фильтр по другому владельцу внутри области видимости владельца ничего не находит
+                return filter.getOwnerId() == null || filter.getOwnerId().equals(ownerId)
+                        ? taskCountRepository.countByOwner(ownerId, filter.getCompleted())
+                        : 0;
+            }
+            if (countStrategy == TaskCountStrategy.ESTIMATED && filter.getCompleted() == null) {
+                long estimate = taskCountRepository.estimateTasks();
+                if (estimate >= 0) {
+                    return estimate;
+                }
+            }
+        }
+        return countStrategy == TaskCountStrategy.EXACT
+                ? exactCounter.getAsLong()
+                : taskCountCache.get(filter, scopeOwnerId, exactCounter);
+    }
+
+    private static boolean hasTextConditions(TaskFilterModel filter) {
+        return (filter.getName() != null && !filter.getName().isEmpty())
+                || (filter.getSearch() != null && !filter.getSearch().isBlank());
+    }
+}
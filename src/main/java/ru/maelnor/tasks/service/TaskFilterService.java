@@ -4,8 +4,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import ru.maelnor.tasks.model.TaskFilterModel;
 
-import java.util.Arrays;
-
 /**
  * Сервис для работы с фильтром задач.
  * Позволяет проверить фильтр на наличие значений и проверяет права на доступ к фильтру по id пользователя.
@@ -16,20 +14,20 @@ public class TaskFilterService {
     private final CurrentUserService currentUserService;
 
     /**
+     * Проверяет поля фильтра через геттеры, без рефлексии: фильтр не пустой, если хотя бы одно поле задано,
+     * а строковое поле к тому же не пустое. Новое поле {@link TaskFilterModel} нужно добавить в проверку.
+     *
      * @param taskFilterModel модель фильтра задач
      * @return boolean - признак того, что фильтр не пустой
      */
     public boolean isFilterNotEmpty(TaskFilterModel taskFilterModel) {
-        return Arrays.stream(TaskFilterModel.class.getDeclaredFields())
-                .anyMatch(field -> {
-                    field.setAccessible(true);
-                    try {
-                        Object value = field.get(taskFilterModel);
-                        return value != null && (!(value instanceof String) || !((String) value).isEmpty());
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException("Ошибка доступа к полю: " + field.getName(), e);
-                    }
-                });
+        return taskFilterModel.getPageNumber() != null
+                || taskFilterModel.getPageSize() != null
+                || isNotEmpty(taskFilterModel.getName())
+                || isNotEmpty(taskFilterModel.getSearch())
+                || taskFilterModel.getCompleted() != null
+                || taskFilterModel.getOwnerId() != null
+                || isNotEmpty(taskFilterModel.getCursor());
     }
 
     /**
@@ -38,4 +36,8 @@ public class TaskFilterService {
     public boolean canAccessOwnerId() {
         return currentUserService.getCurrentUser().isAdmin() || currentUserService.getCurrentUser().isManager();
     }
+
+    private static boolean isNotEmpty(String value) {
+        return value != null && !value.isEmpty();
+    }
 }
@@ -0,0 +1,65 @@
+package ru.maelnor.tasks.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.maelnor.tasks.exception.InvalidReportPeriodException;
+import ru.maelnor.tasks.model.TaskDailyStats;
+import ru.maelnor.tasks.model.TaskOwnerStats;
+import ru.maelnor.tasks.repository.TaskRollupRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Сервис отчетов по задачам. Отчеты строятся по сводной таблице {@link TaskRollupRepository},
+ * поэтому их стоимость ограничена длиной периода и количеством владельцев и не зависит от количества задач.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskReportService {
+
+    /**
+     * Максимальная длина периода отчета в днях.
+     */
+    public static final int MAX_PERIOD_DAYS = 366;
+
+    private final TaskRollupRepository taskRollupRepository;
+
+    /**
+     * Возвращает количество созданных, завершенных и удаленных задач по дням периода.
+     *
+     * @param from    первый день периода
+     * @param to      последний день периода
+     * @param ownerId владелец задач или {@code null} для всех владельцев
+     * @return количество событий по дням, в которые они были
+     * @throws InvalidReportPeriodException если период задан некорректно
+     */
+    public List<TaskDailyStats> getDailyStats(LocalDate from, LocalDate to, UUID ownerId) {
+        checkPeriod(from, to);
+        return taskRollupRepository.findDaily(from, to, ownerId);
+    }
+
+    /**
+     * Возвращает количество созданных, завершенных и удаленных задач за период по владельцам.
+     *
+     * @param from первый день периода
+     * @param to   последний день периода
+     * @return количество событий по владельцам
+     * @throws InvalidReportPeriodException если период задан некорректно
+     */
+    public List<TaskOwnerStats> getOwnerStats(LocalDate from, LocalDate to) {
+        checkPeriod(from, to);
+        return taskRollupRepository.findByOwner(from, to);
+    }
+
+    private static void checkPeriod(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidReportPeriodException("Начало периода " + from + " позже его окончания " + to);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_PERIOD_DAYS) {
+            throw new InvalidReportPeriodException("Период отчета не должен превышать " + MAX_PERIOD_DAYS + " дней");
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package ru.maelnor.tasks.service;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import ru.maelnor.tasks.dto.TaskDto;
 import ru.maelnor.tasks.mapper.TaskMapper;
 import ru.maelnor.tasks.dto.filter.TaskFilterDto;
+import ru.maelnor.tasks.model.KeysetSlice;
+import ru.maelnor.tasks.model.TaskBatchResult;
+import ru.maelnor.tasks.model.TaskCountStrategy;
 import ru.maelnor.tasks.model.TaskFilterModel;
 import ru.maelnor.tasks.model.TaskModel;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Интерфейс для управления задачами. Определяет основные операции, такие как добавление, обновление, удаление и получение задач.
@@ -18,6 +23,12 @@ public interface TaskService {
 
     TaskMapper taskMapper = TaskMapper.INSTANCE;
 
+    /**
+     * Порядок выдачи задач в списках: сначала новые. Идентификатор делает порядок однозначным
+     * для задач с одинаковой датой создания и служит второй частью курсора.
+     */
+    Sort TASK_ORDER = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     /**
      * Возвращает список всех задач, доступных пользователю.
      *
@@ -57,10 +68,75 @@ public interface TaskService {
     Optional<TaskModel> getTaskById(UUID id);
 
     /**
-     * Фильтрует задачи на основе переданных параметров фильтрации.
+     * Фильтрует задачи на основе переданных параметров фильтрации с точным подсчетом общего количества.
      *
      * @param filter объект {@link TaskFilterModel}, содержащий параметры фильтрации
      * @return страница задач, удовлетворяющих критериям фильтрации
      */
-    Page<TaskModel> filterBy(TaskFilterModel filter);
+    default Page<TaskModel> filterBy(TaskFilterModel filter) {
+        return filterBy(filter, TaskCountStrategy.EXACT);
+    }
+
+    /**
+     * Фильтрует задачи на основе переданных параметров фильтрации.
+     *
+     * @param filter        объект {@link TaskFilterModel}, содержащий параметры фильтрации
+     * @param countStrategy способ подсчета общего количества задач
+     * @return страница задач, удовлетворяющих критериям фильтрации
+     */
+    Page<TaskModel> filterBy(TaskFilterModel filter, TaskCountStrategy countStrategy);
+
+    /**
+     * Фильтрует задачи с постраничной навигацией по курсору, без подсчета общего количества.
+     * Задачи упорядочены по дате создания и идентификатору в обратном порядке.
+     *
+     * @param filter объект {@link TaskFilterModel}, содержащий параметры фильтрации и курсор
+     * @return срез задач, удовлетворяющих критериям фильтрации, с курсором следующего среза
+     */
+    KeysetSlice<TaskModel> filterByCursor(TaskFilterModel filter);
+
+    /**
+     * Возвращает версию результатов фильтра в области видимости текущего пользователя.
+     * Версия меняется при каждом изменении задач в этой области и не требует запросов к базе данных,
+     * поэтому по ней можно проверить актуальность ранее полученного списка, не выполняя фильтрацию.
+     *
+     * @param filter объект {@link TaskFilterModel}, содержащий параметры фильтрации
+     * @return версия или {@code null}, если получить её не удалось
+     */
+    String filterVersion(TaskFilterModel filter);
+
+    /**
+     * Последовательно передает все доступные пользователю задачи обработчику, не накапливая их в памяти.
+     *
+     * @param consumer обработчик, вызываемый для каждой задачи
+     */
+    void exportTasks(Consumer<TaskModel> consumer);
+
+    /**
+     * Создает задачи текущего пользователя одним пакетом в одной транзакции.
+     *
+     * @param taskModels данные создаваемых задач
+     * @return результаты в порядке элементов запроса
+     */
+    List<TaskBatchResult> addTasks(List<TaskModel> taskModels);
+
+    /**
+     * Обновляет задачи одним пакетом в одной транзакции. Отсутствующие и недоступные
+     * пользователю задачи, а также задачи, идентификатор которых повторяется в пакете,
+     * не изменяются и отмечаются в результате.
+     *
+     * @param taskModels обновленные данные задач
+     * @return результаты в порядке элементов запроса
+     */
+    List<TaskBatchResult> updateTasks(List<TaskModel> taskModels);
+
+    /**
+     * Удаляет задачи одним пакетом в одной транзакции. Отсутствующие и недоступные
+     * пользователю задачи, а также задачи, идентификатор которых повторяется в пакете,
+     * не удаляются и отмечаются в результате.
+     *
+     * @param ids идентификаторы задач
+     * @return результаты в порядке элементов запроса
+     */
+    List<TaskBatchResult> deleteTasks(List<UUID> ids);
 }
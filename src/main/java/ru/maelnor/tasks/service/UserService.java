@@ -4,16 +4,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import ru.maelnor.tasks.cache.TaskOwnerDirectory;
 import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.mapper.UserMapper;
 import ru.maelnor.tasks.model.UserModel;
 import ru.maelnor.tasks.repository.JpaUserRepository;
 import ru.maelnor.tasks.security.CustomUserDetails;
+import ru.maelnor.tasks.security.TokenVersionService;
 
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Сервис для управления локальными пользователями
@@ -25,6 +26,8 @@ public class UserService {
     private final JpaUserRepository userRepository;
     private final CurrentUserService currentUserService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final TaskOwnerDirectory taskOwnerDirectory;
 
 
     /**
@@ -51,29 +54,30 @@ public class UserService {
     }
 
     /**
-     * Сменить локальный пароль пользователя (с проверкой прав на операцию)
+     * Сменить локальный пароль пользователя (с проверкой прав на операцию).
+     * Пароль обновляется одним запросом без загрузки пользователя.
+     * Выданные пользователю access токены отзываются, а его данные сбрасываются из кэша пользователей
      *
      * @param id       - id пользователя
      * @param password - новый пароль
      */
     public void changeUserPassword(UUID id, String password) {
-        Optional<UserEntity> userEntityOptional = userRepository.findById(id);
-
-        if (userEntityOptional.isPresent()) {
-            UserEntity userEntity = userEntityOptional.get();
-            CustomUserDetails currentUser = currentUserService.getCurrentUser();
+        CustomUserDetails currentUser = currentUserService.getCurrentUser();
+        if (!currentUser.isAdmin() && !id.equals(currentUser.getId())) {
+            throw new AccessDeniedException("Недостаточно прав для изменения пароля");
+        }
 
-            if (currentUser.isAdmin() || userEntity.getId().equals(currentUser.getId())) {
-                userEntity.setPassword(passwordEncoder.encode(password));
-                userRepository.save(userEntity);
-            } else {
-                throw new AccessDeniedException("Недостаточно прав для изменения пароля");
-            }
+        if (userRepository.updatePassword(id, passwordEncoder.encode(password)) > 0) {
+            tokenVersionService.revoke(id);
         }
     }
 
+    /**
+     * Получить пользователей, у которых есть хотя бы одна задача, из справочника владельцев {@link TaskOwnerDirectory}
+     *
+     * @return - идентификаторы пользователей по их именам в порядке имен
+     */
     public Map<String, String> getUsesWithTask() {
-        return userRepository.findUsersWithTasks().stream()
-                .collect(Collectors.toMap(UserEntity::getUsername, user -> user.getId().toString()));
+        return taskOwnerDirectory.getOwners();
     }
 }
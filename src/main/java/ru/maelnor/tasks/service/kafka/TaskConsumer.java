@@ -1,26 +1,78 @@
 package ru.maelnor.tasks.service.kafka;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.stereotype.Service;
 import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.service.readmodel.TaskReadModel;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Сервис для потребления сообщений из Kafka.
- * Получает сообщения о задачах из топика "task_list" и обрабатывает их.
+ * Получает сообщения о задачах из топика "task_list" пакетами и применяет их к локальной модели чтения {@link TaskReadModel}.
+ * Модель чтения нужна каждому узлу целиком, поэтому консумер читает все партиции топика без группы консумеров
+ * и не фиксирует смещения: после перезапуска топик перечитывается с начала.
  */
 @Service
 @Slf4j
-public class TaskConsumer {
+public class TaskConsumer implements ConsumerSeekAware {
+
+    private final TaskReadModel readModel;
+    private final boolean replay;
+    private final Set<TopicPartition> replayed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param readModel модель чтения, к которой применяются события
+     * @param replay    перечитывать ли партицию с начала при первом её назначении узлу.
+     *                  Модель чтения хранится в памяти, поэтому без перечитывания после перезапуска
+     *                  в ней окажутся только задачи, измененные после запуска
+     */
+    public TaskConsumer(TaskReadModel readModel,
+                        @Value("${app.kafka.read-model.replay:true}") boolean replay) {
+        this.readModel = readModel;
+        this.replay = replay;
+    }
 
     /**
-     * Потребляет сообщения из топика "task_list" в группе "task-list-group".
-     * Логирует полученные сообщения типа {@link KafkaTaskMessage}.
+     * Потребляет пакет сообщений из топика "task_list" и применяет его к модели чтения.
+     * Повторное применение события не меняет итогового состояния модели.
+     * Запись без значения (tombstone) удаляет задачу с идентификатором из ключа записи.
      *
-     * @param message сообщение, полученное из Kafka
+     * @param records записи, полученные из Kafka
      */
-    @KafkaListener(topics = "task_list", groupId = "task-list-group")
-    public void consume(KafkaTaskMessage message) {
-        log.info("Получено сообщение из Kafka: {}", message);
+    @KafkaListener(containerFactory = "readModelListenerContainerFactory",
+            topicPartitions = @org.springframework.kafka.annotation.TopicPartition(topic = TaskProducer.TOPIC,
+                    partitions = "0-#{${app.kafka.task-topic.partitions:3} - 1}"))
+    public void consume(List<ConsumerRecord<String, KafkaTaskMessage>> records) {
+        for (ConsumerRecord<String, KafkaTaskMessage> record : records) {
+            if (record.value() != null) {
+                readModel.apply(record.value());
+            } else if (record.key() != null) {
+                readModel.remove(UUID.fromString(record.key()));
+            }
+        }
+        log.debug("Применено к модели чтения сообщений из Kafka: {}", records.size());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (!replay) {
+            return;
+        }
+        List<TopicPartition> fresh = assignments.keySet().stream()
+                .filter(replayed::add)
+                .toList();
+        if (!fresh.isEmpty()) {
+            callback.seekToBeginning(fresh);
+        }
     }
 }
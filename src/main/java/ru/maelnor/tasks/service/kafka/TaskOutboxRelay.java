@@ -0,0 +1,130 @@
+package ru.maelnor.tasks.service.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.maelnor.tasks.dto.kafka.TaskStatus;
+import ru.maelnor.tasks.repository.TaskOutboxRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ретранслятор событий из outbox в Kafka.
+ * Периодически выгружает события пакетами в порядке записи и удаляет их после подтверждения брокером.
+ * Выгрузку выполняет один экземпляр приложения (рекомендательная блокировка PostgreSQL),
+ * а ключ записи — идентификатор задачи, поэтому порядок событий одной задачи сохраняется.
+ * За событием об удалении задачи следует tombstone с тем же ключом.
+ * Доставка — «как минимум один раз»: при сбое отправки пакет остается в outbox и отправляется повторно.
+ * <p>
+ * Метрики: {@code task.outbox.pending} — количество неотправленных событий,
+ * {@code task.outbox.lag} — возраст самого старого события в секундах,
+ * {@code task.outbox.published} — количество отправленных событий.
+ */
+@Slf4j
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskOutboxRelay {
+
+    private final TaskOutboxRepository outboxRepository;
+    private final TaskProducer taskProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+
+    public TaskOutboxRelay(TaskOutboxRepository outboxRepository,
+                           TaskProducer taskProducer,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.outbox.batch-size:100}") int batchSize,
+                           @Value("${app.outbox.send-timeout:10s}") Duration sendTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.taskProducer = taskProducer;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+
+        Gauge.builder("task.outbox.pending", pending, AtomicLong::get)
+                .description("Количество событий задач, ожидающих отправки в Kafka")
+                .register(meterRegistry);
+        Gauge.builder("task.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Возраст самого старого неотправленного события задачи")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.published = Counter.builder("task.outbox.published")
+                .description("Количество событий задач, отправленных в Kafka")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выгружает события, пока outbox не опустеет, затем обновляет метрики отставания.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:500ms}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = transactionTemplate.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось отправить события задач из outbox, повтор при следующем опросе", e);
+        } finally {
+            TaskOutboxRepository.Backlog backlog = outboxRepository.backlog();
+            pending.set(backlog.pending());
+            lagMillis.set(backlog.lag().toMillis());
+        }
+    }
+
+    /**
+     * Отправляет один пакет событий и удаляет его из outbox в той же транзакции.
+     *
+     * @return количество отправленных событий
+     */
+    private int relayBatch() {
+        if (!outboxRepository.tryLockRelay()) {
+            return 0;
+        }
+        List<TaskOutboxRepository.Entry> batch = outboxRepository.findBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (TaskOutboxRepository.Entry entry : batch) {
+            sends.add(taskProducer.send(entry.message()));
+            if (entry.message().getStatus() == TaskStatus.DELETED) {
+                // Вслед за событием об удалении пишется tombstone, чтобы уплотнение убрало задачу из топика
+                sends.add(taskProducer.sendTombstone(entry.message().getId()));
+            }
+        }
+        taskProducer.flush();
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Отправка событий задач прервана", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka не подтвердила отправку событий задач", e);
+        }
+
+        outboxRepository.deleteAllById(batch.stream().map(TaskOutboxRepository.Entry::id).toList());
+        published.increment(batch.size());
+        return batch.size();
+    }
+}
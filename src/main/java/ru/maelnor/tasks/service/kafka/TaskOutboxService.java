@@ -0,0 +1,61 @@
+package ru.maelnor.tasks.service.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.dto.kafka.TaskStatus;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.mapper.TaskMapper;
+import ru.maelnor.tasks.repository.TaskOutboxRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Сервис записи событий задач в outbox.
+ * События сохраняются в той же транзакции, что и изменение задачи, и отправляются в Kafka
+ * ретранслятором {@link TaskOutboxRelay} только после её фиксации.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskOutboxService {
+
+    private final TaskMapper taskMapper = TaskMapper.INSTANCE;
+    private final TaskOutboxRepository outboxRepository;
+
+    /**
+     * Записывает событие о задаче. Должен вызываться внутри транзакции изменения задачи
+     * после того, как строка задачи заблокирована (изменена, удалена или прочитана с {@code FOR UPDATE}):
+     * иначе события параллельных изменений одной задачи могут получить идентификаторы не в порядке фиксации.
+     *
+     * @param taskEntity задача с заполненным владельцем
+     * @param taskStatus статус задачи {@link TaskStatus}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(TaskEntity taskEntity, TaskStatus taskStatus) {
+        outboxRepository.append(List.of(toMessage(taskEntity, taskStatus)));
+    }
+
+    /**
+     * Записывает события обо всех задачах пакетной операции одним пакетом JDBC.
+     * Должен вызываться внутри транзакции изменения задач после блокировки их строк.
+     *
+     * @param taskEntities задачи пакетной операции с заполненными владельцами
+     * @param taskStatus   статус задач {@link TaskStatus}
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(Collection<TaskEntity> taskEntities, TaskStatus taskStatus) {
+        if (taskEntities.isEmpty()) {
+            return;
+        }
+        outboxRepository.append(taskEntities.stream()
+                .map(taskEntity -> toMessage(taskEntity, taskStatus))
+                .toList());
+    }
+
+    private KafkaTaskMessage toMessage(TaskEntity taskEntity, TaskStatus taskStatus) {
+        return new KafkaTaskMessage(taskMapper.toDto(taskEntity), taskEntity.getOwner().getId(), taskStatus);
+    }
+}
@@ -1,38 +1,89 @@
 package ru.maelnor.tasks.service.kafka;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
-import ru.maelnor.tasks.dto.TaskDto;
-import ru.maelnor.tasks.dto.kafka.TaskStatus;
+import ru.maelnor.tasks.config.ThreadMode;
 import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 /**
  * Сервис для отправки сообщений в Kafka.
  * Отправляет сообщения о задачах в топик "task_list".
+ * <p>
+ * Результаты отправки {@link KafkaTemplate} завершаются в сетевом потоке продюсера, и зависимые этапы,
+ * добавленные без исполнителя, выполнялись бы в нем же, задерживая отправку остальных записей.
+ * В режиме {@link ThreadMode#VIRTUAL} возвращаемые результаты завершаются в отдельном виртуальном потоке,
+ * поэтому обработчики результатов могут блокироваться, не занимая сетевой поток продюсера.
  */
 @Service
 public class TaskProducer {
 
-    private static final String TOPIC = "task_list";
+    /**
+     * Топик событий задач.
+     */
+    public static final String TOPIC = "task_list";
     private final KafkaTemplate<String, KafkaTaskMessage> kafkaTemplate;
+    private final Executor callbackExecutor;
 
     /**
      * Конструктор, принимающий {@link KafkaTemplate} для отправки сообщений в Kafka.
      *
      * @param kafkaTemplate шаблон для работы с Kafka
+     * @param virtualThreads включены ли виртуальные потоки; определяет поток завершения результатов отправки
      */
-    public TaskProducer(KafkaTemplate<String, KafkaTaskMessage> kafkaTemplate) {
+    public TaskProducer(KafkaTemplate<String, KafkaTaskMessage> kafkaTemplate,
+                        @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.kafkaTemplate = kafkaTemplate;
+        this.callbackExecutor = virtualThreads ? ThreadMode.virtualThreadExecutor("kafka-callback-") : null;
+    }
+
+    /**
+     * Отправляет сообщение в топик "task_list". Ключом записи служит идентификатор задачи,
+     * поэтому все события одной задачи попадают в одну партицию и читаются в порядке отправки.
+     *
+     * @param message сообщение о задаче
+     * @return результат отправки
+     */
+    public CompletableFuture<SendResult<String, KafkaTaskMessage>> send(KafkaTaskMessage message) {
+        return completeOnCallbackExecutor(kafkaTemplate.send(TOPIC, message.getId().toString(), message));
+    }
+
+    /**
+     * Отправляет в топик "task_list" запись без значения (tombstone) с ключом задачи.
+     * При уплотнении топика она вытесняет все события задачи, а затем удаляется сама.
+     *
+     * @param id идентификатор удаленной задачи
+     * @return результат отправки
+     */
+    public CompletableFuture<SendResult<String, KafkaTaskMessage>> sendTombstone(UUID id) {
+        return completeOnCallbackExecutor(kafkaTemplate.send(TOPIC, id.toString(), null));
+    }
+
+    /**
+     * Немедленно отправляет накопленные в буфере продюсера записи.
+     */
+    public void flush() {
+        kafkaTemplate.flush();
     }
 
     /**
-     * Отправляет сообщение в топик "task_list" с информацией о задаче и её статусе.
+     * Переносит завершение результата отправки из сетевого потока продюсера в исполнитель обработчиков,
+     * если он задан.
      *
-     * @param taskDto    объект задачи {@link TaskDto}, содержащий данные о задаче
-     * @param taskStatus статус задачи {@link TaskStatus}
+     * @param future результат отправки {@link KafkaTemplate}
+     * @return результат отправки, завершаемый в исполнителе обработчиков
      */
-    public void sendMessage(TaskDto taskDto, TaskStatus taskStatus) {
-        KafkaTaskMessage message = new KafkaTaskMessage(taskDto, taskStatus);
-        kafkaTemplate.send(TOPIC, message);
+    private CompletableFuture<SendResult<String, KafkaTaskMessage>> completeOnCallbackExecutor(
+            CompletableFuture<SendResult<String, KafkaTaskMessage>> future) {
+        if (callbackExecutor == null) {
+            return future;
+        }
+        return future.whenCompleteAsync((result, ex) -> {
+        }, callbackExecutor);
     }
 }
@@ -0,0 +1,159 @@
+package ru.maelnor.tasks.service.kafka.codec;
+
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.dto.kafka.TaskStatus;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Компактный двоичный формат сообщений {@link KafkaTaskMessage}.
+ * <pre>
+ * magic       1 байт   0x00 (JSON-сообщение не может начинаться с нулевого байта)
+ * version     1 байт   версия схемы записи
+ * id          16 байт  идентификатор задачи (старшие и младшие 64 бита)
+ * status      1 байт   {@link TaskStatus#getCode()}
+ * flags       1 байт   бит 0 — completed, бит 1 — есть name, бит 2 — есть description, бит 3 — есть ownerId
+ * name        varint длины + UTF-8, если установлен бит 1
+ * description varint длины + UTF-8, если установлен бит 2
+ * ownerId     16 байт, если установлен бит 3 (с версии 2)
+ * </pre>
+ * Правила эволюции схемы: новые поля только дописываются в конец, а версия увеличивается.
+ * Читатель разбирает известные ему поля и игнорирует остаток записи более новой версии;
+ * поля, отсутствующие в записи более старой версии, получают значения по умолчанию.
+ */
+public final class BinaryTaskMessageCodec {
+
+    public static final byte MAGIC = 0x00;
+    public static final byte VERSION = 2;
+
+    private static final int FLAG_COMPLETED = 1;
+    private static final int FLAG_NAME = 1 << 1;
+    private static final int FLAG_DESCRIPTION = 1 << 2;
+    private static final int FLAG_OWNER = 1 << 3;
+
+    private static final int HEADER_SIZE = 2 + 16 + 1 + 1;
+
+    private BinaryTaskMessageCodec() {
+    }
+
+    /**
+     * Проверяет, записаны ли данные в двоичном формате.
+     *
+     * @param data содержимое записи Kafka
+     * @return {@code true}, если данные начинаются с признака двоичного формата
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    /**
+     * Кодирует сообщение в двоичный формат текущей версии.
+     *
+     * @param message сообщение о задаче
+     * @return закодированное сообщение
+     */
+    public static byte[] encode(KafkaTaskMessage message) {
+        byte[] name = message.getName() != null ? message.getName().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] description = message.getDescription() != null ? message.getDescription().getBytes(StandardCharsets.UTF_8) : null;
+
+        int size = HEADER_SIZE
+                + (name != null ? varIntSize(name.length) + name.length : 0)
+                + (description != null ? varIntSize(description.length) + description.length : 0)
+                + (message.getOwnerId() != null ? 16 : 0);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        int flags = (message.isCompleted() ? FLAG_COMPLETED : 0)
+                | (name != null ? FLAG_NAME : 0)
+                | (description != null ? FLAG_DESCRIPTION : 0)
+                | (message.getOwnerId() != null ? FLAG_OWNER : 0);
+        buffer.put(MAGIC)
+                .put(VERSION)
+                .putLong(message.getId().getMostSignificantBits())
+                .putLong(message.getId().getLeastSignificantBits())
+                .put(message.getStatus().getCode())
+                .put((byte) flags);
+        if (name != null) {
+            putBytes(buffer, name);
+        }
+        if (description != null) {
+            putBytes(buffer, description);
+        }
+        if (message.getOwnerId() != null) {
+            buffer.putLong(message.getOwnerId().getMostSignificantBits())
+                    .putLong(message.getOwnerId().getLeastSignificantBits());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Декодирует сообщение любой версии схемы.
+     *
+     * @param data закодированное сообщение
+     * @return сообщение о задаче
+     * @throws IllegalArgumentException если данные не являются корректным сообщением
+     */
+    public static KafkaTaskMessage decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Данные не являются двоичным сообщением о задаче");
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data, 1, data.length - 1);
+            byte version = buffer.get();
+            if (version < 1) {
+                throw new IllegalArgumentException("Неподдерживаемая версия сообщения о задаче: " + version);
+            }
+            UUID id = new UUID(buffer.getLong(), buffer.getLong());
+            TaskStatus status = TaskStatus.fromCode(buffer.get());
+            int flags = buffer.get();
+            String name = (flags & FLAG_NAME) != 0 ? getString(buffer) : null;
+            String description = (flags & FLAG_DESCRIPTION) != 0 ? getString(buffer) : null;
+            UUID ownerId = (flags & FLAG_OWNER) != 0 ? new UUID(buffer.getLong(), buffer.getLong()) : null;
+            // Поля более новых версий схемы, если они есть, остаются непрочитанными
+            return new KafkaTaskMessage(id, name, description, (flags & FLAG_COMPLETED) != 0, status, ownerId);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Двоичное сообщение о задаче обрезано", e);
+        }
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            buffer.put((byte) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+        buffer.put((byte) length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 28) {
+                throw new IllegalArgumentException("Некорректная длина строки в сообщении о задаче");
+            }
+            b = buffer.get();
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Некорректная длина строки в сообщении о задаче");
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+}
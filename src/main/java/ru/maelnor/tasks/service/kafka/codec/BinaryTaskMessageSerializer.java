@@ -0,0 +1,15 @@
+package ru.maelnor.tasks.service.kafka.codec;
+
+import org.apache.kafka.common.serialization.Serializer;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+
+/**
+ * Сериализатор Kafka, записывающий {@link KafkaTaskMessage} в формате {@link BinaryTaskMessageCodec}.
+ */
+public class BinaryTaskMessageSerializer implements Serializer<KafkaTaskMessage> {
+
+    @Override
+    public byte[] serialize(String topic, KafkaTaskMessage message) {
+        return message != null ? BinaryTaskMessageCodec.encode(message) : null;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.maelnor.tasks.service.kafka.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+
+/**
+ * Десериализатор Kafka, читающий {@link KafkaTaskMessage} в любом из поддерживаемых форматов.
+ * Формат определяется по первому байту записи, поэтому потребители читают топик,
+ * пока продюсеры переключаются между JSON и двоичным форматом.
+ * JSON читается всегда как {@link KafkaTaskMessage}, заголовки с типом игнорируются.
+ */
+public class TaskMessageDeserializer implements Deserializer<KafkaTaskMessage> {
+
+    private final JsonDeserializer<KafkaTaskMessage> jsonDeserializer =
+            new JsonDeserializer<>(KafkaTaskMessage.class, false);
+
+    @Override
+    public KafkaTaskMessage deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public KafkaTaskMessage deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (BinaryTaskMessageCodec.isBinary(data)) {
+            try {
+                return BinaryTaskMessageCodec.decode(data);
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException(e.getMessage(), e);
+            }
+        }
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,35 @@
+package ru.maelnor.tasks.service.kafka.codec;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+
+/**
+ * Формат, в котором продюсер записывает сообщения о задачах. Выбирается свойством {@code app.kafka.format}.
+ * Потребители читают оба формата независимо от значения свойства.
+ */
+public enum TaskMessageFormat {
+    /**
+     * JSON с заголовками типа Spring Kafka — формат по умолчанию, совместимый с прежними потребителями.
+     */
+    JSON {
+        @Override
+        public Serializer<KafkaTaskMessage> serializer() {
+            return new JsonSerializer<>();
+        }
+    },
+    /**
+     * Компактный двоичный формат {@link BinaryTaskMessageCodec}.
+     */
+    BINARY {
+        @Override
+        public Serializer<KafkaTaskMessage> serializer() {
+            return new BinaryTaskMessageSerializer();
+        }
+    };
+
+    /**
+     * @return сериализатор значений записи для этого формата
+     */
+    public abstract Serializer<KafkaTaskMessage> serializer();
+}
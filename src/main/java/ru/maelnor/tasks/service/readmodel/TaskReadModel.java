@@ -0,0 +1,164 @@
+package ru.maelnor.tasks.service.readmodel;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.dto.kafka.TaskStatus;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Локальная модель чтения задач, построенная по событиям топика {@code task_list}.
+ * Хранит состояние каждой задачи и множества задач по владельцам, поэтому запросы
+ * к ней выполняются в памяти узла без обращения к PostgreSQL.
+ * Модель согласована с базой данных в конечном счете: события применяются после фиксации транзакции.
+ */
+@Slf4j
+@Component
+public class TaskReadModel {
+
+    /**
+     * Состояние задачи в модели чтения.
+     *
+     * @param ownerId   идентификатор владельца
+     * @param name      название задачи
+     * @param completed признак выполнения
+     */
+    public record TaskView(UUID ownerId, String name, boolean completed) {
+    }
+
+    /**
+     * Сводка по задачам владельца.
+     *
+     * @param total     количество задач
+     * @param completed количество выполненных задач
+     */
+    public record OwnerSummary(int total, int completed) {
+    }
+
+    private final Map<UUID, TaskView> tasks = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> tasksByOwner = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> completedByOwner = new ConcurrentHashMap<>();
+
+    /**
+     * Применяет событие о задаче. События одной задачи должны применяться в порядке их публикации;
+     * события разных задач могут применяться параллельно.
+     *
+     * @param message сообщение о задаче
+     */
+    public void apply(KafkaTaskMessage message) {
+        UUID id = message.getId();
+        if (message.getStatus() == TaskStatus.DELETED) {
+            remove(id);
+            return;
+        }
+
+        TaskView previous = tasks.get(id);
+        UUID ownerId = message.getOwnerId() != null ? message.getOwnerId()
+                : previous != null ? previous.ownerId() : null;
+        if (ownerId == null) {
+            // Событие записано до появления владельца в сообщении, а задача еще неизвестна
+            log.debug("Пропущено событие задачи {} без владельца", id);
+            return;
+        }
+
+        TaskView view = new TaskView(ownerId, message.getName(), message.isCompleted());
+        tasks.put(id, view);
+        if (previous != null && !previous.ownerId().equals(ownerId)) {
+            unindex(id, previous.ownerId());
+        }
+        add(tasksByOwner, ownerId, id);
+        if (view.completed()) {
+            add(completedByOwner, ownerId, id);
+        } else {
+            remove(completedByOwner, ownerId, id);
+        }
+    }
+
+    /**
+     * Удаляет задачу из модели. Вызывается для событий об удалении и для tombstone-записей топика.
+     *
+     * @param id идентификатор задачи
+     */
+    public void remove(UUID id) {
+        TaskView removed = tasks.remove(id);
+        if (removed != null) {
+            unindex(id, removed.ownerId());
+        }
+    }
+
+    /**
+     * Возвращает состояние задачи.
+     *
+     * @param id идентификатор задачи
+     * @return состояние задачи, если она известна модели
+     */
+    public Optional<TaskView> getTask(UUID id) {
+        return Optional.ofNullable(tasks.get(id));
+    }
+
+    /**
+     * Возвращает идентификаторы задач владельца.
+     *
+     * @param ownerId идентификатор владельца
+     * @return неизменяемый снимок множества задач
+     */
+    public Set<UUID> getTaskIds(UUID ownerId) {
+        Set<UUID> ids = tasksByOwner.get(ownerId);
+        return ids != null ? Set.copyOf(ids) : Set.of();
+    }
+
+    /**
+     * Возвращает количество задач владельца и количество выполненных из них.
+     *
+     * @param ownerId идентификатор владельца
+     * @return сводка по задачам владельца
+     */
+    public OwnerSummary getOwnerSummary(UUID ownerId) {
+        Set<UUID> all = tasksByOwner.get(ownerId);
+        Set<UUID> completed = completedByOwner.get(ownerId);
+        return new OwnerSummary(all != null ? all.size() : 0, completed != null ? completed.size() : 0);
+    }
+
+    /**
+     * Проверяет, выполнена ли задача.
+     *
+     * @param id идентификатор задачи
+     * @return {@code true}, если задача известна модели и выполнена
+     */
+    public boolean isCompleted(UUID id) {
+        TaskView view = tasks.get(id);
+        return view != null && view.completed();
+    }
+
+    /**
+     * @return количество задач в модели
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    private void unindex(UUID id, UUID ownerId) {
+        remove(tasksByOwner, ownerId, id);
+        remove(completedByOwner, ownerId, id);
+    }
+
+    private static void add(Map<UUID, Set<UUID>> index, UUID ownerId, UUID id) {
+        index.compute(ownerId, (key, ids) -> {
+            Set<UUID> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            result.add(id);
+            return result;
+        });
+    }
+
+    private static void remove(Map<UUID, Set<UUID>> index, UUID ownerId, UUID id) {
+        index.computeIfPresent(ownerId, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package ru.maelnor.tasks.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import ru.maelnor.tasks.dto.TaskDto;
+import ru.maelnor.tasks.dto.export.TaskExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Построчная запись задач в поток ответа в одном из форматов {@link TaskExportFormat}.
+ * Не накапливает данные в памяти: каждая задача сериализуется сразу в буфер вывода.
+ */
+public class TaskExportWriter {
+
+    private static final String CSV_HEADER = "id,name,description,completed";
+
+    private final TaskExportFormat format;
+    private final ObjectWriter jsonWriter;
+    private final Writer writer;
+
+    /**
+     * @param format       формат выгрузки
+     * @param outputStream поток ответа; не закрывается писателем
+     * @param objectMapper {@link ObjectMapper} приложения, чтобы задачи в NDJSON сериализовались так же, как в ответах API
+     */
+    public TaskExportWriter(TaskExportFormat format, OutputStream outputStream, ObjectMapper objectMapper) {
+        this.format = format;
+        this.jsonWriter = objectMapper.writerFor(TaskDto.class);
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Записывает заголовок выгрузки, если он предусмотрен форматом.
+     */
+    public void writeHeader() {
+        if (format == TaskExportFormat.CSV) {
+            writeLine(CSV_HEADER);
+        }
+    }
+
+    /**
+     * Записывает одну задачу.
+     *
+     * @param taskDto задача для записи
+     * @throws UncheckedIOException если запись в поток не удалась
+     */
+    public void write(TaskDto taskDto) {
+        try {
+            switch (format) {
+                case NDJSON -> writeLine(jsonWriter.writeValueAsString(taskDto));
+                case CSV -> writeLine(String.join(",",
+                        String.valueOf(taskDto.getId()),
+                        escapeCsv(taskDto.getName()),
+                        escapeCsv(taskDto.getDescription()),
+                        String.valueOf(taskDto.isCompleted())));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Сбрасывает буфер в поток ответа.
+     *
+     * @throws IOException если запись в поток не удалась
+     */
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(String line) {
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Экранирует значение по правилам RFC 4180: значения с запятыми, кавычками и переводами строк
+     * заключаются в кавычки, кавычки внутри удваиваются.
+     *
+     * @param value значение поля
+     * @return экранированное значение; пустая строка для {@code null}
+     */
+    private static String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
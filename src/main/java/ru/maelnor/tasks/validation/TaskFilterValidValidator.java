@@ -4,12 +4,14 @@ import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.apache.commons.lang3.ObjectUtils;
 import ru.maelnor.tasks.dto.filter.TaskFilterDto;
+import ru.maelnor.tasks.model.TaskCursor;
 
 import java.util.UUID;
 
 /**
  * Валидатор для аннотации {@link TaskFilterValid}.
- * Проверяет, что поля пагинации {@code pageNumber} и {@code pageSize} в {@link TaskFilterDto} не равны {@code null}.
+ * Проверяет, что поля пагинации {@code pageNumber} и {@code pageSize} в {@link TaskFilterDto} не равны {@code null},
+ * а переданный курсор пагинации корректен.
  */
 public class TaskFilterValidValidator implements ConstraintValidator<TaskFilterValid, TaskFilterDto> {
 
@@ -25,7 +27,8 @@ public class TaskFilterValidValidator implements ConstraintValidator<TaskFilterV
     public boolean isValid(TaskFilterDto taskFilterDto, ConstraintValidatorContext context) {
         boolean valid = true;
 
-        if (taskFilterDto.getPageNumber() == null) {
+        // При навигации по курсору номер страницы не используется
+        if (taskFilterDto.getPageNumber() == null && taskFilterDto.getCursor() == null) {
             context.disableDefaultConstraintViolation();
             context.buildConstraintViolationWithTemplate("Номер страницы обязателен")
                     .addPropertyNode("pageNumber")
@@ -53,6 +56,19 @@ public class TaskFilterValidValidator implements ConstraintValidator<TaskFilterV
                 valid = false;
             }
         }
+
+        // Проверка формата курсора
+        if (!ObjectUtils.isEmpty(taskFilterDto.getCursor())) {
+            try {
+                TaskCursor.decode(taskFilterDto.getCursor());
+            } catch (IllegalArgumentException e) {
+                context.disableDefaultConstraintViolation();
+                context.buildConstraintViolationWithTemplate("Некорректный курсор пагинации")
+                        .addPropertyNode("cursor")
+                        .addConstraintViolation();
+                valid = false;
+            }
+        }
         return valid;
     }
 }
@@ -1,6 +1,11 @@
 <#macro filterForm action taskFilterDto canAccessOwnerId userList>
     <form action="${action}" method="get" class="filter-form">
-        <input type="hidden" name="pageNumber" value="${taskFilterDto.pageNumber!0}">
+        <#if taskFilterDto.cursor??>
+            <!-- При смене фильтра навигация по курсору начинается сначала -->
+            <input type="hidden" name="cursor" value="">
+        <#else>
+            <input type="hidden" name="pageNumber" value="${taskFilterDto.pageNumber!0}">
+        </#if>
         <#if canAccessOwnerId && userList??>
             <div class="form-group">
                 <label for="ownerId">Пользователь:</label>
@@ -16,6 +21,11 @@
             <label for="name">Имя задачи:</label>
             <input type="text" id="name" name="name" value="${taskFilterDto.name!}" class="form-control"/>
         </div>
+        <div class="form-group">
+            <label for="search">Поиск:</label>
+            <input type="text" id="search" name="search" value="${taskFilterDto.search!}" placeholder="Имя или описание"
+                   class="form-control<#if filterError?? && filterError.search??> error</#if>"/>
+        </div>
         <div class="form-group">
             <label for="completed">Статус:</label>
             <select id="completed" name="completed" class="form-control">
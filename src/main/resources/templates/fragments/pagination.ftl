@@ -39,3 +39,18 @@
         </div>
     </#if>
 </#macro>
+
+<#-- Навигация по курсору: без общего количества страниц, только переход в начало и к следующему срезу -->
+<#macro keysetPagination pageSize nextCursor baseUrl queryParams>
+    <div class="pagination">
+        <!-- Кнопка для перехода в начало списка -->
+        <a href="${baseUrl}?cursor=&pageSize=${pageSize}${queryParams}"
+           class="btn btn-secondary">&laquo;</a>
+
+        <!-- Кнопка для перехода к следующему срезу -->
+        <#if nextCursor?has_content>
+            <a href="${baseUrl}?cursor=${nextCursor}&pageSize=${pageSize}${queryParams}"
+               class="btn btn-secondary">&rsaquo;</a>
+        </#if>
+    </div>
+</#macro>
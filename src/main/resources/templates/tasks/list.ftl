@@ -52,13 +52,23 @@
     </table>
     <#if page?? && page.content?? && (page.content?size > 0)>
         <!-- Пагинация -->
-        <@paginationFragments.pagination
-        currentPage=page.number!0
-        totalPages=page.totalPages!1
-        pageSize=page.size!10
-        baseUrl="/tasks"
-        queryParams="&name=${taskFilter.name!}&completed=${taskFilter.completed!}${(canAccessOwnerId!false)?string('&ownerId=${taskFilter.ownerId!}', '')}"
-        />
+        <#assign filterQueryParams="&name=${taskFilter.name!}&search=${(taskFilter.search!)?url('UTF-8')}&completed=${taskFilter.completed!}${(canAccessOwnerId!false)?string('&ownerId=${taskFilter.ownerId!}', '')}"/>
+        <#if keyset!false>
+            <@paginationFragments.keysetPagination
+            pageSize=page.size!10
+            nextCursor=page.nextCursor!''
+            baseUrl="/tasks"
+            queryParams=filterQueryParams
+            />
+        <#else>
+            <@paginationFragments.pagination
+            currentPage=page.number!0
+            totalPages=page.totalPages!1
+            pageSize=page.size!10
+            baseUrl="/tasks"
+            queryParams=filterQueryParams
+            />
+        </#if>
     </#if>
 </@base.layout>
 
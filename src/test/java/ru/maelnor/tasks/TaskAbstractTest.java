@@ -9,6 +9,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.Commit;
 import org.springframework.test.annotation.DirtiesContext;
@@ -22,11 +25,16 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
+import ru.maelnor.tasks.cache.TaskCountCache;
+import ru.maelnor.tasks.cache.TaskOwnerDirectory;
+import ru.maelnor.tasks.cache.TaskPageCache;
 import ru.maelnor.tasks.entity.RoleType;
 import ru.maelnor.tasks.entity.TaskEntity;
 import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.repository.JpaTaskRepository;
 import ru.maelnor.tasks.repository.JpaUserRepository;
+import ru.maelnor.tasks.security.AppUserDetails;
+import ru.maelnor.tasks.security.UserDetailsCache;
 import ru.maelnor.tasks.service.TaskService;
 
 import java.util.HashSet;
@@ -85,9 +93,18 @@ public class TaskAbstractTest {
     @Autowired
     protected PasswordEncoder passwordEncoder;
 
+    @Autowired
+    protected UserDetailsCache userDetailsCache;
+
+    @Autowired
+    protected CacheManager cacheManager;
+
     @Autowired
     protected TaskService taskService;
 
+    @Autowired
+    protected TaskOwnerDirectory taskOwnerDirectory;
+
     @BeforeEach
     @Commit
     void setUp() {
@@ -149,9 +166,36 @@ public class TaskAbstractTest {
         adminTask = taskRepository.save(adminTask);
     }
 
+    /**
+     * Устанавливает пользователя в контекст безопасности текущего потока для вызова сервисов без HTTP-запроса.
+     * Контекст очищается после каждого теста.
+     *
+     * @param userEntity пользователь
+     */
+    protected void authenticate(UserEntity userEntity) {
+        AppUserDetails userDetails = new AppUserDetails(userEntity);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    /**
+     * Устанавливает пользователя с указанным именем в контекст безопасности текущего потока.
+     *
+     * @param username имя пользователя
+     */
+    protected void authenticate(String username) {
+        authenticate(userRepository.findByUsername(username).orElseThrow());
+    }
+
     @AfterEach
     void tearDown() {
+        SecurityContextHolder.clearContext();
         taskRepository.deleteAll();
         userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
+        // Задачи фикстур сохраняются напрямую через репозиторий, минуя увеличение версий записей
+        cacheManager.getCache(TaskPageCache.CACHE_NAME).clear();
+        cacheManager.getCache(TaskCountCache.CACHE_NAME).clear();
+        taskOwnerDirectory.invalidateAll();
     }
 }
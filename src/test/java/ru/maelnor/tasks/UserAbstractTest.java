@@ -33,6 +33,7 @@ import ru.maelnor.tasks.entity.UserEntity;
 import ru.maelnor.tasks.repository.JpaTaskRepository;
 import ru.maelnor.tasks.repository.JpaUserRepository;
 import ru.maelnor.tasks.security.SecurityService;
+import ru.maelnor.tasks.security.UserDetailsCache;
 import ru.maelnor.tasks.service.TaskService;
 
 import java.util.HashSet;
@@ -85,6 +86,9 @@ public class UserAbstractTest {
     @Autowired
     protected PasswordEncoder passwordEncoder;
 
+    @Autowired
+    protected UserDetailsCache userDetailsCache;
+
     @Autowired
     protected SecurityService securityService;
 
@@ -134,6 +138,7 @@ public class UserAbstractTest {
     @AfterEach
     void tearDown() {
         userRepository.deleteAll();
+        userDetailsCache.invalidateAll();
     }
 
     @BeforeAll
@@ -0,0 +1,83 @@
+package ru.maelnor.tasks.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.DefaultMessage;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.support.SqlStatementRecorder;
+import ru.maelnor.tasks.support.SqlStatementRecorder.RecordedStatement;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(SqlStatementRecorder.class)
+public class TaskOwnerDirectoryTest extends TaskAbstractTest {
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    @Test
+    void shouldLoadOwnersWithoutScanningTasks() {
+        recorder.start();
+        Map<String, String> owners = taskOwnerDirectory.getOwners();
+        List<RecordedStatement> loading = recorder.stop();
+
+        assertEquals(Map.of("admin", admin.getId().toString(), "user", user.getId().toString()), owners);
+        assertTrue(loading.stream().noneMatch(statement -> statement.sql().toLowerCase().contains("from tasks")),
+                loading::toString);
+
+        recorder.start();
+        assertEquals(owners, taskOwnerDirectory.getOwners());
+        List<RecordedStatement> repeated = recorder.stop();
+        assertTrue(repeated.isEmpty(), repeated::toString);
+    }
+
+    @Test
+    void shouldFollowFirstAndLastTaskOfOwner() {
+        taskOwnerDirectory.getOwners();
+        authenticate(manager);
+
+        TaskModel created = taskService.addTask(new TaskModel(null, "Manager Task", null, false));
+        assertEquals(manager.getId().toString(), taskOwnerDirectory.getOwners().get("manager"));
+
+        taskService.deleteTask(created.getId());
+        assertFalse(taskOwnerDirectory.getOwners().containsKey("manager"));
+    }
+
+    @Test
+    void shouldKeepOwnerWithRemainingTasks() {
+        taskOwnerDirectory.getOwners();
+        authenticate(user);
+
+        TaskModel created = taskService.addTask(new TaskModel(null, "Second Task", null, false));
+        taskService.deleteTask(created.getId());
+
+        assertTrue(taskOwnerDirectory.getOwners().containsKey("user"));
+    }
+
+    @Test
+    void shouldRefreshOwnerChangedOnAnotherNode() {
+        taskOwnerDirectory.getOwners();
+        // Задача другого узла сохраняется напрямую, минуя справочник этого узла
+        TaskEntity managerTask = new TaskEntity();
+        managerTask.setId(UUID.randomUUID());
+        managerTask.setName("Manager Task");
+        managerTask.setCompleted(false);
+        managerTask.setOwner(manager);
+        taskRepository.save(managerTask);
+        assertFalse(taskOwnerDirectory.getOwners().containsKey("manager"));
+
+        taskOwnerDirectory.onMessage(new DefaultMessage(
+                TaskOwnerDirectory.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                manager.getId().toString().getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(taskOwnerDirectory.getOwners().containsKey("manager"));
+    }
+}
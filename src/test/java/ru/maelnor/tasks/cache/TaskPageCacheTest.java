@@ -0,0 +1,82 @@
+package ru.maelnor.tasks.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.support.SqlStatementRecorder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(SqlStatementRecorder.class)
+public class TaskPageCacheTest extends TaskAbstractTest {
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    @Test
+    void shouldServeRepeatedPageWithoutQueries() {
+        authenticate(user);
+        Page<TaskModel> first = taskService.filterBy(new TaskFilterModel());
+
+        recorder.start();
+        Page<TaskModel> second = taskService.filterBy(new TaskFilterModel());
+        List<SqlStatementRecorder.RecordedStatement> statements = recorder.stop();
+
+        assertTrue(statements.isEmpty(), () -> "Повторный запрос страницы выполнил SQL: " + statements);
+        assertEquals(first.getTotalElements(), second.getTotalElements());
+        assertEquals(task.getName(), second.getContent().get(0).getName());
+    }
+
+    @Test
+    void shouldNotServeStalePageAfterUpdate() {
+        authenticate(user);
+        taskService.filterBy(new TaskFilterModel());
+
+        TaskModel updated = taskService.getTaskById(task.getId()).orElseThrow();
+        updated.setName("Updated Task");
+        taskService.updateTask(updated);
+
+        Page<TaskModel> page = taskService.filterBy(new TaskFilterModel());
+        assertEquals("Updated Task", page.getContent().get(0).getName());
+    }
+
+    @Test
+    void shouldInvalidateGlobalPageOnOwnerWrite() {
+        authenticate(admin);
+        assertEquals(2, taskService.filterBy(new TaskFilterModel()).getTotalElements());
+
+        authenticate(user);
+        TaskModel taskModel = new TaskModel();
+        taskModel.setName("New Task");
+        taskModel.setDescription("New Description");
+        taskService.addTask(taskModel);
+
+        authenticate(admin);
+        assertEquals(3, taskService.filterBy(new TaskFilterModel()).getTotalElements());
+    }
+
+    @Test
+    void shouldKeepOtherOwnerPageOnWrite() {
+        authenticate(admin);
+        TaskFilterModel adminOnly = new TaskFilterModel();
+        adminOnly.setOwnerId(admin.getId());
+        taskService.filterBy(adminOnly);
+
+        authenticate(user);
+        taskService.deleteTask(task.getId());
+
+        authenticate(admin);
+        recorder.start();
+        Page<TaskModel> page = taskService.filterBy(adminOnly);
+        List<SqlStatementRecorder.RecordedStatement> statements = recorder.stop();
+
+        assertTrue(statements.isEmpty(), () -> "Страница другого владельца вытеснена: " + statements);
+        assertEquals(1, page.getTotalElements());
+    }
+}
@@ -0,0 +1,207 @@
+package ru.maelnor.tasks.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.config.ThreadMode;
+import ru.maelnor.tasks.model.TaskModel;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TwoLevelCacheTest extends TaskAbstractTest {
+
+    @Autowired
+    private JedisConnectionFactory connectionFactory;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Кэш второго узла: собственный L1 и общий с приложением Redis.
+     */
+    private TwoLevelCacheManager otherNodeManager;
+    private Cache otherNode;
+    private MeterRegistry otherNodeMeters;
+    private RedisCacheManager redisCacheManager;
+
+    @BeforeEach
+    void createOtherNode() {
+        redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .disableCachingNullValues()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(new GenericJackson2JsonRedisSerializer())))
+                .build();
+        otherNodeMeters = new SimpleMeterRegistry();
+        otherNodeManager = new TwoLevelCacheManager(
+                new LocalCacheFactory(otherNodeMeters, 16, 100, Duration.ofMinutes(10), ThreadMode.PLATFORM), redisCacheManager, redisTemplate, otherNodeMeters, "tasks");
+        listenerContainer.addMessageListener(otherNodeManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        otherNode = otherNodeManager.getCache("tasks");
+    }
+
+    @AfterEach
+    void removeOtherNode() {
+        listenerContainer.removeMessageListener(otherNodeManager);
+    }
+
+    @Test
+    void shouldUseLayeredCacheManager() {
+        assertInstanceOf(TwoLevelCacheManager.class, cacheManager);
+    }
+
+    @Test
+    void shouldReadValueWrittenByAnotherNodeFromRedis() {
+        Cache cache = cacheManager.getCache("tasks");
+        TaskModel taskModel = new TaskModel(UUID.randomUUID(), "Cached Task", null, true);
+
+        cache.put(taskModel.getId(), taskModel);
+
+        assertEquals(taskModel, otherNode.get(taskModel.getId(), TaskModel.class));
+        assertEquals(taskModel, otherNode.get(taskModel.getId(), TaskModel.class));
+        assertEquals(1, tierGets("l2", "hit"));
+        assertEquals(1, tierGets("l1", "hit"));
+        assertEquals(0.5, otherNodeMeters.get("cache.tier.hit.ratio").tag("tier", "l1").gauge().value());
+    }
+
+    @Test
+    void shouldEvictLocalTierOnEveryNode() {
+        Cache cache = cacheManager.getCache("tasks");
+        TaskModel taskModel = new TaskModel(UUID.randomUUID(), "Cached Task", null, false);
+        cache.put(taskModel.getId(), taskModel);
+        // Второй узел держит запись в своем L1
+        assertNotNull(otherNode.get(taskModel.getId()));
+
+        cache.evict(taskModel.getId());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertNull(otherNode.get(taskModel.getId())));
+        assertNull(cache.get(taskModel.getId()));
+    }
+
+    @Test
+    void shouldLoadMissingValueOnceThroughLocalTier() {
+        UUID id = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        Callable<TaskModel> loader = () -> {
+            loads.incrementAndGet();
+            return new TaskModel(id, "Loaded Task", null, false);
+        };
+
+        assertEquals("Loaded Task", otherNode.get(id, loader).getName());
+        assertEquals("Loaded Task", otherNode.get(id, loader).getName());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, tierGets("l1", "hit"));
+        assertEquals(1, tierGets("l2", "miss"));
+        assertEquals(0.5, otherNodeMeters.get("cache.hit.ratio").tag("cache", "tasks").gauge().value());
+        // Значение записано в Redis и доступно узлу приложения
+        assertNotNull(cacheManager.getCache("tasks").get(id));
+    }
+
+    @Test
+    void shouldNotKeepValueLoadedDuringEviction() throws Exception {
+        UUID id = UUID.randomUUID();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<TaskModel> loader = () -> {
+            loading.countDown();
+            release.await();
+            return new TaskModel(id, "Stale Task", null, false);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<TaskModel> load = executor.submit(() -> otherNode.get(id, loader));
+            loading.await();
+            Thread[] evicting = new Thread[1];
+            Future<?> eviction = executor.submit(() -> {
+                evicting[0] = Thread.currentThread();
+                otherNode.evict(id);
+            });
+            // Сброс ждет завершения загрузки того же ключа
+            await().atMost(Duration.ofSeconds(10))
+                    .until(() -> evicting[0] != null && evicting[0].getState() == Thread.State.BLOCKED);
+            release.countDown();
+            assertEquals("Stale Task", load.get().getName());
+            eviction.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Значение, загруженное до сброса, не осталось ни в L1, ни в Redis
+        assertNull(otherNode.get(id));
+        assertNull(cacheManager.getCache("tasks").get(id));
+    }
+
+    @Test
+    void shouldNotWriteValueLoadedBeforeEvictionToRedis() throws Exception {
+        // Загрузка в виртуальном потоке не удерживает запись L1, и сброс завершается, не дожидаясь её
+        TwoLevelCache virtualNode = new TwoLevelCache("tasks",
+                LocalCacheFactory.build(Caffeine.newBuilder(), ThreadMode.VIRTUAL),
+                redisCacheManager.getCache("tasks"), (name, key) -> {});
+        UUID id = UUID.randomUUID();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<TaskModel> loader = () -> {
+            loading.countDown();
+            release.await();
+            return new TaskModel(id, "Stale Task", null, false);
+        };
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<TaskModel> load = executor.submit(() -> virtualNode.get(id, loader));
+            loading.await();
+            virtualNode.evict(id);
+            release.countDown();
+            assertEquals("Stale Task", load.get().getName());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertNull(virtualNode.get(id));
+        assertNull(cacheManager.getCache("tasks").get(id));
+    }
+
+    @Test
+    void shouldPublishTierMetricsForApplicationCache() {
+        assertNotNull(meterRegistry.find("cache.tier.hit.ratio").tags("cache", "tasks", "tier", "l1").gauge());
+        assertNotNull(meterRegistry.find("cache.tier.hit.ratio").tags("cache", "tasks", "tier", "l2").gauge());
+        assertNotNull(meterRegistry.find("cache.gets").tags("cache", "tasks", "result", "hit").functionCounter());
+        assertNotNull(meterRegistry.find("cache.size").tags("cache", "taskPages").gauge());
+        assertNotNull(meterRegistry.find("cache.evictions.cause").tags("cache", "tasks", "cause", "size").counter());
+    }
+
+    private double tierGets(String tier, String result) {
+        return otherNodeMeters.get("cache.tier.gets").tags("tier", tier, "result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,88 @@
+package ru.maelnor.tasks.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.TestPropertySource;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.model.AuthResponse;
+import ru.maelnor.tasks.model.LoginRequest;
+import ru.maelnor.tasks.support.HttpLoad;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Нагрузочное сравнение режимов {@code spring.threads.virtual.enabled}: одинаковая нагрузка на список задач выполняется
+ * для платформенных и виртуальных потоков, пропускная способность и процентили времени ответа
+ * записываются в {@code build/results/load/threads-<режим>.json}.
+ * Пул Tomcat ограничен, чтобы в режиме платформенных потоков клиенты ждали свободный поток.
+ * Запускается задачей {@code ./gradlew loadTest} и не входит в обычный прогон тестов.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = "server.tomcat.threads.max=16")
+public abstract class ThreadModeLoadTest extends TaskAbstractTest {
+
+    private static final int WARMUP_REQUESTS = 500;
+    private static final int REQUESTS = 5_000;
+    private static final int CONCURRENCY = 128;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    private HttpEntity<Void> request;
+
+    @BeforeEach
+    void signIn() {
+        AuthResponse authResponse = restTemplate.postForObject("/api/auth/signin",
+                new LoginRequest("admin", "admin"), AuthResponse.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(authResponse.getToken());
+        request = new HttpEntity<>(headers);
+    }
+
+    @Test
+    void measureTaskList() throws Exception {
+        HttpLoad.run(WARMUP_REQUESTS, CONCURRENCY, this::getTasks);
+        HttpLoad.Result result = HttpLoad.run(REQUESTS, CONCURRENCY, this::getTasks);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        String threadMode = ThreadMode.of(virtualThreads).name().toLowerCase();
+        report.put("threads", threadMode);
+        report.put("requests", result.requests());
+        report.put("concurrency", result.concurrency());
+        report.put("throughput", result.throughput());
+        report.put("p50Millis", result.percentileMillis(50));
+        report.put("p99Millis", result.percentileMillis(99));
+        Path file = Path.of("build", "results", "load", "threads-" + threadMode + ".json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private int getTasks() {
+        return restTemplate.exchange("/api/tasks", HttpMethod.GET, request, String.class)
+                .getStatusCode().value();
+    }
+
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    static class PlatformThreads extends ThreadModeLoadTest {
+    }
+
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    static class VirtualThreads extends ThreadModeLoadTest {
+    }
+}
@@ -0,0 +1,153 @@
+package ru.maelnor.tasks.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.dto.TaskDto;
+import ru.maelnor.tasks.model.AuthResponse;
+import ru.maelnor.tasks.model.LoginRequest;
+import ru.maelnor.tasks.support.HttpLoad;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет режим {@code spring.threads.virtual.enabled=true}: запросы обрабатываются на виртуальных потоках,
+ * и код приложения не закрепляет их за потоками-носителями. Закрепления фиксируются событием JFR
+ * {@code jdk.VirtualThreadPinned} с нулевым порогом; учитываются события, в стеке которых есть код приложения.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.threads.virtual.enabled=true")
+@Import(VirtualThreadModeTest.ThreadRecorderConfiguration.class)
+public class VirtualThreadModeTest extends TaskAbstractTest {
+
+    private static final String APPLICATION_PACKAGE = "ru.maelnor.tasks.";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ThreadRecorder threadRecorder;
+
+    private HttpHeaders headers;
+
+    @BeforeEach
+    void signIn() {
+        AuthResponse authResponse = restTemplate.postForObject("/api/auth/signin",
+                new LoginRequest("admin", "admin"), AuthResponse.class);
+        headers = new HttpHeaders();
+        headers.setBearerAuth(authResponse.getToken());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        threadRecorder.reset();
+    }
+
+    @Test
+    void shouldHandleRequestsOnVirtualThreads() {
+        assertEquals(200, get("/api/tasks"));
+
+        assertTrue(threadRecorder.requests.get() > 0);
+        assertEquals(0, threadRecorder.platformThreadRequests.get());
+    }
+
+    @Test
+    void shouldNotPinCarrierThreads() throws Exception {
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (isApplicationEvent(event)) {
+                    pinned.add(event);
+                }
+            });
+            recording.startAsync();
+
+            HttpLoad.run(200, 32, () -> get("/api/tasks"));
+            HttpLoad.run(200, 32, () -> get("/api/tasks/" + task.getId()));
+            HttpLoad.run(50, 8, this::updateTask);
+
+            recording.stop();
+        }
+
+        assertTrue(pinned.isEmpty(), () -> pinned.size() + " закреплений виртуальных потоков:\n"
+                + pinned.stream().map(VirtualThreadModeTest::describe).distinct().collect(Collectors.joining("\n\n")));
+    }
+
+    private int get(String uri) {
+        return restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getStatusCode().value();
+    }
+
+    private int updateTask() {
+        TaskDto taskDto = new TaskDto();
+        taskDto.setName("Updated Task");
+        taskDto.setDescription("Updated Description");
+        return restTemplate.exchange("/api/tasks/" + task.getId(), HttpMethod.PUT, new HttpEntity<>(taskDto, headers),
+                String.class).getStatusCode().value();
+    }
+
+    private static boolean isApplicationEvent(RecordedEvent event) {
+        return event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE));
+    }
+
+    private static String describe(RecordedEvent event) {
+        return event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .map(method -> "    at " + method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Фильтр, запоминающий, на каких потоках обрабатываются запросы.
+     */
+    static class ThreadRecorder extends OncePerRequestFilter {
+        private final AtomicInteger requests = new AtomicInteger();
+        private final AtomicInteger platformThreadRequests = new AtomicInteger();
+
+        void reset() {
+            requests.set(0);
+            platformThreadRequests.set(0);
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+                throws ServletException, IOException {
+            requests.incrementAndGet();
+            if (!Thread.currentThread().isVirtual()) {
+                platformThreadRequests.incrementAndGet();
+            }
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    @TestConfiguration
+    static class ThreadRecorderConfiguration {
+        @Bean
+        ThreadRecorder threadRecorder() {
+            return new ThreadRecorder();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.maelnor.tasks.controller.rest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.security.test.context.support.TestExecutionEvent;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.annotation.DirtiesContext;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.model.TaskModel;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+@WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+public class CacheAdminRestControllerTest extends TaskAbstractTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldReturnCaches() throws Exception {
+        mockMvc.perform(get("/api/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("tasks")))
+                .andExpect(jsonPath("$[0].maximumSize").value(500))
+                .andExpect(jsonPath("$[0].expireAfterWriteSeconds").value(600));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldResizeCacheAndEvictBySize() throws Exception {
+        Cache cache = cacheManager.getCache("tasks");
+        for (int i = 0; i < 5; i++) {
+            UUID id = UUID.randomUUID();
+            cache.put(id, new TaskModel(id, "Cached Task " + i, null, false));
+        }
+
+        mockMvc.perform(patch("/api/admin/caches/{name}", "tasks")
+                        .contentType("application/json")
+                        .content("{\"maximumSize\":2,\"expireAfterWriteSeconds\":60}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maximumSize").value(2))
+                .andExpect(jsonPath("$.expireAfterWriteSeconds").value(60))
+                .andExpect(jsonPath("$.estimatedSize").value(2));
+
+        assertEquals(3, meterRegistry.get("cache.evictions.cause").tags("cache", "tasks", "cause", "size").counter().count());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldManageComponentCaches() throws Exception {
+        mockMvc.perform(get("/api/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItems("userDetails.username", "userDetails.id", "tokenVersions")));
+
+        mockMvc.perform(patch("/api/admin/caches/{name}", "tokenVersions")
+                        .contentType("application/json")
+                        .content("{\"maximumSize\":100,\"expireAfterWriteSeconds\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("local"))
+                .andExpect(jsonPath("$.maximumSize").value(100))
+                .andExpect(jsonPath("$.expireAfterWriteSeconds").value(5));
+
+        mockMvc.perform(delete("/api/admin/caches/{name}/entries", "userDetails.id"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/admin/caches/{name}", "userDetails.id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estimatedSize").value(0));
+    }
+
+    @Test
+    void shouldRejectInvalidSize() throws Exception {
+        mockMvc.perform(patch("/api/admin/caches/{name}", "tasks")
+                        .contentType("application/json")
+                        .content("{\"maximumSize\":0}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldClearCache() throws Exception {
+        UUID id = UUID.randomUUID();
+        cacheManager.getCache("tasks").put(id, new TaskModel(id, "Cached Task", null, false));
+
+        mockMvc.perform(delete("/api/admin/caches/{name}/entries", "tasks"))
+                .andExpect(status().isNoContent());
+
+        assertNull(cacheManager.getCache("tasks").get(id));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownCache() throws Exception {
+        mockMvc.perform(get("/api/admin/caches/{name}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithUserDetails(value = "user", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldDenyAccessToNonAdmin() throws Exception {
+        mockMvc.perform(get("/api/admin/caches"))
+                .andExpect(status().isForbidden());
+    }
+}
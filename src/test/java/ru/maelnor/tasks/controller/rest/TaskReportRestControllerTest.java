@@ -0,0 +1,45 @@
+package ru.maelnor.tasks.controller.rest;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.TestExecutionEvent;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.maelnor.tasks.TaskAbstractTest;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers
+public class TaskReportRestControllerTest extends TaskAbstractTest {
+
+    @Test
+    @WithUserDetails(value = "manager", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldReturnOwnerReportToManager() throws Exception {
+        String today = LocalDate.now().toString();
+        mockMvc.perform(get("/api/reports/tasks/owners").param("from", today).param("to", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    @WithUserDetails(value = "manager", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldRejectReversedPeriod() throws Exception {
+        mockMvc.perform(get("/api/reports/tasks/daily").param("from", "2026-10-18").param("to", "2026-10-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithUserDetails(value = "user", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldForbidReportsForUser() throws Exception {
+        String today = LocalDate.now().toString();
+        mockMvc.perform(get("/api/reports/tasks/daily").param("from", today).param("to", today))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,5 +1,6 @@
 package ru.maelnor.tasks.controller.rest;
 
+import com.jayway.jsonpath.JsonPath;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -12,15 +13,17 @@ import org.springframework.security.test.context.support.TestExecutionEvent;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import ru.maelnor.tasks.TaskAbstractTest;
 
+import java.util.UUID;
 import java.util.stream.Stream;
 
+import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -73,6 +76,183 @@ public class TaskRestControllerTest extends TaskAbstractTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldReturnNotModifiedForUnchangedTask() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldIgnoreIfModifiedSinceForTask() throws Exception {
+        // Дата с точностью до секунды не отличает изменения задачи в одну секунду, поэтому проверяется только ETag
+        mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                        .header("If-Modified-Since", "Fri, 31 Dec 2100 23:59:59 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test Task"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldReturnUpdatedTaskForStaleETag() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                        .contentType("application/json")
+                        .content("{\"name\":\"Updated Task\", \"completed\":true}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.name").value("Updated Task"));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldReturnNotModifiedForUnchangedTaskList() throws Exception {
+        String eTag = mockMvc.perform(get("/api/tasks/filtered")
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Другие параметры страницы дают другой ETag
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("pageNumber", "0")
+                        .param("pageSize", "5")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType("application/json")
+                        .content("{\"name\":\"New Task\", \"completed\":false}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)));
+    }
+
+
+    @Test
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldReturnFilteredTasksByCursor() throws Exception {
+        MvcResult firstSlice = mockMvc.perform(get("/api/tasks/filtered")
+                        .param("cursor", "")
+                        .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn();
+        String firstJson = firstSlice.getResponse().getContentAsString();
+        String firstName = JsonPath.read(firstJson, "$.content[0].name");
+        String nextCursor = JsonPath.read(firstJson, "$.nextCursor");
+
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("cursor", nextCursor)
+                        .param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name", not(firstName)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void shouldReturnOnlyOwnTasksByCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("cursor", "")
+                        .param("pageSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Test Task"))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("cursor", "not-a-cursor")
+                        .param("pageSize", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldSearchTasksByNameAndDescription() throws Exception {
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10")
+                        .param("search", "admin test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Admin Test Task"));
+
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10")
+                        .param("search", "description"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)));
+    }
+
+    @Test
+    void shouldSearchOnlyOwnTasks() throws Exception {
+        mockMvc.perform(get("/api/tasks/filtered")
+                        .param("pageNumber", "0")
+                        .param("pageSize", "10")
+                        .param("search", "Admin"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(0)));
+    }
+
+    @Test
+    void shouldExportOwnTasksAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"name\":\"Test Task\"")))
+                .andExpect(content().string(not(containsString("Admin Test Task"))));
+    }
+
+    @Test
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldExportAllTasksAsCsvForAdmin() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/tasks/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("tasks.csv")))
+                .andExpect(content().string(startsWith("id,name,description,completed\n")))
+                .andExpect(content().string(containsString(task.getId() + ",Test Task,Test Description,false")))
+                .andExpect(content().string(containsString(adminTask.getId() + ",Admin Test Task,Admin Test Description,false")));
+    }
 
     @ParameterizedTest
     @MethodSource("provideTasksForTesting")
@@ -108,6 +288,103 @@ public class TaskRestControllerTest extends TaskAbstractTest {
         }
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldCreateTasksInBatch() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\":[{\"name\":\"Batch Task 1\"},{\"name\":\"Batch Task 2\",\"completed\":true}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id", notNullValue()))
+                .andExpect(jsonPath("$[1].task.name").value("Batch Task 2"))
+                .andExpect(jsonPath("$[1].task.completed").value(true));
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)));
+    }
+
+    @Test
+    void shouldRejectBatchWithInvalidTask() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\":[{\"name\":\"Batch Task 1\"},{\"name\":\"Bad\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldUpdateTasksInBatchWithPerItemResults() throws Exception {
+        String missingId = UUID.randomUUID().toString();
+        mockMvc.perform(put("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\":["
+                                + "{\"id\":\"" + task.getId() + "\",\"name\":\"Updated Task\",\"completed\":true},"
+                                + "{\"id\":\"" + adminTask.getId() + "\",\"name\":\"Hijacked Task\"},"
+                                + "{\"id\":\"" + missingId + "\",\"name\":\"Missing Task\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("UPDATED"))
+                .andExpect(jsonPath("$[0].task.name").value("Updated Task"))
+                .andExpect(jsonPath("$[1].status").value("FORBIDDEN"))
+                .andExpect(jsonPath("$[1].task").doesNotExist())
+                .andExpect(jsonPath("$[2].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[2].id").value(missingId));
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Updated Task"))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldDeleteTasksInBatchWithPerItemResults() throws Exception {
+        String missingId = UUID.randomUUID().toString();
+        mockMvc.perform(delete("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + task.getId() + "\",\"" + adminTask.getId() + "\",\"" + missingId + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("DELETED"))
+                .andExpect(jsonPath("$[1].status").value("FORBIDDEN"))
+                .andExpect(jsonPath("$[2].status").value("NOT_FOUND"));
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void shouldRejectDuplicateIdsInBatch() throws Exception {
+        mockMvc.perform(put("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\":["
+                                + "{\"id\":\"" + task.getId() + "\",\"name\":\"First Update\"},"
+                                + "{\"id\":\"" + task.getId() + "\",\"name\":\"Second Update\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$[1].task").doesNotExist());
+
+        mockMvc.perform(delete("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + task.getId() + "\",\"" + task.getId() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"));
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test Task"));
+    }
+
     private static Stream<Arguments> provideTasksForTesting() {
         return Stream.of(
                 arguments("", false), // Пустое имя
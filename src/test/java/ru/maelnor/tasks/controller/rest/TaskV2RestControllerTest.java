@@ -0,0 +1,121 @@
+package ru.maelnor.tasks.controller.rest;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.TestSecurityContextHolder;
+import org.springframework.security.test.context.support.TestExecutionEvent;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.security.AppUserDetails;
+import ru.maelnor.tasks.security.jwt.JwtUtils;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.api.v2.enabled=true")
+@AutoConfigureMockMvc
+@Testcontainers
+@WithUserDetails(value = "user", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+public class TaskV2RestControllerTest extends TaskAbstractTest {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Test
+    void shouldReturnTaskById() throws Exception {
+        perform(get("/api/v2/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test Task"))
+                .andExpect(jsonPath("$.description").value("Test Description"));
+    }
+
+    @Test
+    void shouldForbidForeignTask() throws Exception {
+        perform(get("/api/v2/tasks/{id}", adminTask.getId()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownTask() throws Exception {
+        perform(get("/api/v2/tasks/{id}", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnOwnTasksPage() throws Exception {
+        perform(get("/api/v2/tasks/filtered").param("pageNumber", "0").param("pageSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].name").value("Test Task"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldReturnFilteredTasksByCursor() throws Exception {
+        MvcResult firstSlice = perform(get("/api/v2/tasks/filtered").param("cursor", "").param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", notNullValue()))
+                .andReturn();
+
+        String nextCursor = JsonPath.read(firstSlice.getResponse().getContentAsString(), "$.nextCursor");
+        perform(get("/api/v2/tasks/filtered").param("cursor", nextCursor).param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION, userDetailsServiceBeanName = "userDetailsServiceImpl")
+    void shouldRankSearchResultsLikeV1() throws Exception {
+        // По релевантности более короткое имя "Test Task" идет раньше созданной позже "Admin Test Task"
+        mockMvc.perform(get("/api/tasks/filtered").param("search", "task").param("pageNumber", "0").param("pageSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Test Task", "Admin Test Task")));
+
+        perform(get("/api/v2/tasks/filtered").param("search", "task").param("pageNumber", "0").param("pageSize", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", contains("Test Task", "Admin Test Task")));
+    }
+
+    @Test
+    void shouldStreamOwnTasksAsNdjson() throws Exception {
+        perform(get("/api/v2/tasks").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"name\":\"Test Task\"")))
+                .andExpect(content().string(not(containsString("Admin Test Task"))));
+    }
+
+    @Test
+    void shouldAuthenticateAsyncDispatchByBearerToken() throws Exception {
+        // Пользователь аутентифицируется только токеном: тестовый контекст подставлялся бы и в асинхронную диспетчеризацию
+        TestSecurityContextHolder.clearContext();
+        String token = jwtUtils.generateToken(new AppUserDetails(user));
+
+        perform(get("/api/v2/tasks/{id}", task.getId()).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Test Task"));
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -134,6 +134,29 @@ public class TaskWebControllerTest extends TaskAbstractTest {
 
     }
 
+    @Test
+    void shouldDisplayListOfTasksByCursor() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .param("cursor", "")
+                        .param("pageSize", "5"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("keyset", true))
+                .andExpect(model().attribute("page", hasProperty("content", hasSize(1))))
+                .andExpect(model().attribute("page", hasProperty("nextCursor", nullValue())))
+                .andExpect(view().name("tasks/list"));
+    }
+
+    @Test
+    void shouldThrowValidationExceptionIfCursorIsInvalid() throws Exception {
+        mockMvc.perform(get("/tasks")
+                        .param("cursor", "Random string")
+                        .param("pageSize", "5"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("filterError", hasEntry("cursor", "Некорректный курсор пагинации")))
+                .andExpect(model().attributeDoesNotExist("page"))
+                .andExpect(view().name("tasks/list"));
+    }
+
     @Test
     void shouldShowAddTaskForm() throws Exception {
         mockMvc.perform(get("/tasks/add"))
@@ -97,39 +97,66 @@ class TaskMapperTest {
 
     @Test
     void shouldMapTaskSummaryToTaskEntity() {
-        UUID taskId = UUID.randomUUID();
-        UserEntity userEntity = UserEntity.builder().id(UUID.randomUUID()).build();
-        TaskSummary taskSummary = new TaskSummary() {
-            @Override
-            public UUID getId() {
-                return taskId;
-            }
-
-            @Override
-            public String getName() {
-                return "Test Task";
-            }
-
-            @Override
-            public boolean isCompleted() {
-                return true;
-            }
-
-            @Override
-            public UserEntity getOwner() {
-                return userEntity;
-            }
-        };
+        // Arrange
+        TaskSummary taskSummary = new TaskSummary(UUID.randomUUID(), "Test Task", "Test Description",
+                true, new Date(), new Date(), UUID.randomUUID(), "owner");
 
         // Act
         TaskEntity taskEntity = TaskMapper.INSTANCE.toEntity(taskSummary);
 
         // Assert
         assertNotNull(taskEntity);
-        assertEquals(taskSummary.getId(), taskEntity.getId());
-        assertEquals(taskSummary.getName(), taskEntity.getName());
-        assertEquals(taskSummary.isCompleted(), taskEntity.isCompleted());
-        assertEquals(taskSummary.getOwner(), taskEntity.getOwner());
+        assertEquals(taskSummary.id(), taskEntity.getId());
+        assertEquals(taskSummary.name(), taskEntity.getName());
+        assertEquals(taskSummary.description(), taskEntity.getDescription());
+        assertEquals(taskSummary.completed(), taskEntity.isCompleted());
+        assertEquals(taskSummary.createdAt(), taskEntity.getCreatedAt());
+        assertEquals(taskSummary.ownerId(), taskEntity.getOwner().getId());
+    }
+
+    @Test
+    void shouldUpdateTaskEntityFromTaskModel() {
+        // Arrange
+        UserEntity owner = UserEntity.builder().id(UUID.randomUUID()).build();
+        Date createdAt = new Date();
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(UUID.randomUUID());
+        taskEntity.setName("Test Task");
+        taskEntity.setDescription("Test Description");
+        taskEntity.setCreatedAt(createdAt);
+        taskEntity.setOwner(owner);
+        TaskModel taskModel = new TaskModel(taskEntity.getId(), "Updated Task", null, true);
+
+        // Act
+        TaskMapper.INSTANCE.updateEntity(taskModel, taskEntity);
+
+        // Assert
+        assertEquals(taskModel.getId(), taskEntity.getId());
+        assertEquals("Updated Task", taskEntity.getName());
+        assertNull(taskEntity.getDescription());
+        assertTrue(taskEntity.isCompleted());
+        assertSame(createdAt, taskEntity.getCreatedAt());
+        assertSame(owner, taskEntity.getOwner());
+    }
+
+    @Test
+    void shouldUpdateTaskModelFromTaskDtoExceptId() {
+        // Arrange
+        TaskModel taskModel = new TaskModel(UUID.randomUUID(), "Test Task", "Test Description", false);
+        TaskDto taskDto = new TaskDto();
+        taskDto.setId(UUID.randomUUID());
+        taskDto.setName("Updated Task");
+        taskDto.setCompleted(true);
+        UUID taskId = taskModel.getId();
+
+        // Act
+        TaskMapper.INSTANCE.updateModel(taskDto, taskModel);
+
+        // Assert
+        assertEquals(taskId, taskModel.getId());
+        assertEquals("Updated Task", taskModel.getName());
+        assertNull(taskModel.getDescription());
+        assertTrue(taskModel.isCompleted());
     }
 
     @Test
@@ -177,37 +204,19 @@ class TaskMapperTest {
 
     @Test
     void shouldMapTaskSummaryToTaskModel() {
-        UUID taskId = UUID.randomUUID();
-        UserEntity userEntity = UserEntity.builder().id(UUID.randomUUID()).build();
-        TaskSummary taskSummary = new TaskSummary() {
-            @Override
-            public UUID getId() {
-                return taskId;
-            }
-
-            @Override
-            public String getName() {
-                return "Test Task";
-            }
-
-            @Override
-            public boolean isCompleted() {
-                return true;
-            }
-
-            @Override
-            public UserEntity getOwner() {
-                return userEntity;
-            }
-        };
+        // Arrange
+        TaskSummary taskSummary = new TaskSummary(UUID.randomUUID(), "Test Task", "Test Description",
+                true, new Date(), new Date(), UUID.randomUUID(), "owner");
 
         // Act
         TaskModel taskModel = TaskMapper.INSTANCE.toModel(taskSummary);
 
         // Assert
         assertNotNull(taskModel);
-        assertEquals(taskSummary.getId(), taskModel.getId());
-        assertEquals(taskSummary.getName(), taskModel.getName());
-        assertEquals(taskSummary.isCompleted(), taskModel.isCompleted());
+        assertEquals(taskSummary.id(), taskModel.getId());
+        assertEquals(taskSummary.name(), taskModel.getName());
+        assertEquals(taskSummary.description(), taskModel.getDescription());
+        assertEquals(taskSummary.completed(), taskModel.isCompleted());
+        assertEquals(taskSummary.updatedAt(), taskModel.getUpdatedAt());
     }
 }
\ No newline at end of file
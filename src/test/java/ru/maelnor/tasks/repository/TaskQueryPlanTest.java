@@ -0,0 +1,187 @@
+package ru.maelnor.tasks.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.model.KeysetSlice;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.support.SqlStatementRecorder;
+import ru.maelnor.tasks.support.SqlStatementRecorder.RecordedStatement;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Регрессионный набор планов запросов: на большом наборе данных выполняет {@code EXPLAIN}
+ * для всех комбинаций фильтра {@link ru.maelnor.tasks.repository.specification.TaskSpecification#withFilter}
+ * с ограничением по владельцу и без него и падает, если какой-либо запрос выборки читает
+ * таблицы последовательным сканированием.
+ * Запросы {@code count} не проверяются: для неселективных фильтров полный просмотр для них ожидаем.
+ */
+@Import(SqlStatementRecorder.class)
+public class TaskQueryPlanTest extends TaskAbstractTest {
+
+    private static final int USERS = 20_000;
+    private static final int TASKS = 200_000;
+    private static final Set<String> CHECKED_RELATIONS = Set.of("tasks", "users", "user_roles");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Заполняет базу большим набором данных. Все проверки выполняются одной фабрикой динамических тестов,
+     * поэтому данные создаются один раз, а не перед каждой комбинацией фильтра.
+     */
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("""
+                INSERT INTO users (id, username, password, email)
+                SELECT gen_random_uuid(), 'seed_user_' || g, 'password', 'seed_user_' || g || '@example.com'
+                FROM generate_series(1, %d) g
+                """.formatted(USERS));
+        jdbcTemplate.execute("""
+                INSERT INTO user_roles (user_id, roles)
+                SELECT id, CASE WHEN username = 'seed_user_1' THEN 'ROLE_ADMIN' ELSE 'ROLE_USER' END
+                FROM users WHERE username LIKE 'seed\\_user\\_%'
+                """);
+        jdbcTemplate.execute("""
+                INSERT INTO tasks (id, name, completed, description, created_at, updated_at, owner_id)
+                SELECT gen_random_uuid(), 'Seed task ' || g, g % 5 = 0, 'Seed description ' || g,
+                       now() - g * interval '1 second', now(), owners.ids[1 + g % %d]
+                FROM generate_series(1, %d) g,
+                     (SELECT array_agg(id) AS ids FROM users WHERE username LIKE 'seed\\_user\\_%%') owners
+                """.formatted(USERS, TASKS));
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+        jdbcTemplate.execute("VACUUM ANALYZE user_roles");
+        jdbcTemplate.execute("VACUUM ANALYZE tasks");
+    }
+
+    /**
+     * Удаляет набор данных одним оператором на таблицу до очистки фикстур базового класса,
+     * которая удаляет записи по одной.
+     */
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("DELETE FROM tasks WHERE name LIKE 'Seed task %'");
+        jdbcTemplate.execute("DELETE FROM user_roles WHERE user_id IN (SELECT id FROM users WHERE username LIKE 'seed\\_user\\_%')");
+        jdbcTemplate.execute("DELETE FROM users WHERE username LIKE 'seed\\_user\\_%'");
+    }
+
+    @TestFactory
+    Stream<DynamicTest> shouldNotSeqScan() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (String scope : List.of("seed_user_1", "seed_user_2")) {
+            for (String name : new String[]{null, "Seed task 12345"}) {
+                for (String search : new String[]{null, "task 12345"}) {
+                    for (Boolean completed : new Boolean[]{null, true, false}) {
+                        for (boolean byOwner : new boolean[]{false, true}) {
+                            String displayName = "scope=%s, name=%s, search=%s, completed=%s, byOwner=%s"
+                                    .formatted(scope, name, search, completed, byOwner);
+                            tests.add(dynamicTest(displayName,
+                                    () -> checkFilterCombination(scope, name, search, completed, byOwner)));
+                        }
+                    }
+                }
+            }
+        }
+        tests.add(dynamicTest("repository lookups", this::checkRepositoryLookups));
+        return tests.stream();
+    }
+
+    private void checkFilterCombination(String scope, String name, String search, Boolean completed, boolean byOwner) {
+        authenticate(scope);
+        UUID ownerId = byOwner ? userRepository.findByUsername("seed_user_3").orElseThrow().getId() : null;
+
+        TaskFilterModel offsetFilter = new TaskFilterModel(0, 10, name, search, completed, ownerId, null);
+        recorder.start();
+        taskService.filterBy(offsetFilter);
+        assertNoSeqScan(recorder.stop());
+
+        TaskFilterModel keysetFilter = new TaskFilterModel(null, 10, name, search, completed, ownerId, "");
+        recorder.start();
+        KeysetSlice<TaskModel> firstSlice = taskService.filterByCursor(keysetFilter);
+        assertNoSeqScan(recorder.stop());
+
+        if (firstSlice.getNextCursor() != null) {
+            keysetFilter.setCursor(firstSlice.getNextCursor());
+            recorder.start();
+            taskService.filterByCursor(keysetFilter);
+            assertNoSeqScan(recorder.stop());
+        }
+    }
+
+    private void checkRepositoryLookups() {
+        recorder.start();
+        UserEntity owner = userRepository.findByUsername("seed_user_777").orElseThrow();
+        taskRepository.findByOwnerId(owner.getId());
+        assertNoSeqScan(recorder.stop());
+    }
+
+    /**
+     * Выполняет {@code EXPLAIN} для каждого оператора выборки и проверяет, что в плане нет
+     * последовательного сканирования проверяемых таблиц.
+     */
+    private void assertNoSeqScan(List<RecordedStatement> statements) {
+        List<RecordedStatement> selects = statements.stream()
+                .filter(statement -> statement.sql().trim().toLowerCase().startsWith("select"))
+                .filter(statement -> !statement.sql().toLowerCase().contains("count("))
+                .toList();
+        assertFalse(selects.isEmpty(), "Не записано ни одного запроса выборки");
+
+        for (RecordedStatement statement : selects) {
+            JsonNode plan = explain(statement);
+            List<String> seqScans = new ArrayList<>();
+            collectSeqScans(plan, seqScans);
+            assertTrue(seqScans.isEmpty(), () -> "Последовательное сканирование " + seqScans
+                    + " в запросе:\n" + statement.sql() + "\nПлан:\n" + plan.toPrettyString());
+        }
+    }
+
+    private JsonNode explain(RecordedStatement statement) {
+        return jdbcTemplate.execute((ConnectionCallback<JsonNode>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                statement.bindTo(explain);
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+                } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        });
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && CHECKED_RELATIONS.contains(node.path("Relation Name").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package ru.maelnor.tasks.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.entity.RoleType;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.model.KeysetSlice;
+import ru.maelnor.tasks.model.TaskCountStrategy;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.projection.TaskSummary;
+import ru.maelnor.tasks.support.SqlStatementRecorder;
+import ru.maelnor.tasks.support.SqlStatementRecorder.RecordedStatement;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет, что списки задач читаются одним запросом без загрузки владельцев и их ролей
+ * при любом количестве владельцев на странице.
+ */
+@Import(SqlStatementRecorder.class)
+public class TaskSummaryQueryTest extends TaskAbstractTest {
+
+    private static final int EXTRA_OWNERS = 5;
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    @BeforeEach
+    void setUpOwners() {
+        for (int i = 0; i < EXTRA_OWNERS; i++) {
+            UserEntity owner = userRepository.save(UserEntity.builder()
+                    .id(UUID.randomUUID())
+                    .username("owner_" + i)
+                    .password("owner")
+                    .email("owner_" + i)
+                    .roles(new HashSet<>(Set.of(RoleType.ROLE_USER)))
+                    .build());
+            TaskEntity taskEntity = new TaskEntity();
+            taskEntity.setName("Owner Task " + i);
+            taskEntity.setDescription("Owner Description " + i);
+            taskEntity.setOwner(owner);
+            taskRepository.save(taskEntity);
+        }
+        authenticate(admin);
+    }
+
+    @Test
+    void shouldReadAllTasksInOneStatement() {
+        List<TaskSummary> summaries = recordSingleSelect(taskRepository::findAllProjectedBy);
+
+        assertEquals(EXTRA_OWNERS + 2, summaries.size());
+        TaskSummary summary = summaries.stream()
+                .filter(candidate -> candidate.id().equals(task.getId()))
+                .findFirst().orElseThrow();
+        assertEquals(user.getId(), summary.ownerId());
+        assertEquals("user", summary.ownerUsername());
+        assertEquals("Test Description", summary.description());
+    }
+
+    @Test
+    void shouldReadOwnerTasksInOneStatement() {
+        List<TaskSummary> summaries = recordSingleSelect(() -> taskRepository.findByOwnerId(user.getId()));
+
+        assertEquals(1, summaries.size());
+        assertEquals("user", summaries.get(0).ownerUsername());
+    }
+
+    @Test
+    void shouldReadFilteredPageInOneStatement() {
+        TaskFilterModel filter = new TaskFilterModel();
+        filter.setPageSize(EXTRA_OWNERS + 2);
+
+        recorder.start();
+        Page<TaskModel> page = taskService.filterBy(filter, TaskCountStrategy.EXACT);
+        List<RecordedStatement> statements = recorder.stop();
+
+        assertEquals(EXTRA_OWNERS + 2, page.getContent().size());
+        assertNoOwnerLoading(statements);
+        assertEquals(1, statements.stream().filter(statement -> !isCount(statement.sql())).count(), statements::toString);
+    }
+
+    @Test
+    void shouldReadKeysetSliceInOneStatement() {
+        TaskFilterModel filter = new TaskFilterModel();
+        filter.setPageSize(3);
+        filter.setCursor("");
+
+        KeysetSlice<TaskModel> slice = recordSingleSelect(() -> taskService.filterByCursor(filter));
+
+        assertEquals(3, slice.getContent().size());
+        assertNotNull(slice.getNextCursor());
+    }
+
+    private <T> T recordSingleSelect(Supplier<T> action) {
+        recorder.start();
+        T result = action.get();
+        List<RecordedStatement> statements = recorder.stop();
+
+        assertNoOwnerLoading(statements);
+        assertEquals(1, statements.size(), statements::toString);
+        return result;
+    }
+
+    private static void assertNoOwnerLoading(List<RecordedStatement> statements) {
+        assertTrue(statements.stream().noneMatch(statement -> statement.sql().contains("user_roles")),
+                statements::toString);
+    }
+
+    private static boolean isCount(String sql) {
+        return sql.toLowerCase().contains("count(");
+    }
+}
@@ -0,0 +1,92 @@
+package ru.maelnor.tasks.repository.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.service.TaskService;
+import ru.maelnor.tasks.support.JdbcTaskEngine;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверяет поиск {@link SimpleTaskSearchEngine}: отбор по имени и описанию, ранжирование,
+ * экранирование символов шаблона {@code LIKE}, область видимости пользователя
+ * и одинаковый порядок результатов в JPA- и JDBC-хранилищах.
+ */
+@TestPropertySource(properties = "app.search.engine=simple")
+@Import(JdbcTaskEngine.class)
+public class SimpleTaskSearchEngineTest extends TaskAbstractTest {
+
+    @Autowired
+    private JdbcTaskEngine jdbcTaskEngine;
+
+    @BeforeEach
+    void createTasks() {
+        saveTask("Budget review", "See the report draft");
+        saveTask("Weekly report", null);
+        saveTask("Report draft", null);
+        saveTask("Report", "Exact name");
+        saveTask("Unrelated task", null);
+        saveTask("50% done", null);
+        saveTask("500 done", null);
+    }
+
+    @Test
+    void shouldRankExactPrefixContainsAndDescriptionMatches() {
+        authenticate(admin);
+
+        assertEquals(List.of("Report", "Report draft", "Weekly report", "Budget review"), search("REPORT"));
+    }
+
+    @Test
+    void shouldTreatLikeWildcardsLiterally() {
+        authenticate(admin);
+
+        assertEquals(List.of("50% done"), search("50%"));
+    }
+
+    @Test
+    void shouldSearchOnlyOwnTasks() {
+        authenticate(user);
+
+        assertTrue(search("report").isEmpty());
+        assertEquals(List.of("Test Task"), search("test"));
+    }
+
+    @Test
+    void shouldRankJdbcResultsLikeJpa() {
+        authenticate(admin);
+
+        assertEquals(search("REPORT"), search(jdbcTaskEngine.service(), "REPORT"));
+    }
+
+    private List<String> search(String search) {
+        return search(taskService, search);
+    }
+
+    private static List<String> search(TaskService service, String search) {
+        TaskFilterModel filter = new TaskFilterModel();
+        filter.setSearch(search);
+        filter.setPageSize(20);
+        return service.filterBy(filter).getContent().stream().map(TaskModel::getName).toList();
+    }
+
+    private void saveTask(String name, String description) {
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(UUID.randomUUID());
+        taskEntity.setName(name);
+        taskEntity.setDescription(description);
+        taskEntity.setOwner(admin);
+        taskRepository.save(taskEntity);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.maelnor.tasks.repository.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskSearchEngineTest {
+
+    @Test
+    void shouldWrapSearchIntoContainsPattern() {
+        assertEquals("%task%", TaskSearchEngine.containsPattern("task"));
+    }
+
+    @Test
+    void shouldEscapeLikeWildcards() {
+        assertEquals("%100\\% done\\_now%", TaskSearchEngine.containsPattern("100% done_now"));
+    }
+
+    @Test
+    void shouldEscapeEscapeCharacter() {
+        assertEquals("%a\\\\b%", TaskSearchEngine.containsPattern("a\\b"));
+    }
+}
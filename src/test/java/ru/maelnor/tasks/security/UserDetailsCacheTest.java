@@ -0,0 +1,85 @@
+package ru.maelnor.tasks.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.service.UserService;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserDetailsCacheTest extends TaskAbstractTest {
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        double hitsBefore = hits("username");
+
+        UserDetails first = userDetailsService.loadUserByUsername("user");
+        UserDetails second = userDetailsService.loadUserByUsername("user");
+
+        assertSame(first, second);
+        assertEquals(hitsBefore + 1, hits("username"));
+    }
+
+    @Test
+    void shouldNotCacheUserLoadedDuringInvalidation() {
+        AppUserDetails stale = new AppUserDetails(user);
+
+        // Сброс происходит, пока загрузка еще не вернула данные, прочитанные до изменения пользователя
+        userDetailsCache.getByUsername("user", username -> {
+            userDetailsCache.invalidate(user.getId());
+            return Optional.of(stale);
+        });
+
+        assertNotSame(stale, userDetailsService.loadUserByUsername("user"));
+    }
+
+    @Test
+    void shouldReloadUserAfterPasswordChange() {
+        UserDetails cached = userDetailsService.loadUserByUsername("user");
+        authenticate(user);
+
+        userService.changeUserPassword(user.getId(), "changed-password");
+
+        UserDetails reloaded = userDetailsService.loadUserByUsername("user");
+        assertNotSame(cached, reloaded);
+        assertTrue(passwordEncoder.matches("changed-password", reloaded.getPassword()));
+        assertEquals(1, ((AppUserDetails) reloaded).getTokenVersion());
+    }
+
+    @Test
+    void shouldEvictOnInvalidationMessageFromAnotherNode() {
+        UserDetails cached = userDetailsService.loadUserByUsername("user");
+
+        redisTemplate.convertAndSend(UserDetailsCache.INVALIDATION_CHANNEL, user.getId().toString());
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> userDetailsService.loadUserByUsername("user") != cached);
+    }
+
+    private double hits(String index) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "userDetails")
+                .tag("index", index)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,79 @@
+package ru.maelnor.tasks.security.jwt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.security.AppUserDetails;
+import ru.maelnor.tasks.security.TokenVersionService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class JwtTokenFilterTest extends TaskAbstractTest {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldRestoreUserFromClaims() {
+        AppUserDetails userDetails = jwtUtils.toUserDetails(
+                jwtUtils.parse(jwtUtils.generateToken(new AppUserDetails(admin))).orElseThrow());
+
+        assertEquals(admin.getId(), userDetails.getId());
+        assertEquals(admin.getUsername(), userDetails.getUsername());
+        assertEquals(admin.getEmail(), userDetails.getEmail());
+        assertTrue(userDetails.isAdmin());
+        assertTrue(userDetails.isUser());
+        assertFalse(userDetails.isManager());
+        assertNull(userDetails.getPassword());
+    }
+
+    @Test
+    void shouldAuthenticateByTokenClaims() throws Exception {
+        String token = jwtUtils.generateToken(new AppUserDetails(user));
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Test Task"));
+    }
+
+    @Test
+    void shouldRejectRevokedToken() throws Exception {
+        String token = jwtUtils.generateToken(new AppUserDetails(user));
+        tokenVersionService.revoke(user.getId());
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldInvalidateTokenVersionAfterCommit() {
+        assertTrue(tokenVersionService.isCurrent(user.getId(), 0));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            tokenVersionService.revoke(user.getId());
+            // До фиксации проверка продолжает видеть закэшированную версию
+            assertTrue(tokenVersionService.isCurrent(user.getId(), 0));
+        });
+
+        assertFalse(tokenVersionService.isCurrent(user.getId(), 0));
+        assertTrue(tokenVersionService.isCurrent(user.getId(), 1));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() throws Exception {
+        String token = jwtUtils.generateToken(new AppUserDetails(user));
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.AUTHORIZATION, "Bearer " + token + "x"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,209 @@
+package ru.maelnor.tasks.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.security.access.AccessDeniedException;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.KeysetSlice;
+import ru.maelnor.tasks.model.TaskBatchResult;
+import ru.maelnor.tasks.model.TaskBatchStatus;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.repository.JdbcTaskRepository;
+import ru.maelnor.tasks.support.JdbcTaskEngine;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+/**
+ * Сравнивает JDBC-хранилище задач с JPA-хранилищем на одной базе: для каждой роли и комбинации фильтра
+ * оба сервиса должны возвращать одинаковые задачи в одинаковом порядке.
+ */
+@Import(JdbcTaskEngine.class)
+public class JdbcTaskServiceTest extends TaskAbstractTest {
+
+    private static final int EXTRA_TASKS = 35;
+
+    @Autowired
+    private JdbcTaskEngine jdbcTaskEngine;
+
+    private JdbcTaskRepository jdbcTaskRepository;
+    private TaskService jdbcTaskService;
+
+    @BeforeEach
+    void setUpJdbcEngine() {
+        jdbcTaskRepository = jdbcTaskEngine.repository();
+        jdbcTaskService = jdbcTaskEngine.service();
+
+        // Пакетная вставка задач с различающимися датами создания у разных владельцев
+        List<TaskEntity> tasks = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < EXTRA_TASKS; i++) {
+            TaskEntity taskEntity = new TaskEntity();
+            taskEntity.setId(UUID.randomUUID());
+            taskEntity.setName("Batch Task " + i);
+            taskEntity.setDescription(i % 2 == 0 ? "Even description" : null);
+            taskEntity.setCompleted(i % 3 == 0);
+            taskEntity.setCreatedAt(new Date(now - i * 1000L));
+            taskEntity.setUpdatedAt(new Date(now - i * 1000L));
+            taskEntity.setOwner(i % 2 == 0 ? user : manager);
+            tasks.add(taskEntity);
+        }
+        jdbcTaskRepository.saveAll(tasks);
+    }
+
+    private static Stream<Arguments> filterCombinations() {
+        List<Arguments> combinations = new ArrayList<>();
+        for (String username : List.of("user", "manager", "admin")) {
+            for (String name : new String[]{null, "Batch Task 1"}) {
+                for (String search : new String[]{null, "even"}) {
+                    for (Boolean completed : new Boolean[]{null, true, false}) {
+                        combinations.add(arguments(username, name, search, completed));
+                    }
+                }
+            }
+        }
+        return combinations.stream();
+    }
+
+    @ParameterizedTest(name = "[{index}] user={0}, name={1}, search={2}, completed={3}")
+    @MethodSource("filterCombinations")
+    void shouldReturnSamePagesAsJpa(String username, String name, String search, Boolean completed) {
+        authenticate(username);
+        for (int pageNumber = 0; pageNumber < 5; pageNumber++) {
+            TaskFilterModel filter = new TaskFilterModel(pageNumber, 7, name, search, completed, null, null);
+
+            Page<TaskModel> expected = taskService.filterBy(filter);
+            Page<TaskModel> actual = jdbcTaskService.filterBy(filter);
+
+            assertEquals(expected.getTotalElements(), actual.getTotalElements());
+            assertEquals(expected.getContent(), actual.getContent());
+        }
+    }
+
+    @ParameterizedTest(name = "[{index}] user={0}, name={1}, search={2}, completed={3}")
+    @MethodSource("filterCombinations")
+    void shouldReturnSameSlicesAsJpa(String username, String name, String search, Boolean completed) {
+        authenticate(username);
+        TaskFilterModel expectedFilter = new TaskFilterModel(null, 4, name, search, completed, null, "");
+        TaskFilterModel actualFilter = new TaskFilterModel(null, 4, name, search, completed, null, "");
+
+        KeysetSlice<TaskModel> expected;
+        KeysetSlice<TaskModel> actual;
+        do {
+            expected = taskService.filterByCursor(expectedFilter);
+            actual = jdbcTaskService.filterByCursor(actualFilter);
+
+            assertEquals(expected.getContent(), actual.getContent());
+            assertEquals(expected.getNextCursor(), actual.getNextCursor());
+
+            expectedFilter.setCursor(expected.getNextCursor());
+            actualFilter.setCursor(actual.getNextCursor());
+        } while (expected.hasNext());
+    }
+
+    @ParameterizedTest
+    @MethodSource("usernames")
+    void shouldReturnSameTasksAsJpa(String username) {
+        authenticate(username);
+
+        assertEquals(new HashSet<>(taskService.getAllTasks()), new HashSet<>(jdbcTaskService.getAllTasks()));
+
+        List<TaskModel> expected = new ArrayList<>();
+        List<TaskModel> actual = new ArrayList<>();
+        taskService.exportTasks(expected::add);
+        jdbcTaskService.exportTasks(actual::add);
+        assertEquals(expected, actual);
+    }
+
+    private static Stream<String> usernames() {
+        return Stream.of("user", "manager", "admin");
+    }
+
+    @Test
+    void shouldCreateUpdateAndDeleteTask() {
+        authenticate("user");
+
+        TaskModel created = jdbcTaskService.addTask(new TaskModel(null, "Jdbc Task", "Jdbc Description", false));
+        assertNotNull(created.getId());
+        assertEquals(created, taskService.getTaskById(created.getId()).orElseThrow());
+
+        created.setCompleted(true);
+        created.setName("Jdbc Task Updated");
+        TaskModel updated = jdbcTaskService.updateTask(created);
+        assertEquals(created, updated);
+        assertEquals(updated, jdbcTaskService.getTaskById(created.getId()).orElseThrow());
+        assertEquals(user.getId(), jdbcTaskRepository.findOwnerIdById(created.getId()).orElseThrow());
+
+        jdbcTaskService.deleteTask(created.getId());
+        assertTrue(jdbcTaskService.getTaskById(created.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldDenyAccessToForeignTask() {
+        authenticate("user");
+
+        assertThrows(AccessDeniedException.class, () -> jdbcTaskService.getTaskById(adminTask.getId()));
+        assertThrows(AccessDeniedException.class, () -> jdbcTaskService.deleteTask(adminTask.getId()));
+    }
+
+    @Test
+    void shouldDeleteTasksInOneStatement() {
+        authenticate("admin");
+
+        jdbcTaskRepository.deleteAllById(List.of(task.getId(), adminTask.getId()));
+
+        assertTrue(jdbcTaskRepository.findById(task.getId()).isEmpty());
+        assertTrue(jdbcTaskRepository.findById(adminTask.getId()).isEmpty());
+        assertEquals(EXTRA_TASKS, jdbcTaskService.getAllTasks().size());
+    }
+
+    @Test
+    void shouldApplyBatchOperationsPerItem() {
+        authenticate("user");
+
+        List<TaskBatchResult> created = jdbcTaskService.addTasks(List.of(
+                new TaskModel(null, "Batch Created 1", null, false),
+                new TaskModel(null, "Batch Created 2", null, true)));
+        assertEquals(List.of(TaskBatchStatus.CREATED, TaskBatchStatus.CREATED),
+                created.stream().map(TaskBatchResult::getStatus).toList());
+        assertEquals(created.get(1).getTask(), taskService.getTaskById(created.get(1).getId()).orElseThrow());
+
+        TaskModel ownUpdate = new TaskModel(task.getId(), "Batch Updated", "Batch Description", true);
+        TaskModel foreignUpdate = new TaskModel(adminTask.getId(), "Batch Hijacked", null, true);
+        List<TaskBatchResult> updated = jdbcTaskService.updateTasks(List.of(ownUpdate, foreignUpdate));
+        assertEquals(TaskBatchStatus.UPDATED, updated.get(0).getStatus());
+        assertEquals(ownUpdate, updated.get(0).getTask());
+        assertEquals(TaskBatchStatus.FORBIDDEN, updated.get(1).getStatus());
+        assertEquals("Admin Test Task", jdbcTaskRepository.findById(adminTask.getId()).orElseThrow().getName());
+
+        UUID missingId = UUID.randomUUID();
+        List<TaskBatchResult> deleted = jdbcTaskService.deleteTasks(List.of(created.get(0).getId(), missingId));
+        assertEquals(TaskBatchStatus.DELETED, deleted.get(0).getStatus());
+        assertEquals(TaskBatchResult.rejected(1, missingId, TaskBatchStatus.NOT_FOUND), deleted.get(1));
+        assertTrue(jdbcTaskRepository.findById(created.get(0).getId()).isEmpty());
+
+        TaskModel duplicate = new TaskModel(task.getId(), "Batch Duplicate", null, false);
+        assertEquals(List.of(TaskBatchResult.rejected(0, task.getId(), TaskBatchStatus.DUPLICATE),
+                        TaskBatchResult.rejected(1, task.getId(), TaskBatchStatus.DUPLICATE)),
+                jdbcTaskService.updateTasks(List.of(duplicate, duplicate)));
+        assertEquals(List.of(TaskBatchResult.rejected(0, task.getId(), TaskBatchStatus.DUPLICATE),
+                        TaskBatchResult.rejected(1, task.getId(), TaskBatchStatus.DUPLICATE)),
+                jdbcTaskService.deleteTasks(List.of(task.getId(), task.getId())));
+        assertEquals("Batch Updated", jdbcTaskRepository.findById(task.getId()).orElseThrow().getName());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.maelnor.tasks.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.model.TaskCacheEntry;
+import ru.maelnor.tasks.model.TaskModel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JpaTaskServiceCacheTest extends TaskAbstractTest {
+
+    private static final int THREADS = 12;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldCheckPermissionsOnCacheHit() {
+        authenticate(admin);
+        // Запись попадает в кэш при обращении администратора
+        assertTrue(taskService.getTaskById(adminTask.getId()).isPresent());
+
+        authenticate(user);
+        assertThrows(AccessDeniedException.class, () -> taskService.getTaskById(adminTask.getId()));
+
+        TaskCacheEntry entry = cacheManager.getCache("tasks").get(adminTask.getId(), TaskCacheEntry.class);
+        assertNotNull(entry);
+        assertEquals(admin.getId(), entry.getOwnerId());
+    }
+
+    @Test
+    void shouldNotKeepTaskReadBeforeUpdateCommit() {
+        authenticate(admin);
+        TaskModel taskModel = taskService.getTaskById(adminTask.getId()).orElseThrow();
+        taskModel.setName("Renamed Admin Task");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                taskService.updateTask(taskModel);
+                // Параллельный читатель промахивается мимо кэша и загружает ещё не зафиксированную строку
+                cacheManager.getCache("tasks").evict(adminTask.getId());
+                TaskModel concurrent = CompletableFuture.supplyAsync(() -> {
+                    authenticate(admin);
+                    try {
+                        return taskService.getTaskById(adminTask.getId()).orElseThrow();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }, executor).join();
+                assertEquals(adminTask.getName(), concurrent.getName());
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // После фиксации прочитанная до неё запись не осталась ни в L1, ни в Redis
+        assertNull(cacheManager.getCache("tasks").get(adminTask.getId()));
+        assertEquals("Renamed Admin Task", taskService.getTaskById(adminTask.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void shouldNotLeakCachedTaskToConcurrentUsersWithoutAccess() throws Exception {
+        List<UserEntity> callers = List.of(admin, manager, user);
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger denied = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                UserEntity caller = callers.get(thread % callers.size());
+                futures.add(executor.submit((Callable<Void>) () -> {
+                    authenticate(caller);
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        try {
+                            TaskModel taskModel = taskService.getTaskById(adminTask.getId()).orElseThrow();
+                            assertNotEquals(user.getId(), caller.getId(), "Задача выдана пользователю без доступа");
+                            assertEquals(adminTask.getName(), taskModel.getName());
+                            granted.incrementAndGet();
+                        } catch (AccessDeniedException e) {
+                            assertEquals(user.getId(), caller.getId(), "Доступ запрещен пользователю с правами");
+                            denied.incrementAndGet();
+                        }
+                    }
+                    SecurityContextHolder.clearContext();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int perRole = THREADS / callers.size() * ITERATIONS;
+        assertEquals(2 * perRole, granted.get());
+        assertEquals(perRole, denied.get());
+    }
+}
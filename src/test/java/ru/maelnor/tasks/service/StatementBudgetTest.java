@@ -0,0 +1,147 @@
+package ru.maelnor.tasks.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.model.AuthResponse;
+import ru.maelnor.tasks.model.LoginRequest;
+import ru.maelnor.tasks.model.RefreshTokenRequest;
+import ru.maelnor.tasks.model.TaskCountStrategy;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.security.SecurityService;
+import ru.maelnor.tasks.support.SqlStatementRecorder;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Бюджеты SQL-операторов для публичных методов {@link TaskService}, {@link UserService} и {@link SecurityService}.
+ * Каждый тест фиксирует, сколько операторов допускается на один вызов; изменение, добавляющее запросы,
+ * должно явно поднять бюджет. Операторы триггеров базы данных не учитываются, так как выполняются на сервере.
+ * {@link SecurityService#register} не проверяется: регистрация отключена и не вызывается контроллером.
+ */
+@Import(SqlStatementRecorder.class)
+public class StatementBudgetTest extends TaskAbstractTest {
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @BeforeEach
+    void authenticateAdmin() {
+        authenticate(admin);
+    }
+
+    @Test
+    void getAllTasks() {
+        assertEquals(2, recorder.withinBudget("getAllTasks", 1, () -> taskService.getAllTasks()).size());
+    }
+
+    @Test
+    void getTaskById() {
+        recorder.withinBudget("getTaskById, промах кэша", 1, () -> taskService.getTaskById(task.getId()));
+        recorder.withinBudget("getTaskById, попадание в кэш", 0, () -> taskService.getTaskById(task.getId()));
+    }
+
+    @Test
+    void addTask() {
+        recorder.withinBudget("addTask", 3, () -> taskService.addTask(new TaskModel(null, "Budget Task", null, false)));
+    }
+
+    @Test
+    void updateTask() {
+        TaskModel updated = new TaskModel(task.getId(), "Updated Task", "Updated Description", true);
+        recorder.withinBudget("updateTask", 3, () -> taskService.updateTask(updated));
+    }
+
+    @Test
+    void deleteTask() {
+        recorder.withinBudget("deleteTask", 3, () -> taskService.deleteTask(task.getId()));
+    }
+
+    @Test
+    void filterBy() {
+        TaskFilterModel filter = new TaskFilterModel();
+        recorder.withinBudget("filterBy", 2, () -> taskService.filterBy(filter, TaskCountStrategy.EXACT));
+        recorder.withinBudget("filterBy, страница из кэша", 0, () -> taskService.filterBy(filter, TaskCountStrategy.EXACT));
+    }
+
+    @Test
+    void filterByCursor() {
+        TaskFilterModel filter = new TaskFilterModel();
+        filter.setCursor("");
+        recorder.withinBudget("filterByCursor", 1, () -> taskService.filterByCursor(filter));
+    }
+
+    @Test
+    void exportTasks() {
+        recorder.withinBudget("exportTasks", 1, () -> taskService.exportTasks(taskModel -> {
+        }));
+    }
+
+    @Test
+    void addTasks() {
+        List<TaskModel> taskModels = List.of(
+                new TaskModel(null, "Batch Task 1", null, false),
+                new TaskModel(null, "Batch Task 2", null, false),
+                new TaskModel(null, "Batch Task 3", null, false));
+        recorder.withinBudget("addTasks", 3, () -> taskService.addTasks(taskModels));
+    }
+
+    @Test
+    void updateTasks() {
+        List<TaskModel> taskModels = List.of(
+                new TaskModel(task.getId(), "Updated Task", null, true),
+                new TaskModel(adminTask.getId(), "Updated Admin Task", null, true));
+        recorder.withinBudget("updateTasks", 3, () -> taskService.updateTasks(taskModels));
+    }
+
+    @Test
+    void deleteTasks() {
+        List<UUID> ids = List.of(task.getId(), adminTask.getId());
+        recorder.withinBudget("deleteTasks", 3, () -> taskService.deleteTasks(ids));
+    }
+
+    @Test
+    void getUserById() {
+        recorder.withinBudget("getUserById", 1, () -> userService.getUserById(user.getId()));
+    }
+
+    @Test
+    void changeUserPassword() {
+        recorder.withinBudget("changeUserPassword", 2, () -> userService.changeUserPassword(user.getId(), "changed"));
+    }
+
+    @Test
+    void getUsesWithTask() {
+        recorder.withinBudget("getUsesWithTask, загрузка справочника", 1, () -> userService.getUsesWithTask());
+        recorder.withinBudget("getUsesWithTask", 0, () -> userService.getUsesWithTask());
+    }
+
+    @Test
+    void authenticate() {
+        recorder.withinBudget("authenticate", 2, () -> securityService.authenticate(new LoginRequest("admin", "admin")));
+    }
+
+    @Test
+    void refreshToken() {
+        AuthResponse authResponse = securityService.authenticate(new LoginRequest("admin", "admin"));
+        RefreshTokenRequest request = new RefreshTokenRequest(authResponse.getRefreshToken());
+        recorder.withinBudget("refreshToken", 1, () -> securityService.refreshToken(request));
+    }
+
+    @Test
+    void logout() {
+        recorder.withinBudget("logout", 1, () -> securityService.logout());
+    }
+}
@@ -0,0 +1,120 @@
+package ru.maelnor.tasks.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.model.TaskCountStrategy;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.repository.TaskCountRepository;
+import ru.maelnor.tasks.support.SqlStatementRecorder;
+import ru.maelnor.tasks.support.SqlStatementRecorder.RecordedStatement;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(SqlStatementRecorder.class)
+public class TaskCountServiceTest extends TaskAbstractTest {
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    @Autowired
+    private TaskCountRepository taskCountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldMaintainOwnerCountersOnWrite() {
+        authenticate(user);
+        assertEquals(1, taskCountRepository.countByOwner(user.getId(), null));
+
+        TaskModel created = taskService.addTask(new TaskModel(null, "Counted Task", null, false));
+        TaskModel completed = taskService.getTaskById(task.getId()).orElseThrow();
+        completed.setCompleted(true);
+        taskService.updateTask(completed);
+
+        assertEquals(2, taskCountRepository.countByOwner(user.getId(), null));
+        assertEquals(1, taskCountRepository.countByOwner(user.getId(), true));
+        assertEquals(1, taskCountRepository.countByOwner(user.getId(), false));
+
+        taskService.deleteTask(created.getId());
+        assertEquals(1, taskCountRepository.countByOwner(user.getId(), null));
+        assertEquals(1, taskCountRepository.countByOwner(admin.getId(), null));
+    }
+
+    @Test
+    void shouldCountOwnedTasksFromCounters() {
+        authenticate(user);
+        taskService.addTask(new TaskModel(null, "Second Task", null, false));
+
+        recorder.start();
+        Page<TaskModel> page = taskService.filterBy(pageOf(0), TaskCountStrategy.EXACT);
+        List<RecordedStatement> statements = recorder.stop();
+
+        assertEquals(2, page.getTotalElements());
+        assertTrue(statements.stream().noneMatch(statement -> isCount(statement.sql())), statements::toString);
+        assertTrue(statements.stream().anyMatch(statement -> statement.sql().contains("task_counts")), statements::toString);
+    }
+
+    @Test
+    void shouldReuseCachedCountAcrossPages() {
+        authenticate(admin);
+        taskService.addTask(new TaskModel(null, "Admin Second Task", null, false));
+        TaskFilterModel filter = pageOf(0);
+        filter.setName("Task");
+        assertEquals(3, taskService.filterBy(filter, TaskCountStrategy.CACHED).getTotalElements());
+
+        filter.setPageNumber(1);
+        recorder.start();
+        Page<TaskModel> page = taskService.filterBy(filter, TaskCountStrategy.CACHED);
+        List<RecordedStatement> statements = recorder.stop();
+
+        assertEquals(3, page.getTotalElements());
+        assertTrue(statements.stream().noneMatch(statement -> isCount(statement.sql())), statements::toString);
+    }
+
+    @Test
+    void shouldInvalidateCachedCountOnWrite() {
+        authenticate(admin);
+        TaskFilterModel filter = pageOf(0);
+        filter.setName("Task");
+        taskService.addTask(new TaskModel(null, "Admin Second Task", null, false));
+        assertEquals(3, taskService.filterBy(filter, TaskCountStrategy.CACHED).getTotalElements());
+
+        taskService.addTask(new TaskModel(null, "Admin Third Task", null, false));
+
+        assertEquals(4, taskService.filterBy(filter, TaskCountStrategy.CACHED).getTotalElements());
+    }
+
+    @Test
+    void shouldUsePlannerEstimateForUnfilteredAdminList() {
+        authenticate(admin);
+        taskService.addTask(new TaskModel(null, "Admin Second Task", null, false));
+        jdbcTemplate.execute("ANALYZE tasks");
+
+        recorder.start();
+        Page<TaskModel> page = taskService.filterBy(pageOf(0), TaskCountStrategy.ESTIMATED);
+        List<RecordedStatement> statements = recorder.stop();
+
+        assertEquals(3, page.getTotalElements());
+        assertTrue(statements.stream().anyMatch(statement -> statement.sql().contains("pg_class")), statements::toString);
+        assertTrue(statements.stream().noneMatch(statement -> isCount(statement.sql())), statements::toString);
+    }
+
+    private static TaskFilterModel pageOf(int pageNumber) {
+        TaskFilterModel filter = new TaskFilterModel();
+        filter.setPageNumber(pageNumber);
+        filter.setPageSize(1);
+        return filter;
+    }
+
+    private static boolean isCount(String sql) {
+        return sql.toLowerCase().contains("count(");
+    }
+}
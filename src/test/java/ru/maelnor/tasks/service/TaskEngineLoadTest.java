@@ -0,0 +1,139 @@
+package ru.maelnor.tasks.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.model.KeysetSlice;
+import ru.maelnor.tasks.model.TaskBatchResult;
+import ru.maelnor.tasks.model.TaskFilterModel;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.repository.JdbcTaskRepository;
+import ru.maelnor.tasks.support.JdbcTaskEngine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочное сравнение хранилищ задач: одинаковые операции выполняются через JPA- и JDBC-сервис
+ * на одной базе, пропускная способность и среднее время операции записываются
+ * в {@code build/results/load/engines.json}.
+ * Измеряются операции, не обслуживаемые кэшами: обход срезов по курсору, выгрузка и пакетная запись.
+ * Запускается задачей {@code ./gradlew loadTest} и не входит в обычный прогон тестов.
+ */
+@Tag("load")
+@Import(JdbcTaskEngine.class)
+public class TaskEngineLoadTest extends TaskAbstractTest {
+
+    private static final int TASKS = 2_000;
+    private static final int SLICE_SIZE = 50;
+    private static final int BATCH_SIZE = 100;
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private JdbcTaskEngine jdbcTaskEngine;
+
+    private TaskService jdbcTaskService;
+
+    @BeforeEach
+    void setUpEngines() {
+        JdbcTaskRepository jdbcTaskRepository = jdbcTaskEngine.repository();
+        jdbcTaskService = jdbcTaskEngine.service();
+
+        List<TaskEntity> tasks = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < TASKS; i++) {
+            TaskEntity taskEntity = new TaskEntity();
+            taskEntity.setId(UUID.randomUUID());
+            taskEntity.setName("Load Task " + i);
+            taskEntity.setDescription(i % 2 == 0 ? "Load description " + i : null);
+            taskEntity.setCompleted(i % 3 == 0);
+            taskEntity.setCreatedAt(new Date(now - i * 1000L));
+            taskEntity.setUpdatedAt(new Date(now - i * 1000L));
+            taskEntity.setOwner(i % 2 == 0 ? user : admin);
+            tasks.add(taskEntity);
+        }
+        jdbcTaskRepository.saveAll(tasks);
+
+        authenticate(admin);
+    }
+
+    @Test
+    void compareEngines() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("tasks", TASKS + 2);
+        report.put("jpa", measure(taskService));
+        report.put("jdbc", measure(jdbcTaskService));
+
+        Path file = Path.of("build", "results", "load", "engines.json");
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private Map<String, Object> measure(TaskService service) {
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("cursorWalk", measure(() -> assertEquals(TASKS + 2, walkSlices(service))));
+        results.put("export", measure(() -> service.exportTasks(task -> {
+        })));
+        results.put("batchWrite", measure(() -> writeBatch(service)));
+        return results;
+    }
+
+    private static Map<String, Object> measure(Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.run();
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("iterations", ITERATIONS);
+        result.put("opsPerSecond", ITERATIONS / elapsedSeconds);
+        result.put("meanMillis", elapsedSeconds * 1000 / ITERATIONS);
+        return result;
+    }
+
+    private static int walkSlices(TaskService service) {
+        TaskFilterModel filter = new TaskFilterModel(null, SLICE_SIZE, null, null, null, null, "");
+        int read = 0;
+        KeysetSlice<TaskModel> slice;
+        do {
+            slice = service.filterByCursor(filter);
+            read += slice.getNumberOfElements();
+            filter.setCursor(slice.getNextCursor());
+        } while (slice.hasNext());
+        return read;
+    }
+
+    /**
+     * Создает, обновляет и удаляет пакет задач, чтобы размер таблицы между итерациями не менялся.
+     */
+    private static void writeBatch(TaskService service) {
+        List<TaskModel> created = service.addTasks(IntStream.range(0, BATCH_SIZE)
+                        .mapToObj(i -> new TaskModel(null, "Batch Task " + i, null, false))
+                        .toList())
+                .stream()
+                .map(TaskBatchResult::getTask)
+                .toList();
+        created.forEach(task -> task.setCompleted(true));
+        service.updateTasks(created);
+        service.deleteTasks(created.stream().map(TaskModel::getId).toList());
+    }
+}
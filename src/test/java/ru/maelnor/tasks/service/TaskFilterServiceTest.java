@@ -0,0 +1,50 @@
+package ru.maelnor.tasks.service;
+
+import org.junit.jupiter.api.Test;
+import ru.maelnor.tasks.model.TaskFilterModel;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFilterServiceTest {
+
+    private static final Map<Class<?>, Object> SAMPLE_VALUES = Map.of(
+            Integer.class, 1,
+            String.class, "value",
+            Boolean.class, false,
+            UUID.class, UUID.randomUUID());
+
+    private final TaskFilterService taskFilterService = new TaskFilterService(null);
+
+    @Test
+    void shouldTreatFilterWithoutValuesAsEmpty() {
+        assertFalse(taskFilterService.isFilterNotEmpty(new TaskFilterModel()));
+    }
+
+    @Test
+    void shouldTreatEmptyStringsAsEmpty() {
+        TaskFilterModel taskFilterModel = new TaskFilterModel();
+        taskFilterModel.setName("");
+        taskFilterModel.setSearch("");
+        taskFilterModel.setCursor("");
+
+        assertFalse(taskFilterService.isFilterNotEmpty(taskFilterModel));
+    }
+
+    @Test
+    void shouldCheckEveryFilterField() throws IllegalAccessException {
+        // Проверка не использует рефлексию, поэтому новое поле фильтра должно быть добавлено в нее явно
+        for (Field field : TaskFilterModel.class.getDeclaredFields()) {
+            Object value = SAMPLE_VALUES.get(field.getType());
+            assertNotNull(value, "Нет значения для поля " + field.getName());
+            TaskFilterModel taskFilterModel = new TaskFilterModel();
+            field.setAccessible(true);
+            field.set(taskFilterModel, value);
+
+            assertTrue(taskFilterService.isFilterNotEmpty(taskFilterModel), field.getName());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.maelnor.tasks.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.exception.InvalidReportPeriodException;
+import ru.maelnor.tasks.model.TaskDailyStats;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.model.TaskOwnerStats;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskReportServiceTest extends TaskAbstractTest {
+
+    @Autowired
+    private TaskReportService taskReportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearRollups() {
+        // Задачи фикстур уже учтены триггерами, проверяются только изменения внутри теста
+        jdbcTemplate.update("DELETE FROM task_daily_stats");
+        authenticate(user);
+    }
+
+    @Test
+    void shouldCountCreatedCompletedAndDeletedTasks() {
+        LocalDate today = LocalDate.now();
+        TaskModel created = taskService.addTask(new TaskModel(null, "Reported Task", null, false));
+        TaskModel completed = taskService.getTaskById(task.getId()).orElseThrow();
+        completed.setCompleted(true);
+        taskService.updateTask(completed);
+        // Повторное сохранение завершенной задачи не считается повторным завершением
+        completed.setName("Renamed Task");
+        taskService.updateTask(completed);
+        taskService.deleteTask(created.getId());
+
+        List<TaskDailyStats> daily = taskReportService.getDailyStats(today.minusDays(1), today, user.getId());
+        assertEquals(List.of(new TaskDailyStats(today, 1, 1, 1)), daily);
+
+        List<TaskOwnerStats> owners = taskReportService.getOwnerStats(today, today);
+        assertEquals(List.of(new TaskOwnerStats(user.getId(), 1, 1, 1)), owners);
+        assertTrue(taskReportService.getDailyStats(today, today, admin.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldSubtractReopenedTaskFromCompletionDay() {
+        LocalDate today = LocalDate.now();
+        LocalDate completionDay = today.minusDays(3);
+        jdbcTemplate.update("UPDATE tasks SET completed = true WHERE id = ?", task.getId());
+        jdbcTemplate.update("UPDATE tasks SET completed_at = completed_at - interval '3 days' WHERE id = ?", task.getId());
+        jdbcTemplate.update("DELETE FROM task_daily_stats");
+
+        TaskModel reopened = taskService.getTaskById(task.getId()).orElseThrow();
+        reopened.setCompleted(false);
+        taskService.updateTask(reopened);
+
+        assertEquals(List.of(new TaskDailyStats(completionDay, 0, -1, 0)),
+                taskReportService.getDailyStats(completionDay, today, user.getId()));
+    }
+
+    @Test
+    void shouldRejectInvalidPeriod() {
+        LocalDate today = LocalDate.now();
+        assertThrows(InvalidReportPeriodException.class,
+                () -> taskReportService.getDailyStats(today, today.minusDays(1), null));
+        assertThrows(InvalidReportPeriodException.class,
+                () -> taskReportService.getOwnerStats(today.minusDays(TaskReportService.MAX_PERIOD_DAYS), today));
+    }
+}
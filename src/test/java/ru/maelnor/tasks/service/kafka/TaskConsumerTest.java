@@ -0,0 +1,55 @@
+package ru.maelnor.tasks.service.kafka;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.model.TaskModel;
+import ru.maelnor.tasks.service.readmodel.TaskReadModel;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskConsumerTest extends TaskAbstractTest {
+
+    @Autowired
+    private TaskReadModel readModel;
+
+    @Autowired
+    private TaskProducer taskProducer;
+
+    @Test
+    void shouldApplyTaskEventsToReadModel() {
+        authenticate(user);
+
+        TaskModel created = taskService.addTask(new TaskModel(null, "Read Model Task", null, false));
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertTrue(readModel.getTaskIds(user.getId()).contains(created.getId())));
+
+        created.setCompleted(true);
+        taskService.updateTask(created);
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertTrue(readModel.isCompleted(created.getId())));
+        assertEquals(1, readModel.getOwnerSummary(user.getId()).completed());
+
+        taskService.deleteTask(created.getId());
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertTrue(readModel.getTask(created.getId()).isEmpty()));
+        assertFalse(readModel.getTaskIds(user.getId()).contains(created.getId()));
+    }
+
+    @Test
+    void shouldRemoveTaskOnTombstone() {
+        authenticate(user);
+
+        TaskModel created = taskService.addTask(new TaskModel(null, "Tombstone Task", null, false));
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertTrue(readModel.getTask(created.getId()).isPresent()));
+
+        taskProducer.sendTombstone(created.getId());
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+                assertTrue(readModel.getTask(created.getId()).isEmpty()));
+        assertFalse(readModel.getTaskIds(user.getId()).contains(created.getId()));
+    }
+}
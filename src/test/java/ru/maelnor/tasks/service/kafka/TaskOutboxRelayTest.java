@@ -0,0 +1,125 @@
+package ru.maelnor.tasks.service.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.maelnor.tasks.TaskAbstractTest;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.dto.kafka.TaskStatus;
+import ru.maelnor.tasks.entity.TaskEntity;
+import ru.maelnor.tasks.entity.UserEntity;
+import ru.maelnor.tasks.model.TaskModel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskOutboxRelayTest extends TaskAbstractTest {
+
+    @Autowired
+    private ConsumerFactory<String, KafkaTaskMessage> consumerFactory;
+
+    @Autowired
+    private TaskOutboxService taskOutbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldPublishTaskEventsInOrderAfterCommit() {
+        authenticate(user);
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.GROUP_ID_CONFIG, "outbox-test-" + UUID.randomUUID());
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        try (Consumer<String, KafkaTaskMessage> consumer = consumerFactory.createConsumer(null, null, null, overrides)) {
+            consumer.subscribe(List.of("task_list"));
+
+            TaskModel created = taskService.addTask(new TaskModel(null, "Outbox Task", null, false));
+            created.setCompleted(true);
+            taskService.updateTask(created);
+            taskService.deleteTask(created.getId());
+
+            List<ConsumerRecord<String, KafkaTaskMessage>> received = new ArrayList<>();
+            await().atMost(Duration.ofSeconds(30)).until(() -> {
+                consumer.poll(Duration.ofMillis(200)).forEach(record -> {
+                    if (record.key().equals(created.getId().toString())) {
+                        received.add(record);
+                    }
+                });
+                return received.size() >= 4;
+            });
+
+            assertEquals(List.of(TaskStatus.NEW, TaskStatus.UPDATED, TaskStatus.DELETED),
+                    received.subList(0, 3).stream().map(record -> record.value().getStatus()).toList());
+            assertNull(received.get(3).value());
+            assertTrue(received.get(1).value().isCompleted());
+            assertNotNull(received.get(2).value().getOwnerId());
+        }
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM task_outbox", Integer.class)));
+        assertTrue(meterRegistry.get("task.outbox.published").counter().count() >= 3);
+        assertNotNull(meterRegistry.find("task.outbox.lag").gauge());
+    }
+
+    @Test
+    void shouldWaitForTaskRowLockBeforeEnqueueingUpdate() throws Exception {
+        TaskModel update = new TaskModel(task.getId(), "Locked Task", null, true);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Void> updated = new CompletableFuture<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                taskRepository.findForUpdateById(task.getId()).orElseThrow();
+                executor.execute(() -> {
+                    authenticate(user);
+                    try {
+                        taskService.updateTask(update);
+                        updated.complete(null);
+                    } catch (RuntimeException e) {
+                        updated.completeExceptionally(e);
+                    }
+                });
+                // Пока строка задачи заблокирована, обновление не доходит до записи события в outbox
+                assertThrows(TimeoutException.class, () -> updated.get(1, TimeUnit.SECONDS));
+            });
+            updated.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals("Locked Task", taskRepository.findById(task.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void shouldRequireSurroundingTransaction() {
+        UserEntity owner = new UserEntity();
+        owner.setId(UUID.randomUUID());
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(UUID.randomUUID());
+        taskEntity.setName("Outbox Task");
+        taskEntity.setOwner(owner);
+
+        assertThrows(IllegalTransactionStateException.class, () -> taskOutbox.enqueue(taskEntity, TaskStatus.NEW));
+    }
+}
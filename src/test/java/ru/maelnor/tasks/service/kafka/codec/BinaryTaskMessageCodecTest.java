@@ -0,0 +1,112 @@
+package ru.maelnor.tasks.service.kafka.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.dto.kafka.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class BinaryTaskMessageCodecTest {
+
+    private static Stream<Arguments> messages() {
+        return Stream.of(
+                arguments(new KafkaTaskMessage(UUID.randomUUID(), "Test Task", "Test Description", true, TaskStatus.NEW, UUID.randomUUID())),
+                arguments(new KafkaTaskMessage(UUID.randomUUID(), null, null, false, TaskStatus.DELETED, null)),
+                arguments(new KafkaTaskMessage(UUID.randomUUID(), "Задача", "", false, TaskStatus.UPDATED, UUID.randomUUID())),
+                arguments(new KafkaTaskMessage(UUID.randomUUID(), "Long Task", "Описание ".repeat(100), true, TaskStatus.UPDATED, null))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("messages")
+    void shouldRoundTripMessage(KafkaTaskMessage message) {
+        KafkaTaskMessage decoded = BinaryTaskMessageCodec.decode(BinaryTaskMessageCodec.encode(message));
+
+        assertEquals(message.getId(), decoded.getId());
+        assertEquals(message.getName(), decoded.getName());
+        assertEquals(message.getDescription(), decoded.getDescription());
+        assertEquals(message.isCompleted(), decoded.isCompleted());
+        assertEquals(message.getStatus(), decoded.getStatus());
+        assertEquals(message.getOwnerId(), decoded.getOwnerId());
+    }
+
+    @Test
+    void shouldIgnoreFieldsOfNewerSchemaVersion() {
+        KafkaTaskMessage message = new KafkaTaskMessage(UUID.randomUUID(), "Test Task", null, true, TaskStatus.NEW, UUID.randomUUID());
+        byte[] encoded = BinaryTaskMessageCodec.encode(message);
+        byte[] newer = Arrays.copyOf(encoded, encoded.length + 3);
+        newer[1] = BinaryTaskMessageCodec.VERSION + 1;
+
+        KafkaTaskMessage decoded = BinaryTaskMessageCodec.decode(newer);
+
+        assertEquals(message.getId(), decoded.getId());
+        assertEquals(message.getName(), decoded.getName());
+        assertEquals(message.getOwnerId(), decoded.getOwnerId());
+        assertTrue(decoded.isCompleted());
+    }
+
+    @Test
+    void shouldReadFirstSchemaVersionWithoutOwner() {
+        UUID id = UUID.randomUUID();
+        // Запись версии 1: magic, version, id, status, flags (completed | name), name
+        byte[] name = "Test Task".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(20 + 1 + name.length)
+                .put(BinaryTaskMessageCodec.MAGIC)
+                .put((byte) 1)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .put(TaskStatus.NEW.getCode())
+                .put((byte) 0b011)
+                .put((byte) name.length)
+                .put(name);
+
+        KafkaTaskMessage decoded = BinaryTaskMessageCodec.decode(buffer.array());
+
+        assertEquals(id, decoded.getId());
+        assertEquals("Test Task", decoded.getName());
+        assertNull(decoded.getDescription());
+        assertNull(decoded.getOwnerId());
+        assertTrue(decoded.isCompleted());
+    }
+
+    @Test
+    void shouldRejectTruncatedMessage() {
+        byte[] encoded = BinaryTaskMessageCodec.encode(
+                new KafkaTaskMessage(UUID.randomUUID(), "Test Task", "Test Description", false, TaskStatus.NEW, null));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryTaskMessageCodec.decode(Arrays.copyOf(encoded, encoded.length - 4)));
+        assertThrows(SerializationException.class,
+                () -> new TaskMessageDeserializer().deserialize("task_list", Arrays.copyOf(encoded, 10)));
+    }
+
+    @Test
+    void shouldReadBothFormatsAndWriteFewerBytes() {
+        KafkaTaskMessage message = new KafkaTaskMessage(UUID.randomUUID(), "Test Task", "Test Description", true, TaskStatus.UPDATED, UUID.randomUUID());
+        RecordHeaders headers = new RecordHeaders();
+        byte[] json;
+        try (JsonSerializer<KafkaTaskMessage> jsonSerializer = new JsonSerializer<>()) {
+            json = jsonSerializer.serialize("task_list", headers, message);
+        }
+        byte[] binary = new BinaryTaskMessageSerializer().serialize("task_list", message);
+
+        TaskMessageDeserializer deserializer = new TaskMessageDeserializer();
+        assertEquals(message.getId(), deserializer.deserialize("task_list", headers, json).getId());
+        assertEquals(message.getId(), deserializer.deserialize("task_list", headers, binary).getId());
+        assertTrue(binary.length * 2 < json.length,
+                () -> "binary=" + binary.length + " bytes, json=" + json.length + " bytes");
+    }
+}
@@ -0,0 +1,75 @@
+package ru.maelnor.tasks.service.readmodel;
+
+import org.junit.jupiter.api.Test;
+import ru.maelnor.tasks.dto.kafka.KafkaTaskMessage;
+import ru.maelnor.tasks.dto.kafka.TaskStatus;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskReadModelTest {
+
+    private final TaskReadModel readModel = new TaskReadModel();
+
+    @Test
+    void shouldTrackTasksAndCompletionByOwner() {
+        UUID ownerId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        readModel.apply(new KafkaTaskMessage(first, "First Task", null, false, TaskStatus.NEW, ownerId));
+        readModel.apply(new KafkaTaskMessage(second, "Second Task", null, false, TaskStatus.NEW, ownerId));
+        readModel.apply(new KafkaTaskMessage(second, "Second Task", null, true, TaskStatus.UPDATED, ownerId));
+
+        assertEquals(Set.of(first, second), readModel.getTaskIds(ownerId));
+        assertEquals(new TaskReadModel.OwnerSummary(2, 1), readModel.getOwnerSummary(ownerId));
+        assertTrue(readModel.isCompleted(second));
+        assertFalse(readModel.isCompleted(first));
+    }
+
+    @Test
+    void shouldForgetDeletedTask() {
+        UUID ownerId = UUID.randomUUID();
+        UUID id = UUID.randomUUID();
+
+        readModel.apply(new KafkaTaskMessage(id, "Test Task", null, true, TaskStatus.NEW, ownerId));
+        readModel.apply(new KafkaTaskMessage(id, "Test Task", null, true, TaskStatus.DELETED, ownerId));
+        // Повторная доставка события удаления не должна ничего менять
+        readModel.apply(new KafkaTaskMessage(id, "Test Task", null, true, TaskStatus.DELETED, ownerId));
+
+        assertTrue(readModel.getTask(id).isEmpty());
+        assertEquals(Set.of(), readModel.getTaskIds(ownerId));
+        assertEquals(new TaskReadModel.OwnerSummary(0, 0), readModel.getOwnerSummary(ownerId));
+        assertEquals(0, readModel.size());
+    }
+
+    @Test
+    void shouldMoveTaskToNewOwner() {
+        UUID previousOwner = UUID.randomUUID();
+        UUID newOwner = UUID.randomUUID();
+        UUID id = UUID.randomUUID();
+
+        readModel.apply(new KafkaTaskMessage(id, "Test Task", null, true, TaskStatus.NEW, previousOwner));
+        readModel.apply(new KafkaTaskMessage(id, "Test Task", null, true, TaskStatus.UPDATED, newOwner));
+
+        assertEquals(Set.of(), readModel.getTaskIds(previousOwner));
+        assertEquals(new TaskReadModel.OwnerSummary(0, 0), readModel.getOwnerSummary(previousOwner));
+        assertEquals(new TaskReadModel.OwnerSummary(1, 1), readModel.getOwnerSummary(newOwner));
+    }
+
+    @Test
+    void shouldKeepKnownOwnerWhenMessageHasNone() {
+        UUID ownerId = UUID.randomUUID();
+        UUID id = UUID.randomUUID();
+
+        readModel.apply(new KafkaTaskMessage(id, "Test Task", null, false, TaskStatus.NEW, ownerId));
+        readModel.apply(new KafkaTaskMessage(id, "Renamed Task", null, false, TaskStatus.UPDATED, null));
+        readModel.apply(new KafkaTaskMessage(UUID.randomUUID(), "Unknown Task", null, false, TaskStatus.UPDATED, null));
+
+        assertEquals(ownerId, readModel.getTask(id).orElseThrow().ownerId());
+        assertEquals("Renamed Task", readModel.getTask(id).orElseThrow().name());
+        assertEquals(1, readModel.size());
+    }
+}
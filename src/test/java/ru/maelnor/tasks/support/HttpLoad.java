@@ -0,0 +1,87 @@
+package ru.maelnor.tasks.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntSupplier;
+
+/**
+ * Нагрузка на приложение: заданное количество запросов выполняется параллельно заданным количеством клиентов,
+ * каждый клиент в своем виртуальном потоке отправляет запросы последовательно.
+ */
+public final class HttpLoad {
+
+    private HttpLoad() {
+    }
+
+    /**
+     * Выполняет запросы и измеряет время ответа каждого из них.
+     *
+     * @param requests    общее количество запросов
+     * @param concurrency количество параллельных клиентов
+     * @param request     запрос, возвращающий HTTP-статус ответа
+     * @return результат нагрузки
+     * @throws AssertionError если хотя бы один ответ отличен от 200
+     */
+    public static Result run(int requests, int concurrency, IntSupplier request) throws Exception {
+        long[] latencies = new long[requests];
+        int[] statuses = new int[requests];
+        long started = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int client = 0; client < concurrency; client++) {
+                int first = client;
+                futures.add(clients.submit(() -> {
+                    for (int i = first; i < requests; i += concurrency) {
+                        long requestStarted = System.nanoTime();
+                        statuses[i] = request.getAsInt();
+                        latencies[i] = System.nanoTime() - requestStarted;
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        long failed = Arrays.stream(statuses).filter(status -> status != 200).count();
+        if (failed > 0) {
+            throw new AssertionError(failed + " из " + requests + " запросов завершились ошибкой, статусы: "
+                    + Arrays.stream(statuses).distinct().boxed().toList());
+        }
+        Arrays.sort(latencies);
+        return new Result(requests, concurrency, elapsed, latencies);
+    }
+
+    /**
+     * Результат нагрузки.
+     *
+     * @param requests    количество запросов
+     * @param concurrency количество параллельных клиентов
+     * @param elapsed     общее время выполнения
+     * @param latencies   время ответа каждого запроса в наносекундах по возрастанию
+     */
+    public record Result(int requests, int concurrency, Duration elapsed, long[] latencies) {
+
+        /**
+         * @return количество запросов в секунду
+         */
+        public double throughput() {
+            return requests / (elapsed.toNanos() / 1_000_000_000.0);
+        }
+
+        /**
+         * @param percentile процентиль от 0 до 100
+         * @return время ответа указанного процентиля в миллисекундах
+         */
+        public double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
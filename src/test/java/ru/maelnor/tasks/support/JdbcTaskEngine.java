@@ -0,0 +1,59 @@
+package ru.maelnor.tasks.support;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import ru.maelnor.tasks.cache.TaskOwnerDirectory;
+import ru.maelnor.tasks.cache.TaskWriteVersions;
+import ru.maelnor.tasks.repository.JdbcTaskRepository;
+import ru.maelnor.tasks.repository.JpaUserRepository;
+import ru.maelnor.tasks.repository.search.TaskSearchEngine;
+import ru.maelnor.tasks.service.CurrentUserService;
+import ru.maelnor.tasks.service.JdbcTaskService;
+import ru.maelnor.tasks.service.TaskCountService;
+import ru.maelnor.tasks.service.TaskService;
+import ru.maelnor.tasks.service.kafka.TaskOutboxService;
+
+/**
+ * JDBC-хранилище задач для тестов, работающих в контексте с {@code repository.type=jpa}: позволяет сравнивать
+ * оба хранилища на одной базе. Подключается к тестовому контексту через {@code @Import}.
+ * Сервис оборачивается в транзакционный прокси так же, как это делает контекст в режиме {@code repository.type=jdbc}.
+ */
+public class JdbcTaskEngine {
+
+    private final JdbcTaskRepository repository;
+    private final TaskService service;
+
+    public JdbcTaskEngine(JdbcTemplate jdbcTemplate,
+                          TaskSearchEngine searchEngine,
+                          PlatformTransactionManager transactionManager,
+                          TaskOutboxService taskOutbox,
+                          CurrentUserService currentUserService,
+                          JpaUserRepository userRepository,
+                          TaskWriteVersions taskWriteVersions,
+                          TaskOwnerDirectory taskOwnerDirectory,
+                          TaskCountService taskCountService) {
+        this.repository = new JdbcTaskRepository(jdbcTemplate, searchEngine);
+        ProxyFactory proxyFactory = new ProxyFactory(
+                new JdbcTaskService(repository, taskOutbox, currentUserService, userRepository,
+                        taskWriteVersions, taskOwnerDirectory, taskCountService));
+        proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, new AnnotationTransactionAttributeSource()));
+        this.service = (TaskService) proxyFactory.getProxy();
+    }
+
+    /**
+     * @return репозиторий JDBC-хранилища
+     */
+    public JdbcTaskRepository repository() {
+        return repository;
+    }
+
+    /**
+     * @return транзакционный сервис JDBC-хранилища
+     */
+    public TaskService service() {
+        return service;
+    }
+}
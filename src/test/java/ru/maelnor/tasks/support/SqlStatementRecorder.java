@@ -0,0 +1,147 @@
+package ru.maelnor.tasks.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Оборачивает {@link DataSource} приложения в прокси и записывает SQL-операторы, выполненные за время записи,
+ * вместе со значениями параметров. Подключается к тестовому контексту через {@code @Import}.
+ * Записываются только операторы потока, начавшего запись, поэтому фоновые задачи приложения
+ * (например, ретранслятор outbox) не попадают в результат.
+ */
+public class SqlStatementRecorder implements BeanPostProcessor, QueryExecutionListener {
+
+    private final List<RecordedStatement> statements = Collections.synchronizedList(new ArrayList<>());
+    private volatile Thread recordingThread;
+
+    /**
+     * Выполненный SQL-оператор.
+     *
+     * @param sql        текст оператора
+     * @param parameters операции установки параметров (для пакетного выполнения — первого набора)
+     * @param batchSize  количество наборов параметров в пакете, 1 для обычного выполнения
+     */
+    public record RecordedStatement(String sql, List<ParameterSetOperation> parameters, int batchSize) {
+
+        /**
+         * Устанавливает записанные параметры в другой подготовленный оператор с тем же набором плейсхолдеров.
+         *
+         * @param statement оператор, в который переносятся параметры
+         * @throws SQLException если установить параметр не удалось
+         */
+        public void bindTo(PreparedStatement statement) throws SQLException {
+            for (ParameterSetOperation operation : parameters) {
+                try {
+                    operation.getMethod().invoke(statement, operation.getArgs());
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new SQLException("Не удалось установить параметр " + operation.getMethod().getName(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(this)
+                    .build();
+        }
+        return bean;
+    }
+
+    /**
+     * Очищает ранее записанные операторы и начинает запись операторов текущего потока.
+     */
+    public void start() {
+        statements.clear();
+        recordingThread = Thread.currentThread();
+    }
+
+    /**
+     * Останавливает запись.
+     *
+     * @return операторы, выполненные с момента {@link #start()}
+     */
+    public List<RecordedStatement> stop() {
+        recordingThread = null;
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    /**
+     * Выполняет действие с записью операторов и проверяет, что их количество не превышает бюджет.
+     *
+     * @param description описание действия для сообщения об ошибке
+     * @param budget      допустимое количество операторов
+     * @param action      проверяемое действие
+     * @param <T>         тип результата действия
+     * @return результат действия
+     */
+    public <T> T withinBudget(String description, int budget, Supplier<T> action) {
+        start();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            recordingThread = null;
+        }
+        List<RecordedStatement> recorded = stop();
+        if (recorded.size() > budget) {
+            throw new AssertionError(description + ": выполнено операторов " + recorded.size()
+                    + " при бюджете " + budget + "\n" + recorded.stream()
+                    .map(RecordedStatement::sql)
+                    .collect(Collectors.joining("\n")));
+        }
+        return result;
+    }
+
+    /**
+     * Выполняет действие с записью операторов и проверяет, что их количество не превышает бюджет.
+     *
+     * @param description описание действия для сообщения об ошибке
+     * @param budget      допустимое количество операторов
+     * @param action      проверяемое действие
+     */
+    public void withinBudget(String description, int budget, Runnable action) {
+        withinBudget(description, budget, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (recordingThread != Thread.currentThread()) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            List<List<ParameterSetOperation>> parametersList = queryInfo.getParametersList();
+            statements.add(new RecordedStatement(
+                    queryInfo.getQuery(),
+                    parametersList.isEmpty() ? List.of() : List.copyOf(parametersList.get(0)),
+                    Math.max(1, parametersList.size())
+            ));
+        }
+    }
+}